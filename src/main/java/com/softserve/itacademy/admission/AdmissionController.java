@@ -0,0 +1,95 @@
+package com.softserve.itacademy.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets, one set per {@link EndpointClass}, so a client flooding writes
+ * is throttled on its own without touching anyone else's budget. Buckets are created on
+ * first use and dropped once they have been full for {@code idleMs}.
+ */
+public class AdmissionController {
+    private final Map<EndpointClass, Limit> limits;
+    private final Map<EndpointClass, ConcurrentHashMap<String, TokenBucket>> buckets = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> admitted = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+    private final long idleNanos;
+    private final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+
+    public AdmissionController(Map<EndpointClass, Limit> limits, long idleMs, MeterRegistry meterRegistry) {
+        this.limits = limits;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String tag = endpointClass.name().toLowerCase();
+            ConcurrentHashMap<String, TokenBucket> classBuckets = new ConcurrentHashMap<>();
+            buckets.put(endpointClass, classBuckets);
+            admitted.put(endpointClass, Counter.builder("admission.requests")
+                    .tag("class", tag).tag("outcome", "admitted").register(meterRegistry));
+            rejected.put(endpointClass, Counter.builder("admission.requests")
+                    .tag("class", tag).tag("outcome", "rejected").register(meterRegistry));
+            Gauge.builder("admission.buckets", classBuckets, Map::size).tag("class", tag).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns 0 when the request is admitted, otherwise the nanoseconds until it would be.
+     */
+    public long tryAcquire(String clientKey, EndpointClass endpointClass) {
+        long now = System.nanoTime();
+        Limit limit = limits.get(endpointClass);
+        TokenBucket bucket = buckets.get(endpointClass)
+                .computeIfAbsent(clientKey, key -> new TokenBucket(limit.getRatePerSecond(), limit.getCapacity(), now));
+        long wait = bucket.tryAcquire(now);
+        (wait == 0 ? admitted : rejected).get(endpointClass).increment();
+        return wait;
+    }
+
+    @Scheduled(fixedDelayString = "${admission.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (ConcurrentHashMap<String, TokenBucket> classBuckets : buckets.values()) {
+            int before = classBuckets.size();
+            classBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            evicted += before - classBuckets.size();
+        }
+        if (evicted > 0) {
+            logger.info("Evicted {} idle admission buckets.", evicted);
+        }
+    }
+
+    public int getBucketCount(EndpointClass endpointClass) {
+        return buckets.get(endpointClass).size();
+    }
+
+    public static class Limit {
+        private final double ratePerSecond;
+        private final int capacity;
+
+        public Limit(double ratePerSecond, int capacity) {
+            if (!(ratePerSecond > 0) || capacity < 1) {
+                throw new IllegalArgumentException("Admission rate must be positive and capacity at least 1, got rate "
+                        + ratePerSecond + " and capacity " + capacity);
+            }
+            this.ratePerSecond = ratePerSecond;
+            this.capacity = capacity;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.softserve.itacademy.admission;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifies each request as read, write or bulk and charges it to the caller's bucket.
+ * Several mutating endpoints here are plain GETs (delete, add/remove collaborator), so
+ * classification goes by path pattern first and by HTTP method second. Bulk patterns only
+ * apply to mutating methods, so the form page of a bulk endpoint is an ordinary read. A request is charged
+ * once, on its original dispatch; the async, forward and error dispatches that follow pass.
+ * <p>
+ * The client is the remote address as the server resolved it from {@code X-Forwarded-For}
+ * ({@code server.forward-headers-strategy}), not the address of the load balancer.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+    private final AdmissionController admissionController;
+    private final List<String> writePatterns;
+    private final List<String> bulkPatterns;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final Logger logger = LoggerFactory.getLogger(AdmissionInterceptor.class);
+
+    public AdmissionInterceptor(AdmissionController admissionController, List<String> writePatterns,
+                                List<String> bulkPatterns) {
+        this.admissionController = admissionController;
+        this.writePatterns = writePatterns;
+        this.bulkPatterns = bulkPatterns;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        EndpointClass endpointClass = classify(request);
+        String clientKey = clientKey(request);
+        long waitNanos = admissionController.tryAcquire(clientKey, endpointClass);
+        if (waitNanos == 0) {
+            return true;
+        }
+        long retryAfter = Math.max(1, (TimeUnit.NANOSECONDS.toMillis(waitNanos) + 999) / 1000);
+        logger.debug("Rejected {} request from '{}' to '{}', retry after {} s.",
+                endpointClass, clientKey, request.getRequestURI(), retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Too many requests, retry in " + retryAfter + " s.");
+        return false;
+    }
+
+    EndpointClass classify(HttpServletRequest request) {
+        String path = urlPathHelper.getLookupPathForRequest(request);
+        String method = request.getMethod();
+        boolean safe = "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+        if (!safe && matchesAny(bulkPatterns, path)) {
+            return EndpointClass.BULK;
+        }
+        if (matchesAny(writePatterns, path)) {
+            return EndpointClass.WRITE;
+        }
+        return safe ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        return request.getRemoteUser() != null ? "user:" + request.getRemoteUser() : "ip:" + request.getRemoteAddr();
+    }
+}
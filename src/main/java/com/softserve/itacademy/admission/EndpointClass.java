@@ -0,0 +1,5 @@
+package com.softserve.itacademy.admission;
+
+public enum EndpointClass {
+    READ, WRITE, BULK
+}
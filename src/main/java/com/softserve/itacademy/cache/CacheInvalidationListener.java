@@ -0,0 +1,19 @@
+package com.softserve.itacademy.cache;
+
+import com.softserve.itacademy.event.EntityChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class CacheInvalidationListener {
+    private final CacheInvalidator cacheInvalidator;
+
+    public CacheInvalidationListener(CacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        cacheInvalidator.evict(event.getEntityType());
+    }
+}
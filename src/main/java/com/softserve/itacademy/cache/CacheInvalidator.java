@@ -0,0 +1,54 @@
+package com.softserve.itacademy.cache;
+
+import com.softserve.itacademy.event.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class CacheInvalidator {
+    private static final Map<EntityType, List<String>> CACHES_BY_ENTITY = new EnumMap<>(EntityType.class);
+
+    static {
+        CACHES_BY_ENTITY.put(EntityType.STATE, Collections.singletonList("states"));
+        CACHES_BY_ENTITY.put(EntityType.ROLE, Arrays.asList("roles", "users"));
+        CACHES_BY_ENTITY.put(EntityType.USER, Arrays.asList("users", "todos"));
+        CACHES_BY_ENTITY.put(EntityType.TODO, Collections.singletonList("todos"));
+        CACHES_BY_ENTITY.put(EntityType.TASK, Collections.singletonList("todos"));
+        CACHES_BY_ENTITY.put(EntityType.COLLABORATOR, Arrays.asList("todos", "users"));
+    }
+
+    private final CacheManager cacheManager;
+    private final Logger logger = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    public CacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evict(EntityType entityType) {
+        for (String name : CACHES_BY_ENTITY.get(entityType)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    public void evictAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        logger.info("All caches were flushed.");
+    }
+}
@@ -0,0 +1,276 @@
+package com.softserve.itacademy.cache;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.service.impl.VisibilityIndex;
+import com.softserve.itacademy.shard.Shard;
+import com.softserve.itacademy.shard.ShardDirectory;
+import com.zaxxer.hikari.HikariConfig;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cross-node cache invalidation over Postgres LISTEN/NOTIFY. Writes send a compact
+ * {@code node:TYPE} message with pg_notify inside the writing transaction, so it is
+ * delivered only on commit; a transaction sends each message once, right before commit, however
+ * many changes of that type it makes. Every node listens on a dedicated connection outside the pool
+ * and evicts the affected caches. Changes to a To-Do or its collaborators name the To-Do
+ * ({@code node:TODO:id}) and a deleted user names the user ({@code node:USER:id}), so the
+ * receiving node also brings its {@link VisibilityIndex} up to date. A notification is delivered only by the database that sent it,
+ * and a transaction writes on the shard of the data it changes, so with sharding every node
+ * listens on every shard. Whenever a listener (re)connects it flushes all caches, and on a
+ * reconnect rebuilds the visibility index, since messages sent while it was disconnected are lost.
+ */
+@Component
+@ConditionalOnProperty(name = "invalidation.enabled", havingValue = "true")
+public class PostgresInvalidationBus implements SmartLifecycle {
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final CacheInvalidator cacheInvalidator;
+    private final VisibilityIndex visibilityIndex;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private volatile boolean running;
+    private final List<Thread> listeners = new ArrayList<>();
+    private final Logger logger = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    public PostgresInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                   ObjectProvider<ShardDirectory> shardDirectory, CacheInvalidator cacheInvalidator,
+                                   VisibilityIndex visibilityIndex,
+                                   @Value("${invalidation.channel:cache_invalidation}") String channel,
+                                   @Value("${invalidation.poll-timeout-ms:1000}") int pollTimeoutMs,
+                                   @Value("${invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.shardDirectory = shardDirectory;
+        this.cacheInvalidator = cacheInvalidator;
+        this.visibilityIndex = visibilityIndex;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        String payload = nodeId + ":" + event.getEntityType();
+        if ((event.getEntityType() == EntityType.TODO || event.getEntityType() == EntityType.COLLABORATOR)
+                && event.getTodoId() != null) {
+            payload += ":" + event.getTodoId();
+        } else if (event.getEntityType() == EntityType.USER && event.getChangeType() == ChangeType.DELETED) {
+            payload += ":" + event.getEntityId();
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notify(payload);
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.payloads.add(payload);
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, payload);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (Endpoint endpoint : endpoints()) {
+            Thread listener = new Thread(() -> listenLoop(endpoint), "cache-invalidation-listener-" + endpoint.name);
+            listener.setDaemon(true);
+            listeners.add(listener);
+            listener.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listeners.forEach(Thread::interrupt);
+        listeners.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The databases to listen on: every shard, or the one in {@code spring.datasource}.
+     */
+    List<Endpoint> endpoints() {
+        List<Endpoint> endpoints = new ArrayList<>();
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        if (directory == null) {
+            endpoints.add(new Endpoint("default", dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()));
+            return endpoints;
+        }
+        for (Shard shard : directory.getShards()) {
+            if (!(shard.getDataSource() instanceof HikariConfig)) {
+                throw new IllegalStateException("Cannot listen on shard '" + shard.getName() + "': " +
+                        "its data source does not expose a JDBC URL");
+            }
+            HikariConfig config = (HikariConfig) shard.getDataSource();
+            endpoints.add(new Endpoint(shard.getName(), config.getJdbcUrl(), config.getUsername(),
+                    config.getPassword()));
+        }
+        return endpoints;
+    }
+
+    private void listenLoop(Endpoint endpoint) {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(endpoint.url, endpoint.username,
+                    endpoint.password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                logger.info("Listening for cache invalidations on channel '{}' of '{}' as node '{}'.", channel,
+                        endpoint.name, nodeId);
+                cacheInvalidator.evictAll();
+                if (reconnect) {
+                    rebuildVisibilityIndex();
+                }
+                reconnect = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.error("Cache invalidation listener of '{}' lost its connection: {}", endpoint.name,
+                        e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The index is loaded on startup, so it is rebuilt only when a listener reconnects.
+     */
+    private void rebuildVisibilityIndex() {
+        try {
+            visibilityIndex.rebuild();
+        } catch (RuntimeException e) {
+            logger.error("Visibility index could not be rebuilt: {}", e.getMessage());
+        }
+    }
+
+    void handle(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            logger.warn("Malformed cache invalidation message '{}', flushing all caches.", payload);
+            cacheInvalidator.evictAll();
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        EntityType entityType;
+        Long id;
+        try {
+            entityType = EntityType.valueOf(parts[1]);
+            id = parts.length == 3 ? Long.valueOf(parts[2]) : null;
+        } catch (IllegalArgumentException e) {
+            logger.warn("Malformed cache invalidation message '{}', flushing all caches.", payload);
+            cacheInvalidator.evictAll();
+            return;
+        }
+        cacheInvalidator.evict(entityType);
+        if (id == null) {
+            return;
+        }
+        if (entityType == EntityType.USER) {
+            rebuildVisibilityIndex();
+            return;
+        }
+        try {
+            visibilityIndex.refresh(id);
+        } catch (RuntimeException e) {
+            logger.error("Visibility index could not be updated for message '{}': {}", payload, e.getMessage());
+        }
+    }
+
+    /**
+     * The messages of one transaction, bound to it like {@code ChangeLogWriter}'s rows.
+     */
+    private final class Pending implements TransactionSynchronization {
+        private final Set<String> payloads = new LinkedHashSet<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(PostgresInvalidationBus.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(PostgresInvalidationBus.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            payloads.forEach(PostgresInvalidationBus.this::notify);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PostgresInvalidationBus.this);
+        }
+    }
+
+    static final class Endpoint {
+        final String name;
+        final String url;
+        final String username;
+        final String password;
+
+        Endpoint(String name, String url, String username, String password) {
+            this.name = name;
+            this.url = url;
+            this.username = username;
+            this.password = password;
+        }
+    }
+}
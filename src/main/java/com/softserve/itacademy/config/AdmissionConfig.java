@@ -0,0 +1,53 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.admission.AdmissionController;
+import com.softserve.itacademy.admission.AdmissionController.Limit;
+import com.softserve.itacademy.admission.AdmissionInterceptor;
+import com.softserve.itacademy.admission.EndpointClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionController admissionController(MeterRegistry meterRegistry,
+                                                   @Value("${admission.read.rate:50}") double readRate,
+                                                   @Value("${admission.read.capacity:100}") int readCapacity,
+                                                   @Value("${admission.write.rate:5}") double writeRate,
+                                                   @Value("${admission.write.capacity:20}") int writeCapacity,
+                                                   @Value("${admission.bulk.rate:0.2}") double bulkRate,
+                                                   @Value("${admission.bulk.capacity:2}") int bulkCapacity,
+                                                   @Value("${admission.idle-eviction-ms:300000}") long idleMs) {
+        Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+        limits.put(EndpointClass.READ, new Limit(readRate, readCapacity));
+        limits.put(EndpointClass.WRITE, new Limit(writeRate, writeCapacity));
+        limits.put(EndpointClass.BULK, new Limit(bulkRate, bulkCapacity));
+        return new AdmissionController(limits, idleMs, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer admissionConfigurer(AdmissionController admissionController,
+                                                @Value("${admission.write-patterns}") String[] writePatterns,
+                                                @Value("${admission.bulk-patterns:}") String[] bulkPatterns,
+                                                @Value("${admission.exclude-patterns:}") String[] excludePatterns) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new AdmissionInterceptor(admissionController,
+                        Arrays.asList(writePatterns), Arrays.asList(bulkPatterns)))
+                        .excludePathPatterns(excludePatterns);
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.datasource.ReadYourWritesContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Boot applies the only {@link TaskDecorator} to {@code applicationTaskExecutor}, so work a
+ * request hands over to it, like saving a user once the password hash is ready, still sees the
+ * request and its read-your-writes state.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return task -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            Runnable propagated = ReadYourWritesContext.propagate(task);
+            return () -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                try {
+                    propagated.run();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.softserve.itacademy.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * REST responses are CBOR-encoded for clients that send {@code Accept: application/cbor}, and
+ * JSON otherwise. The CBOR mapper is built from the application's Jackson settings, so both
+ * encodings carry the same fields and value formats. Like the JSON converter, it encodes
+ * straight into the response stream, so no encoded copy of the body is held. The response value
+ * itself, such as the task list of a To-Do, is still read into memory in full before it is
+ * written; row-by-row streaming from the database is not done.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public BinaryFormatConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.dataset.DatasetLoader;
+import com.softserve.itacademy.dataset.DatasetSpec;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Loads a generated dataset on startup when {@code dataset.generate=true}, shaped by the other
+ * {@code dataset.*} properties, e.g.
+ * {@code java -jar todo.jar --dataset.generate=true --dataset.users=1000000}.
+ * <p>
+ * The load runs once the application is up and already serving requests. New ids are reserved
+ * up front, so concurrent writes are safe. With {@code dataset.rebuild-indexes=true}, however,
+ * the secondary indexes of {@code users}, {@code todos}, {@code tasks} and
+ * {@code todo_collaborator} are dropped from the live database for the whole load, which is
+ * only meant for an idle database; it is off by default.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dataset.generate", havingValue = "true")
+public class DatasetConfig {
+
+    @Bean
+    @ConfigurationProperties("dataset")
+    public DatasetSpec datasetSpec() {
+        return new DatasetSpec();
+    }
+
+    @Bean
+    public ApplicationRunner datasetRunner(DatasetLoader datasetLoader, DatasetSpec datasetSpec) {
+        return args -> datasetLoader.load(datasetSpec);
+    }
+}
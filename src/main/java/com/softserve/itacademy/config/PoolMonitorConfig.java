@@ -0,0 +1,31 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.datasource.PoolMonitor;
+import com.softserve.itacademy.datasource.PoolMonitorInterceptor;
+import com.softserve.itacademy.datasource.PoolMonitorPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class PoolMonitorConfig {
+
+    @Bean
+    public static PoolMonitorPostProcessor poolMonitorPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                    ObjectProvider<PoolMonitor> poolMonitor) {
+        return new PoolMonitorPostProcessor(meterRegistry, poolMonitor);
+    }
+
+    @Bean
+    public WebMvcConfigurer poolMonitorConfigurer(PoolMonitor poolMonitor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new PoolMonitorInterceptor(poolMonitor));
+            }
+        };
+    }
+}
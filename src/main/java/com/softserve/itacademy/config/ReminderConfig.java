@@ -0,0 +1,30 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.reminder.FileReminderSink;
+import com.softserve.itacademy.reminder.LogReminderSink;
+import com.softserve.itacademy.reminder.ReminderSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Selects where reminders go with {@code reminder.sink}: {@code log} (default) or {@code file}.
+ */
+@Configuration
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "reminder.sink", havingValue = "log", matchIfMissing = true)
+    public ReminderSink logReminderSink() {
+        return new LogReminderSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "reminder.sink", havingValue = "file")
+    public ReminderSink fileReminderSink(@Value("${reminder.file:./reminders.log}") String file) {
+        return new FileReminderSink(Paths.get(file));
+    }
+}
@@ -0,0 +1,95 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.datasource.ReadYourWritesInterceptor;
+import com.softserve.itacademy.datasource.Replica;
+import com.softserve.itacademy.datasource.ReplicaLagMonitor;
+import com.softserve.itacademy.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enabled by listing replica JDBC URLs in {@code datasource.replicas.urls}. Replicas use the
+ * primary's credentials unless {@code datasource.replicas.username}/{@code password} are set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class ReplicaRoutingConfig implements WebMvcConfigurer, DisposableBean {
+
+    @Value("${datasource.replicas.sticky-window-ms:5000}")
+    private long stickyWindowMs;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Initializing the primary pool makes Boot look up the primary data source, so the pool has
+     * to exist before this bean is created, not while.
+     */
+    @Bean
+    @Primary
+    @DependsOn("primaryDataSource")
+    public DataSource dataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                 @Value("${datasource.replicas.urls}") String[] urls,
+                                 @Value("${datasource.replicas.username:}") String username,
+                                 @Value("${datasource.replicas.password:}") String password,
+                                 @Value("${datasource.replicas.maximum-pool-size:10}") int maximumPoolSize) {
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(urls[i].trim());
+            dataSource.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            dataSource.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSource.setReadOnly(true);
+            replicas.add(new Replica("replica-" + i, dataSource));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * The replicas are created together with the routing data source, so that has to exist first.
+     */
+    @Bean
+    @DependsOn("dataSource")
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               @Value("${datasource.replicas.max-lag-bytes:1048576}") long maxLagBytes) {
+        return new ReplicaLagMonitor(primaryDataSource, replicas, maxLagBytes);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(stickyWindowMs));
+    }
+
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            ((HikariDataSource) replica.getDataSource()).close();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.shard.ReferenceDataReplicator;
+import com.softserve.itacademy.shard.Shard;
+import com.softserve.itacademy.shard.ShardDirectory;
+import com.softserve.itacademy.shard.ShardRebalancer;
+import com.softserve.itacademy.shard.ShardRoutingDataSource;
+import com.softserve.itacademy.shard.ShardRoutingPostProcessor;
+import com.softserve.itacademy.shard.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enabled by listing the JDBC URLs of the additional shards in {@code datasource.shards.urls}.
+ * The database in {@code spring.datasource} becomes the directory shard {@code shard-0}, which
+ * also keeps the users, roles and states and every bucket that is not assigned elsewhere. The
+ * other shards use the directory's credentials unless {@code datasource.shards.username}/
+ * {@code password} are set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.shards.urls")
+public class ShardingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> shardDataSources = new ArrayList<>();
+
+    @Bean
+    public static ShardRoutingPostProcessor shardRoutingPostProcessor() {
+        return new ShardRoutingPostProcessor();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource directoryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(HikariDataSource directoryDataSource, DataSourceProperties properties,
+                                         @Value("${datasource.shards.urls}") String[] urls,
+                                         @Value("${datasource.shards.username:}") String username,
+                                         @Value("${datasource.shards.password:}") String password,
+                                         @Value("${datasource.shards.maximum-pool-size:10}") int maximumPoolSize,
+                                         @Value("${datasource.shards.buckets:1024}") int buckets,
+                                         @Value("${datasource.shards.location-cache-size:100000}") int cacheSize) {
+        List<Shard> shards = new ArrayList<>();
+        shards.add(new Shard("shard-0", 0, directoryDataSource));
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + (i + 1));
+            dataSource.setJdbcUrl(urls[i].trim());
+            dataSource.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            dataSource.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            shardDataSources.add(dataSource);
+            shards.add(new Shard("shard-" + (i + 1), i + 1, dataSource));
+        }
+        return new ShardDirectory(shards, buckets, cacheSize);
+    }
+
+    /**
+     * Initializing the directory pool makes Boot look up the primary data source, so the
+     * directory pool has to exist before this bean is created, not while.
+     */
+    @Bean
+    @Primary
+    @DependsOn("directoryDataSource")
+    public DataSource dataSource(ShardDirectory shardDirectory) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shardDirectory.getShards());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReferenceDataReplicator referenceDataReplicator(ShardDirectory shardDirectory) {
+        return new ReferenceDataReplicator(shardDirectory);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardDirectory shardDirectory,
+                                                         ReferenceDataReplicator referenceDataReplicator,
+                                                         @Value("${datasource.shards.id-range:1000000000000}") long idRange) {
+        return new ShardSchemaInitializer(shardDirectory, referenceDataReplicator, idRange);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardDirectory shardDirectory,
+                                           @Value("${datasource.shards.move-chunk-size:500}") int chunkSize,
+                                           @Value("${datasource.shards.move-wait-ms:10000}") long moveWaitMs) {
+        return new ShardRebalancer(shardDirectory, chunkSize, moveWaitMs);
+    }
+
+    @Override
+    public void destroy() {
+        for (HikariDataSource dataSource : shardDataSources) {
+            dataSource.close();
+        }
+    }
+}
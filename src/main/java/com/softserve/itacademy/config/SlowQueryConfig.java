@@ -0,0 +1,31 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.datasource.RepositoryOriginPostProcessor;
+import com.softserve.itacademy.datasource.SlowQueryLog;
+import com.softserve.itacademy.datasource.TimedDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Hibernate gets a {@link TimedDataSource} over the application data source, while the
+ * transaction manager and JdbcTemplate keep using the data source bean itself, so both still
+ * share connections within a transaction.
+ */
+@Configuration
+public class SlowQueryConfig {
+
+    @Bean
+    public static RepositoryOriginPostProcessor repositoryOriginPostProcessor() {
+        return new RepositoryOriginPostProcessor();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer timedDataSourceCustomizer(DataSource dataSource, SlowQueryLog slowQueryLog) {
+        return properties -> properties.put(AvailableSettings.JPA_NON_JTA_DATASOURCE,
+                new TimedDataSource(dataSource, slowQueryLog));
+    }
+}
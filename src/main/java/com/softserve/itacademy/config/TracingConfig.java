@@ -0,0 +1,61 @@
+package com.softserve.itacademy.config;
+
+import com.softserve.itacademy.tracing.TraceExporter;
+import com.softserve.itacademy.tracing.Tracer;
+import com.softserve.itacademy.tracing.TracingFilter;
+import com.softserve.itacademy.tracing.TracingInterceptor;
+import com.softserve.itacademy.tracing.TracingPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Paths;
+
+@Configuration
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public static TracingPostProcessor tracingPostProcessor() {
+        return new TracingPostProcessor();
+    }
+
+    @Bean
+    public TraceExporter traceExporter(MeterRegistry meterRegistry,
+                                       @Value("${tracing.export-file:./traces.json}") String exportFile,
+                                       @Value("${tracing.service-name:todo-list}") String serviceName,
+                                       @Value("${tracing.queue-capacity:1000}") int queueCapacity) {
+        return new TraceExporter(Paths.get(exportFile), serviceName, queueCapacity, meterRegistry);
+    }
+
+    @Bean
+    public Tracer tracer(TraceExporter traceExporter,
+                         @Value("${tracing.sample-rate:0.01}") double sampleRate,
+                         @Value("${tracing.slow-threshold-ms:500}") long slowThresholdMs,
+                         @Value("${tracing.max-spans:500}") int maxSpans) {
+        return new Tracer(traceExporter, sampleRate, slowThresholdMs, maxSpans);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer tracingConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new TracingInterceptor());
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.service.ActivityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+@RequestMapping("/activity")
+public class ActivityController {
+    private final ActivityService activityService;
+    private final Logger logger = LoggerFactory.getLogger(ActivityController.class);
+
+    public ActivityController(ActivityService activityService) {
+        this.activityService = activityService;
+    }
+
+    @GetMapping
+    public String getRecent(@RequestParam(value = "limit", defaultValue = "100") int limit, Model model) {
+        logger.info("GET method 'getRecent' of ActivityController was called.");
+        model.addAttribute("entries", activityService.getRecent(Math.min(Math.max(limit, 1), 1000)));
+        return "activity-log";
+    }
+}
@@ -1,25 +1,43 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.UserPage;
+import com.softserve.itacademy.dto.UserSort;
+import com.softserve.itacademy.service.RoleService;
 import com.softserve.itacademy.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 public class HomeController {
     private final UserService userService;
+    private final RoleService roleService;
+    private final int pageSize;
     private final Logger logger = LoggerFactory.getLogger(HomeController.class);
 
-    public HomeController(UserService userService) {
+    public HomeController(UserService userService, RoleService roleService,
+                          @Value("${users.page-size:50}") int pageSize) {
         this.userService = userService;
+        this.roleService = roleService;
+        this.pageSize = pageSize;
     }
 
     @GetMapping({"/", "home"})
-    public String home(Model model) {
+    public String home(@RequestParam(value = "sort", defaultValue = "NAME") UserSort sort,
+                       @RequestParam(value = "role", required = false) Long roleId,
+                       @RequestParam(value = "after", required = false) String after, Model model) {
         logger.info("GET method 'home' of HomeController was called.");
-        model.addAttribute("users", userService.getAll());
+        UserPage page = userService.getPage(sort, roleId, after, pageSize);
+        model.addAttribute("users", page.getUsers());
+        model.addAttribute("page", page);
+        model.addAttribute("sort", sort);
+        model.addAttribute("roleId", roleId);
+        model.addAttribute("roles", roleService.getAll());
+        model.addAttribute("pageUrl", "/home");
         return "home";
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.datasource.PoolMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping("/diagnostics")
+public class PoolDiagnosticsController {
+    private final PoolMonitor poolMonitor;
+    private final Logger logger = LoggerFactory.getLogger(PoolDiagnosticsController.class);
+
+    public PoolDiagnosticsController(PoolMonitor poolMonitor) {
+        this.poolMonitor = poolMonitor;
+    }
+
+    @GetMapping("/pool")
+    public String getPool(Model model) {
+        logger.info("GET method 'getPool' of PoolDiagnosticsController was called.");
+        model.addAttribute("pool", poolMonitor.getPoolStatus());
+        model.addAttribute("endpoints", poolMonitor.getEndpointStats());
+        model.addAttribute("suspects", poolMonitor.getLeakSuspects());
+        return "pool-diagnostics";
+    }
+}
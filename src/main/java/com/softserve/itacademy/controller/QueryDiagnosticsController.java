@@ -0,0 +1,35 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.datasource.SlowQueryLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping("/diagnostics/queries")
+public class QueryDiagnosticsController {
+    private final SlowQueryLog slowQueryLog;
+    private final Logger logger = LoggerFactory.getLogger(QueryDiagnosticsController.class);
+
+    public QueryDiagnosticsController(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @GetMapping
+    public String getSlowest(Model model) {
+        logger.info("GET method 'getSlowest' of QueryDiagnosticsController was called.");
+        model.addAttribute("queries", slowQueryLog.getSlowest());
+        return "slow-queries";
+    }
+
+    @PostMapping("/reset")
+    public String reset() {
+        logger.info("POST method 'reset' of QueryDiagnosticsController was called.");
+        slowQueryLog.reset();
+        return "redirect:/diagnostics/queries";
+    }
+}
@@ -0,0 +1,81 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.dto.RecurringTaskDto;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.RecurringTask;
+import com.softserve.itacademy.service.RecurringTaskService;
+import com.softserve.itacademy.service.ToDoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@Controller
+@RequestMapping("/recurring-tasks")
+public class RecurringTaskController {
+    private final RecurringTaskService recurringTaskService;
+    private final ToDoService todoService;
+    private final Logger logger = LoggerFactory.getLogger(RecurringTaskController.class);
+
+    public RecurringTaskController(RecurringTaskService recurringTaskService, ToDoService todoService) {
+        this.recurringTaskService = recurringTaskService;
+        this.todoService = todoService;
+    }
+
+    @GetMapping("/all/todos/{todo_id}")
+    public String getAll(@PathVariable("todo_id") long todoId, Model model) {
+        logger.info("GET method 'getAll' of RecurringTaskController was called.");
+
+        model.addAttribute("recurringTask", new RecurringTaskDto());
+        addAttributes(todoId, model);
+        return "recurring-tasks";
+    }
+
+    @PostMapping("/create/todos/{todo_id}")
+    public String create(@PathVariable("todo_id") long todoId, Model model,
+                         @Validated @ModelAttribute("recurringTask") RecurringTaskDto recurringTaskDto,
+                         BindingResult result) {
+        logger.info("POST method 'create' of RecurringTaskController was called.");
+
+        if (result.hasErrors()) {
+
+            for (FieldError error : result.getFieldErrors()) {
+                logger.error("Validation error in field '{}': {} - Rejected value: '{}'",
+                        error.getField(), error.getDefaultMessage(), error.getRejectedValue());
+            }
+
+            addAttributes(todoId, model);
+            return "recurring-tasks";
+        }
+        RecurringTask recurringTask = new RecurringTask();
+        recurringTask.setName(recurringTaskDto.getName());
+        recurringTask.setPriority(Priority.valueOf(recurringTaskDto.getPriority()));
+        recurringTask.setPeriodDays(recurringTaskDto.getPeriodDays());
+        recurringTask.setNextAt(recurringTaskDto.getStartsAt());
+        recurringTask.setTodo(todoService.readById(todoId));
+        recurringTaskService.create(recurringTask);
+
+        logger.info("Recurring task '{}' was created.", recurringTask);
+        return "redirect:/recurring-tasks/all/todos/" + todoId;
+    }
+
+    @GetMapping("/{id}/delete/todos/{todo_id}")
+    public String delete(@PathVariable("id") long id, @PathVariable("todo_id") long todoId) {
+        logger.info("GET method 'delete' of RecurringTaskController was called.");
+
+        recurringTaskService.delete(id);
+
+        logger.info("Recurring task with id '{}' was deleted.", id);
+        return "redirect:/recurring-tasks/all/todos/" + todoId;
+    }
+
+    private void addAttributes(long todoId, Model model) {
+        model.addAttribute("todo", todoService.readById(todoId));
+        model.addAttribute("recurringTasks", recurringTaskService.getByTodoId(todoId));
+        model.addAttribute("priorities", Priority.values());
+    }
+}
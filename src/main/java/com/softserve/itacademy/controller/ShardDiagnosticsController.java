@@ -0,0 +1,50 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.shard.ShardDirectory;
+import com.softserve.itacademy.shard.ShardRebalancer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+@RequestMapping("/diagnostics/shards")
+public class ShardDiagnosticsController {
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final ObjectProvider<ShardRebalancer> shardRebalancer;
+    private final Logger logger = LoggerFactory.getLogger(ShardDiagnosticsController.class);
+
+    public ShardDiagnosticsController(ObjectProvider<ShardDirectory> shardDirectory,
+                                      ObjectProvider<ShardRebalancer> shardRebalancer) {
+        this.shardDirectory = shardDirectory;
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @GetMapping
+    public String getShards(Model model) {
+        logger.info("GET method 'getShards' of ShardDiagnosticsController was called.");
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        model.addAttribute("enabled", directory != null);
+        if (directory != null) {
+            model.addAttribute("shards", directory.getStatus());
+            model.addAttribute("buckets", directory.getBuckets());
+        }
+        return "shard-diagnostics";
+    }
+
+    @PostMapping("/move")
+    public String moveBucket(@RequestParam("bucket") int bucket, @RequestParam("shard") String shard) {
+        logger.info("POST method 'moveBucket' of ShardDiagnosticsController was called.");
+        ShardRebalancer rebalancer = shardRebalancer.getIfAvailable();
+        if (rebalancer == null) {
+            throw new IllegalStateException("Sharding is not enabled");
+        }
+        rebalancer.moveBucket(bucket, shard);
+        return "redirect:/diagnostics/shards";
+    }
+}
@@ -0,0 +1,29 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.dto.SyncPage;
+import com.softserve.itacademy.service.SyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+    private final SyncService syncService;
+    private final Logger logger = LoggerFactory.getLogger(SyncController.class);
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    public SyncPage sync(@RequestParam("user_id") long userId,
+                         @RequestParam(value = "since", defaultValue = "0") String since,
+                         @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        logger.info("GET method 'sync' of SyncController was called.");
+        return syncService.getChanges(userId, since, limit);
+    }
+}
@@ -114,4 +114,16 @@ public class TaskController {
         logger.info("Task with id '{}' was deleted.", taskId);
         return "redirect:/todos/" + todoId + "/tasks";
     }
+
+    @GetMapping("/{task_id}/move/todos/{todo_id}")
+    public String move(@PathVariable("task_id") long taskId, @PathVariable("todo_id") long todoId,
+                       @RequestParam(value = "previous_id", required = false) Long previousId,
+                       @RequestParam(value = "next_id", required = false) Long nextId) {
+        logger.info("GET method 'move' of TaskController was called.");
+
+        taskService.move(todoId, taskId, previousId, nextId);
+
+        logger.info("Task with id '{}' was moved.", taskId);
+        return "redirect:/todos/" + todoId + "/tasks";
+    }
 }
@@ -1,6 +1,7 @@
 package com.softserve.itacademy.controller;
 
-import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.dto.UserView;
 import com.softserve.itacademy.model.ToDo;
 import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.service.TaskService;
@@ -58,13 +59,13 @@ public class ToDoController {
     @GetMapping("/{id}/tasks")
     public String read(@PathVariable long id, Model model) {
         logger.info("GET method 'read' of ToDoController was called.");
-        ToDo todo = todoService.readById(id);
-        List<Task> tasks = taskService.getByTodoId(id);
-        List<User> users = userService.getAll().stream()
-                .filter(user -> user.getId() != todo.getOwner().getId()).collect(Collectors.toList());
+        TodoView todo = todoService.readViewById(id);
+        List<UserView> users = userService.getViewsByTodoId(id).stream()
+                .filter(user -> user.getId() != todo.getOwnerId()).collect(Collectors.toList());
         model.addAttribute("todo", todo);
-        model.addAttribute("tasks", tasks);
-        model.addAttribute("users", users);
+        model.addAttribute("tasks", taskService.getViewsByTodoId(id));
+        model.addAttribute("collaborators", users.stream().filter(UserView::isCollaborator).collect(Collectors.toList()));
+        model.addAttribute("users", users.stream().filter(user -> !user.isCollaborator()).collect(Collectors.toList()));
         return "todo-tasks";
     }
 
@@ -103,20 +104,40 @@ public class ToDoController {
     @GetMapping("/all/users/{user_id}")
     public String getAll(@PathVariable("user_id") long userId, Model model) {
         logger.info("GET method 'getAll' of ToDoController was called.");
-        List<ToDo> todos = todoService.getByUserId(userId);
+        List<TodoView> todos = todoService.getViewsByUserId(userId);
         model.addAttribute("todos", todos);
         model.addAttribute("user", userService.readById(userId));
         return "todos-user";
     }
 
+    @GetMapping("/archived/users/{user_id}")
+    public String getArchived(@PathVariable("user_id") long userId, Model model) {
+        logger.info("GET method 'getArchived' of ToDoController was called.");
+        model.addAttribute("todos", todoService.getArchivedViewsByUserId(userId));
+        model.addAttribute("user", userService.readById(userId));
+        return "archived-todos";
+    }
+
+    @GetMapping("/archived/{id}/tasks")
+    public String readArchived(@PathVariable long id, Model model) {
+        logger.info("GET method 'readArchived' of ToDoController was called.");
+        model.addAttribute("todo", todoService.readArchivedViewById(id));
+        model.addAttribute("tasks", todoService.getArchivedTaskViews(id));
+        return "archived-todo-tasks";
+    }
+
+    @PostMapping("/{todo_id}/restore/users/{user_id}")
+    public String restore(@PathVariable("todo_id") long todoId, @PathVariable("user_id") long userId) {
+        logger.info("POST method 'restore' of ToDoController was called.");
+        todoService.restore(todoId);
+        logger.info("ToDo with id '{}' was restored.", todoId);
+        return "redirect:/todos/all/users/" + userId;
+    }
+
     @GetMapping("/{id}/add")
     public String addCollaborator(@PathVariable long id, @RequestParam("user_id") long userId) {
         logger.info("GET method 'addCollaborator' of ToDoController was called.");
-        ToDo todo = todoService.readById(id);
-        List<User> collaborators = todo.getCollaborators();
-        collaborators.add(userService.readById(userId));
-        todo.setCollaborators(collaborators);
-        todoService.update(todo);
+        todoService.addCollaborator(id, userService.readById(userId));
         logger.info("Add Collaborator");
         return "redirect:/todos/" + id + "/tasks";
     }
@@ -124,11 +145,7 @@ public class ToDoController {
     @GetMapping("/{id}/remove")
     public String removeCollaborator(@PathVariable long id, @RequestParam("user_id") long userId) {
         logger.info("GET method 'removeCollaborator' of ToDoController was called.");
-        ToDo todo = todoService.readById(id);
-        List<User> collaborators = todo.getCollaborators();
-        collaborators.remove(userService.readById(userId));
-        todo.setCollaborators(collaborators);
-        todoService.update(todo);
+        todoService.removeCollaborator(id, userService.readById(userId));
         logger.info("Remove Collaborator");
         return "redirect:/todos/" + id + "/tasks";
     }
@@ -0,0 +1,73 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.dto.BatchMode;
+import com.softserve.itacademy.dto.TaskDto;
+import com.softserve.itacademy.dto.TaskOperation;
+import com.softserve.itacademy.dto.TaskOperationResult;
+import com.softserve.itacademy.dto.TaskTransformer;
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.dto.UserView;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api")
+public class TodoApiController {
+    private final ToDoService todoService;
+    private final TaskService taskService;
+    private final UserService userService;
+    private final Logger logger = LoggerFactory.getLogger(TodoApiController.class);
+
+    public TodoApiController(ToDoService todoService, TaskService taskService, UserService userService) {
+        this.todoService = todoService;
+        this.taskService = taskService;
+        this.userService = userService;
+    }
+
+    @GetMapping("/users/{user_id}/todos")
+    public List<TodoView> getTodos(@PathVariable("user_id") long userId) {
+        logger.info("GET method 'getTodos' of TodoApiController was called.");
+        return todoService.getViewsByUserId(userId);
+    }
+
+    @GetMapping("/users/{user_id}/todo-ids")
+    public long[] getTodoIds(@PathVariable("user_id") long userId) {
+        logger.info("GET method 'getTodoIds' of TodoApiController was called.");
+        return todoService.getVisibleIds(userId);
+    }
+
+    @GetMapping("/todos/{todo_id}/tasks")
+    public List<TaskDto> getTasks(@PathVariable("todo_id") long todoId) {
+        logger.info("GET method 'getTasks' of TodoApiController was called.");
+        return taskService.getByTodoId(todoId).stream()
+                .map(TaskTransformer::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @PostMapping("/todos/{todo_id}/tasks/batch")
+    public List<TaskOperationResult> applyTaskBatch(@PathVariable("todo_id") long todoId,
+                                                    @RequestBody List<TaskOperation> operations,
+                                                    @RequestParam(value = "mode", defaultValue = "ALL_OR_NOTHING") BatchMode mode) {
+        logger.info("POST method 'applyTaskBatch' of TodoApiController was called.");
+        return taskService.applyBatch(todoId, operations, mode);
+    }
+
+    @GetMapping("/todos/{todo_id}/users")
+    public List<UserView> getUsers(@PathVariable("todo_id") long todoId) {
+        logger.info("GET method 'getUsers' of TodoApiController was called.");
+        return userService.getViewsByTodoId(todoId);
+    }
+}
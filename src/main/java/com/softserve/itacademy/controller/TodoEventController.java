@@ -0,0 +1,28 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.service.TodoEventStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Controller
+@RequestMapping("/todos")
+public class TodoEventController {
+    private final TodoEventStreamService eventStreamService;
+    private final Logger logger = LoggerFactory.getLogger(TodoEventController.class);
+
+    public TodoEventController(TodoEventStreamService eventStreamService) {
+        this.eventStreamService = eventStreamService;
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable long id) {
+        logger.info("GET method 'subscribe' of TodoEventController was called.");
+        return eventStreamService.subscribe(id);
+    }
+}
@@ -1,10 +1,15 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.UserPage;
+import com.softserve.itacademy.dto.UserSort;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.service.PasswordHashingService;
 import com.softserve.itacademy.service.RoleService;
 import com.softserve.itacademy.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -12,17 +17,32 @@ import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Controller
 @RequestMapping("/users")
 public class UserController {
 
     private final UserService userService;
     private final RoleService roleService;
+    private final PasswordHashingService passwordHashingService;
+    private final Executor taskExecutor;
+    private final int pageSize;
     private final Logger logger = LoggerFactory.getLogger(UserController.class);
 
-    public UserController(UserService userService, RoleService roleService) {
+    /**
+     * @param taskExecutor runs the save once the hash is ready, so the hashing threads are not
+     *                     held for a transaction
+     */
+    public UserController(UserService userService, RoleService roleService, PasswordHashingService passwordHashingService,
+                          @Qualifier("applicationTaskExecutor") Executor taskExecutor,
+                          @Value("${users.page-size:50}") int pageSize) {
         this.userService = userService;
         this.roleService = roleService;
+        this.passwordHashingService = passwordHashingService;
+        this.taskExecutor = taskExecutor;
+        this.pageSize = pageSize;
     }
 
     @GetMapping("/create")
@@ -34,7 +54,7 @@ public class UserController {
     }
 
     @PostMapping("/create")
-    public String create(@Validated @ModelAttribute("user") User user, BindingResult result) {
+    public CompletableFuture<String> create(@Validated @ModelAttribute("user") User user, BindingResult result) {
         logger.info("POST method 'create' of UserController was called.");
 
         if (result.hasErrors()) {
@@ -42,15 +62,16 @@ public class UserController {
                 logger.error("Validation error in field '{}': {} - Rejected value: '{}'",
                         error.getField(), error.getDefaultMessage(), error.getRejectedValue());
             }
-            return "create-user";
+            return CompletableFuture.completedFuture("create-user");
         }
 
-        user.setPassword(user.getPassword());
         user.setRole(roleService.readById(2));
-        User newUser = userService.create(user);
-
-        logger.info("User '{}' was created.", user);
-        return "redirect:/todos/all/users/" + newUser.getId();
+        return passwordHashingService.encode(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            User newUser = userService.create(user);
+            logger.info("User '{}' was created.", user);
+            return "redirect:/todos/all/users/" + newUser.getId();
+        }, taskExecutor);
     }
 
     @GetMapping("/{id}/read")
@@ -74,7 +95,7 @@ public class UserController {
 
 
     @PostMapping("/{id}/update")
-    public String update(@PathVariable long id, Model model, @Validated @ModelAttribute("user") User user, BindingResult result, @RequestParam("roleId") long roleId) {
+    public CompletableFuture<String> update(@PathVariable long id, Model model, @Validated @ModelAttribute("user") User user, BindingResult result, @RequestParam("roleId") long roleId) {
         logger.info("Post method 'update' of UserController was called.");
 
         User oldUser = userService.readById(id);
@@ -85,17 +106,19 @@ public class UserController {
             }
             user.setRole(oldUser.getRole());
             model.addAttribute("roles", roleService.getAll());
-            return "update-user";
+            return CompletableFuture.completedFuture("update-user");
         }
         if (oldUser.getRole().getName().equals("USER")) {
             user.setRole(oldUser.getRole());
         } else {
             user.setRole(roleService.readById(roleId));
         }
-        userService.update(user);
-        logger.info("User '{}' was updated.", user);
-
-        return "redirect:/users/" + id + "/read";
+        return passwordHashingService.encode(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            userService.update(user);
+            logger.info("User '{}' was updated.", user);
+            return "redirect:/users/" + id + "/read";
+        }, taskExecutor);
     }
 
 
@@ -110,10 +133,18 @@ public class UserController {
     }
 
     @GetMapping("/all")
-    public String getAll(Model model) {
+    public String getAll(@RequestParam(value = "sort", defaultValue = "NAME") UserSort sort,
+                         @RequestParam(value = "role", required = false) Long roleId,
+                         @RequestParam(value = "after", required = false) String after, Model model) {
         logger.info("GET method 'getAll' of UserController was called.");
 
-        model.addAttribute("users", userService.getAll());
+        UserPage page = userService.getPage(sort, roleId, after, pageSize);
+        model.addAttribute("users", page.getUsers());
+        model.addAttribute("page", page);
+        model.addAttribute("sort", sort);
+        model.addAttribute("roleId", roleId);
+        model.addAttribute("roles", roleService.getAll());
+        model.addAttribute("pageUrl", "/users/all");
         return "users-list";
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.dto.ImportFormat;
+import com.softserve.itacademy.dto.ImportResult;
+import com.softserve.itacademy.service.UserImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+@RequestMapping("/users/import")
+public class UserImportController {
+
+    private final UserImportService userImportService;
+    private final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    @GetMapping
+    public String importUsers() {
+        logger.info("GET method 'importUsers' of UserImportController was called.");
+        return "import-users";
+    }
+
+    @PostMapping
+    public String importUsers(@RequestParam("file") MultipartFile file,
+                              @RequestParam(value = "format", required = false) ImportFormat format) throws IOException {
+        logger.info("POST method 'importUsers' of UserImportController was called.");
+
+        ImportFormat importFormat = format != null ? format : ImportFormat.fromFileName(file.getOriginalFilename());
+        ImportResult result;
+        try (InputStream input = file.getInputStream()) {
+            result = userImportService.startImport(input, importFormat);
+        }
+        logger.info("Users import from '{}' was started: {}", file.getOriginalFilename(), result);
+        return "redirect:/users/import/" + result.getImportId();
+    }
+
+    @GetMapping("/{import_id}")
+    public String status(@PathVariable("import_id") String importId, Model model) {
+        logger.info("GET method 'status' of UserImportController was called.");
+
+        model.addAttribute("result", userImportService.getResult(importId));
+        return "import-users";
+    }
+
+    @GetMapping("/{import_id}/report")
+    public ResponseEntity<Resource> report(@PathVariable("import_id") String importId) {
+        logger.info("GET method 'report' of UserImportController was called.");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + importId + "-errors.csv\"")
+                .body(new FileSystemResource(userImportService.getReport(importId)));
+    }
+}
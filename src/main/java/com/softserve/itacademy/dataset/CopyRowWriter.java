@@ -0,0 +1,89 @@
+package com.softserve.itacademy.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Streams rows into a PostgreSQL table with {@code COPY ... FROM STDIN} in text format, sending
+ * them in blocks of about 64 KB as they are generated.
+ */
+final class CopyRowWriter implements RowWriter, AutoCloseable {
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private final CopyIn copyIn;
+    private final StringBuilder block = new StringBuilder(BLOCK_SIZE + 1024);
+
+    CopyRowWriter(Connection connection, String table, String[] columns) throws SQLException {
+        String sql = "copy " + table + " (" + String.join(", ", columns) + ") from stdin";
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                block.append('\t');
+            }
+            append(values[i]);
+        }
+        block.append('\n');
+        if (block.length() >= BLOCK_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Ends the copy and returns the number of rows PostgreSQL stored.
+     */
+    long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void append(Object value) {
+        if (value == null) {
+            block.append("\\N");
+        } else if (value instanceof String) {
+            String text = (String) value;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\\') {
+                    block.append("\\\\");
+                } else if (c == '\t') {
+                    block.append("\\t");
+                } else if (c == '\n') {
+                    block.append("\\n");
+                } else if (c == '\r') {
+                    block.append("\\r");
+                } else {
+                    block.append(c);
+                }
+            }
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            block.append(dateTime.toLocalDate()).append(' ').append(dateTime.toLocalTime());
+        } else {
+            block.append(value);
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (block.length() > 0) {
+            byte[] bytes = block.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            block.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.softserve.itacademy.dataset;
+
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.util.LexoRank;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Generates users, To-Dos, tasks and collaborations for a {@link DatasetSpec} without keeping
+ * any of them in memory. Every random draw is derived from the seed and the index of the row it
+ * belongs to, so each table can be generated on its own, in any number of {@link Chunk chunks},
+ * and still agree with the others: the To-Do count of a user is the same whether it is drawn
+ * for the {@code todos} table or to number the tasks.
+ */
+public class DatasetGenerator {
+    private static final long USER_ROWS = 1;
+    private static final long TODO_COUNTS = 2;
+    private static final long TODO_ROWS = 3;
+    private static final long TASK_COUNTS = 4;
+    private static final long TASK_ROWS = 5;
+    private static final long SHARING = 6;
+    private static final int MAX_COLLABORATORS = 100;
+    private static final double EXTERNAL_COLLABORATOR_SHARE = 0.1;
+
+    private static final String[] FIRST_NAMES = {"Anna", "Bohdan", "Daria", "Ivan", "Kateryna", "Maksym", "Nick",
+            "Nora", "Mike", "Olena", "Petro", "Sofia", "Taras", "Yulia", "Andrew", "Emma", "Liam", "Olivia", "Noah", "Mia"};
+    private static final String[] LAST_NAMES = {"Brown", "Green", "White", "Smith", "Kovalenko", "Bondar", "Shevchenko",
+            "Melnyk", "Tkachenko", "Johnson", "Miller", "Davis", "Wilson", "Taylor", "Moroz", "Lysenko", "Clark", "Hall"};
+    private static final String[] TODO_ADJECTIVES = {"Weekly", "Urgent", "Personal", "Team", "Quarterly", "Home",
+            "Release", "Travel", "Backlog", "Shopping", "Onboarding", "Garden"};
+    private static final String[] TODO_NOUNS = {"plan", "errands", "checklist", "goals", "chores", "review",
+            "preparations", "ideas", "follow-ups", "fixes"};
+    private static final String[] TASK_VERBS = {"Prepare", "Call", "Review", "Buy", "Book", "Renew", "Fix", "Write",
+            "Plan", "Pay", "Send", "Clean", "Update", "Check"};
+    private static final String[] TASK_OBJECTS = {"the report", "the supplier", "pull request", "groceries",
+            "flights", "insurance", "the kitchen tap", "release notes", "the offsite", "the bills", "invoices",
+            "the garage", "documentation", "the budget"};
+
+    private final DatasetSpec spec;
+    private final long firstUserId;
+    private final long firstTodoId;
+    private final long firstTaskId;
+    private final long userRoleId;
+    private final Long adminRoleId;
+    private final String passwordHash;
+    private final LocalDateTime now;
+    private final long[] stateIds;
+    private final double[] stateBounds;
+    private final String[] priorities;
+    private final double[] priorityBounds;
+
+    /**
+     * @param roleIds  role ids by name; the spec's user role must be among them
+     * @param stateIds state ids by name; every state the spec weights must be among them
+     */
+    public DatasetGenerator(DatasetSpec spec, Map<String, Long> roleIds, Map<String, Long> stateIds,
+                            String passwordHash, LocalDateTime now,
+                            long firstUserId, long firstTodoId, long firstTaskId) {
+        this.spec = spec;
+        this.firstUserId = firstUserId;
+        this.firstTodoId = firstTodoId;
+        this.firstTaskId = firstTaskId;
+        this.passwordHash = passwordHash;
+        this.now = now;
+        Long userRole = roleIds.get(spec.getUserRole());
+        if (userRole == null) {
+            throw new IllegalArgumentException("Role '" + spec.getUserRole() + "' does not exist");
+        }
+        this.userRoleId = userRole;
+        this.adminRoleId = roleIds.get(spec.getAdminRole());
+
+        Map<String, Integer> states = spec.getStateWeights();
+        this.stateIds = new long[states.size()];
+        this.stateBounds = new double[states.size()];
+        int i = 0;
+        for (String name : states.keySet()) {
+            Long id = stateIds.get(name);
+            if (id == null) {
+                throw new IllegalArgumentException("State '" + name + "' does not exist");
+            }
+            this.stateIds[i++] = id;
+        }
+        cumulate(states.values(), stateBounds);
+
+        Map<String, Integer> priorityWeights = spec.getPriorityWeights();
+        this.priorities = new String[priorityWeights.size()];
+        this.priorityBounds = new double[priorityWeights.size()];
+        i = 0;
+        for (String name : priorityWeights.keySet()) {
+            this.priorities[i++] = Priority.valueOf(name).name();
+        }
+        cumulate(priorityWeights.values(), priorityBounds);
+    }
+
+    public List<Chunk> chunks(int count) {
+        return chunks(spec, count);
+    }
+
+    /**
+     * Splits the users into {@code count} ranges of about the same size, numbering the To-Dos and
+     * tasks of each range so the ranges can be written in parallel. Needs only the spec, so the
+     * row counts are known before any id is chosen.
+     */
+    public static List<Chunk> chunks(DatasetSpec spec, int count) {
+        long users = spec.getUsers();
+        int chunkCount = (int) Math.max(1, Math.min(count, users));
+        List<Chunk> chunks = new ArrayList<>(chunkCount);
+        Rng rng = new Rng();
+        long todo = 0;
+        long task = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            long fromUser = users * i / chunkCount;
+            long toUser = users * (i + 1) / chunkCount;
+            Chunk chunk = new Chunk(fromUser, toUser, todo, task);
+            for (long user = fromUser; user < toUser; user++) {
+                int todos = todoCount(spec, rng, user);
+                for (int j = 0; j < todos; j++) {
+                    task += taskCount(spec, rng, todo++);
+                }
+            }
+            chunk.todos = todo - chunk.firstTodo;
+            chunk.tasks = task - chunk.firstTask;
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Columns {@code id, first_name, last_name, email, password, role_id}.
+     */
+    public void writeUsers(Chunk chunk, RowWriter out) throws SQLException {
+        Rng rng = new Rng();
+        for (long user = chunk.fromUser; user < chunk.toUser; user++) {
+            rng.reset(spec.getSeed(), USER_ROWS, user);
+            long id = firstUserId + user;
+            String firstName = FIRST_NAMES[rng.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[rng.nextInt(LAST_NAMES.length)];
+            String email = firstName.toLowerCase(Locale.ROOT) + '.' + lastName.toLowerCase(Locale.ROOT) + '.' + id +
+                    "@example.com";
+            long roleId = adminRoleId != null && rng.nextDouble() < spec.getAdminShare() ? adminRoleId : userRoleId;
+            out.row(id, firstName, lastName, email, passwordHash, roleId);
+        }
+    }
+
+    /**
+     * Columns {@code id, title, created_at, owner_id}. Creation times lean towards the present.
+     */
+    public void writeTodos(Chunk chunk, RowWriter out) throws SQLException {
+        Rng counts = new Rng();
+        Rng rng = new Rng();
+        long todo = chunk.firstTodo;
+        long historySeconds = spec.getHistoryDays() * 86_400L;
+        for (long user = chunk.fromUser; user < chunk.toUser; user++) {
+            int todos = todoCount(spec, counts, user);
+            for (int j = 0; j < todos; j++, todo++) {
+                rng.reset(spec.getSeed(), TODO_ROWS, todo);
+                long id = firstTodoId + todo;
+                String title = TODO_ADJECTIVES[rng.nextInt(TODO_ADJECTIVES.length)] + ' ' +
+                        TODO_NOUNS[rng.nextInt(TODO_NOUNS.length)] + " #" + id;
+                double age = rng.nextDouble();
+                LocalDateTime createdAt = now.minusSeconds((long) (age * age * historySeconds));
+                out.row(id, title, createdAt, firstUserId + user);
+            }
+        }
+    }
+
+    /**
+     * Columns {@code id, name, priority, rank, due_at, todo_id, state_id}.
+     */
+    public void writeTasks(Chunk chunk, RowWriter out) throws SQLException {
+        Rng counts = new Rng();
+        Rng rng = new Rng();
+        long todo = chunk.firstTodo;
+        long task = chunk.firstTask;
+        for (long user = chunk.fromUser; user < chunk.toUser; user++) {
+            int todos = todoCount(spec, counts, user);
+            for (int j = 0; j < todos; j++, todo++) {
+                int tasks = taskCount(spec, counts, todo);
+                if (tasks == 0) {
+                    continue;
+                }
+                String[] ranks = LexoRank.evenlySpaced(tasks);
+                rng.reset(spec.getSeed(), TASK_ROWS, todo);
+                for (int k = 0; k < tasks; k++, task++) {
+                    String name = TASK_VERBS[rng.nextInt(TASK_VERBS.length)] + ' ' +
+                            TASK_OBJECTS[rng.nextInt(TASK_OBJECTS.length)];
+                    String priority = priorities[pick(priorityBounds, rng.nextDouble())];
+                    long stateId = stateIds[pick(stateBounds, rng.nextDouble())];
+                    LocalDateTime dueAt = rng.nextDouble() < spec.getDueShare()
+                            ? now.plusMinutes(rng.nextInt(60 * 24 * 60) - 60 * 24 * 30).withSecond(0) : null;
+                    out.row(firstTaskId + task, name, priority, ranks[k], dueAt, firstTodoId + todo, stateId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Columns {@code todo_id, collaborator_id}. The owner is never a collaborator and nobody is
+     * added to the same To-Do twice.
+     */
+    public void writeCollaborators(Chunk chunk, RowWriter out) throws SQLException {
+        long users = spec.getUsers();
+        if (users < 2) {
+            return;
+        }
+        Rng counts = new Rng();
+        Rng rng = new Rng();
+        long[] chosen = new long[MAX_COLLABORATORS];
+        int teamSize = Math.max(2, spec.getTeamSize());
+        long todo = chunk.firstTodo;
+        for (long user = chunk.fromUser; user < chunk.toUser; user++) {
+            int todos = todoCount(spec, counts, user);
+            long teamStart = user / teamSize * teamSize;
+            int team = (int) Math.min(teamSize, users - teamStart);
+            for (int j = 0; j < todos; j++, todo++) {
+                rng.reset(spec.getSeed(), SHARING, todo);
+                if (rng.nextDouble() >= spec.getSharedTodoShare()) {
+                    continue;
+                }
+                int wanted = (int) Math.min(Math.min(MAX_COLLABORATORS, users - 1),
+                        1 + geometric(rng, spec.getCollaboratorsPerSharedTodo() - 1));
+                int found = 0;
+                for (int attempt = 0; found < wanted && attempt < wanted * 10; attempt++) {
+                    long candidate = team < 2 || rng.nextDouble() < EXTERNAL_COLLABORATOR_SHARE
+                            ? (long) (rng.nextDouble() * users) : teamStart + rng.nextInt(team);
+                    if (candidate != user && !contains(chosen, found, candidate)) {
+                        chosen[found++] = candidate;
+                        out.row(firstTodoId + todo, firstUserId + candidate);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int todoCount(DatasetSpec spec, Rng rng, long user) {
+        rng.reset(spec.getSeed(), TODO_COUNTS, user);
+        return logNormalCount(rng, spec.getTodosPerUser(), spec.getTodosPerUserSkew(), Integer.MAX_VALUE);
+    }
+
+    private static int taskCount(DatasetSpec spec, Rng rng, long todo) {
+        rng.reset(spec.getSeed(), TASK_COUNTS, todo);
+        return logNormalCount(rng, spec.getTasksPerTodo(), spec.getTasksPerTodoSkew(), spec.getMaxTasksPerTodo());
+    }
+
+    /**
+     * A count whose mean is {@code mean}; the fraction is rounded up or down at random so small
+     * means are not rounded away.
+     */
+    private static int logNormalCount(Rng rng, double mean, double sigma, int max) {
+        double value = mean * Math.exp(sigma * rng.nextGaussian() - sigma * sigma / 2);
+        return (int) Math.min(max, Math.floor(value + rng.nextDouble()));
+    }
+
+    private static long geometric(Rng rng, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1 / (1 + mean);
+        return (long) Math.floor(Math.log(1 - rng.nextDouble()) / Math.log(1 - p));
+    }
+
+    private static void cumulate(Iterable<Integer> weights, double[] bounds) {
+        double total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        if (bounds.length == 0 || total <= 0) {
+            throw new IllegalArgumentException("Weights must not be empty or all zero");
+        }
+        double sum = 0;
+        int i = 0;
+        for (int weight : weights) {
+            sum += weight;
+            bounds[i++] = sum / total;
+        }
+    }
+
+    private static int pick(double[] bounds, double value) {
+        for (int i = 0; i < bounds.length - 1; i++) {
+            if (value < bounds[i]) {
+                return i;
+            }
+        }
+        return bounds.length - 1;
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A range of users with the index of their first To-Do and first task and how many of each
+     * they own. Indexes count from the first generated row, not from the first id.
+     */
+    public static final class Chunk {
+        private final long fromUser;
+        private final long toUser;
+        private final long firstTodo;
+        private final long firstTask;
+        private long todos;
+        private long tasks;
+
+        private Chunk(long fromUser, long toUser, long firstTodo, long firstTask) {
+            this.fromUser = fromUser;
+            this.toUser = toUser;
+            this.firstTodo = firstTodo;
+            this.firstTask = firstTask;
+        }
+
+        public long getUsers() {
+            return toUser - fromUser;
+        }
+
+        public long getTodos() {
+            return todos;
+        }
+
+        public long getTasks() {
+            return tasks;
+        }
+    }
+
+    /**
+     * SplitMix64, re-seeded per row instead of allocated per row.
+     */
+    private static final class Rng {
+        private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+        private long state;
+
+        private void reset(long seed, long stream, long index) {
+            state = mix(seed ^ mix(stream * GOLDEN_GAMMA + index));
+        }
+
+        private long nextLong() {
+            state += GOLDEN_GAMMA;
+            return mix(state);
+        }
+
+        private double nextDouble() {
+            return (nextLong() >>> 11) * 0x1.0p-53;
+        }
+
+        private int nextInt(int bound) {
+            return (int) ((nextLong() >>> 1) % bound);
+        }
+
+        private double nextGaussian() {
+            double u = 1 - nextDouble();
+            return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * nextDouble());
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.softserve.itacademy.dataset;
+
+import com.softserve.itacademy.dataset.DatasetGenerator.Chunk;
+import com.softserve.itacademy.service.PasswordHashingService;
+import com.softserve.itacademy.service.impl.UserCounter;
+import com.softserve.itacademy.service.impl.VisibilityIndex;
+import com.softserve.itacademy.shard.ShardDirectory;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a generated dataset next to whatever the database already holds, numbering the new rows
+ * after the highest existing ids. The id ranges are reserved before the first row is written: on
+ * PostgreSQL each table is locked against inserts just long enough to move its sequence past the
+ * planned rows, so rows the application creates during the load never collide with them. Tables
+ * are filled in foreign-key order, each by several threads at once, with {@code COPY} on
+ * PostgreSQL and batched inserts elsewhere; on PostgreSQL secondary indexes are dropped for the
+ * load and built again afterwards (see {@link DatasetSpec#isRebuildIndexes()}). Rows are written
+ * past the services, so no change events are published; the user counts and the visibility index
+ * are refreshed once the load is done.
+ */
+@Component
+public class DatasetLoader {
+    private static final String[] USER_COLUMNS = {"id", "first_name", "last_name", "email", "password", "role_id"};
+    private static final String[] TODO_COLUMNS = {"id", "title", "created_at", "owner_id"};
+    private static final String[] TASK_COLUMNS = {"id", "name", "priority", "rank", "due_at", "todo_id", "state_id"};
+    private static final String[] COLLABORATOR_COLUMNS = {"todo_id", "collaborator_id"};
+    private static final String[] TABLES = {"users", "todos", "tasks", "todo_collaborator"};
+    private static final String SECONDARY_INDEXES_SQL = "select indexname, indexdef from pg_indexes i " +
+            "where schemaname = current_schema() and tablename = ? " +
+            "and not exists (select 1 from pg_constraint c where c.conname = i.indexname)";
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHashingService passwordHashingService;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final UserCounter userCounter;
+    private final VisibilityIndex visibilityIndex;
+    private final Logger logger = LoggerFactory.getLogger(DatasetLoader.class);
+
+    public DatasetLoader(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                         PasswordHashingService passwordHashingService,
+                         ObjectProvider<ShardDirectory> shardDirectory, UserCounter userCounter,
+                         VisibilityIndex visibilityIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordHashingService = passwordHashingService;
+        this.shardDirectory = shardDirectory;
+        this.userCounter = userCounter;
+        this.visibilityIndex = visibilityIndex;
+    }
+
+    public DatasetSummary load(DatasetSpec spec) {
+        if (shardDirectory.getIfAvailable() != null) {
+            throw new IllegalStateException("Loading a generated dataset into shards is not supported");
+        }
+        long start = System.currentTimeMillis();
+        boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.isWrapperFor(PGConnection.class));
+        int threads = Math.max(1, spec.getThreads());
+        List<Chunk> chunks = DatasetGenerator.chunks(spec, threads * CHUNKS_PER_THREAD);
+        long plannedTodos = chunks.stream().mapToLong(Chunk::getTodos).sum();
+        long plannedTasks = chunks.stream().mapToLong(Chunk::getTasks).sum();
+        String passwordHash = passwordHashingService.encode(spec.getPassword()).join();
+        long firstUserId = reserveIds(postgres, "users", spec.getUsers());
+        long firstTodoId = reserveIds(postgres, "todos", plannedTodos);
+        long firstTaskId = reserveIds(postgres, "tasks", plannedTasks);
+        DatasetGenerator generator = new DatasetGenerator(spec, namesToIds("roles"), namesToIds("states"),
+                passwordHash, LocalDateTime.now().withNano(0), firstUserId, firstTodoId, firstTaskId);
+        logger.info("Generating {} users, {} To-Dos and {} tasks with {} threads.", spec.getUsers(), plannedTodos,
+                plannedTasks, threads);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long users;
+        long todos;
+        long tasks;
+        long collaborators;
+        List<String> indexes = postgres && spec.isRebuildIndexes() ? dropSecondaryIndexes() : Collections.emptyList();
+        RuntimeException failure = null;
+        try {
+            users = load(executor, chunks, postgres, "users", USER_COLUMNS, generator::writeUsers);
+            todos = load(executor, chunks, postgres, "todos", TODO_COLUMNS, generator::writeTodos);
+            tasks = load(executor, chunks, postgres, "tasks", TASK_COLUMNS, generator::writeTasks);
+            collaborators = load(executor, chunks, postgres, "todo_collaborator", COLLABORATOR_COLUMNS,
+                    generator::writeCollaborators);
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            try {
+                createIndexes(executor, indexes);
+            } catch (RuntimeException e) {
+                logger.error("Rebuilding the secondary indexes failed, create them from the definitions " +
+                        "logged before the load: {}", e.getMessage());
+                if (failure == null) {
+                    throw e;
+                }
+                failure.addSuppressed(e);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        if (postgres) {
+            for (String table : TABLES) {
+                jdbcTemplate.execute("analyze " + table);
+            }
+        }
+        userCounter.refresh();
+        visibilityIndex.rebuild();
+
+        DatasetSummary summary = new DatasetSummary(firstUserId, firstTodoId, firstTaskId, users, todos, tasks,
+                collaborators, System.currentTimeMillis() - start);
+        logger.info("Dataset loaded: {}", summary);
+        return summary;
+    }
+
+    private long load(ExecutorService executor, List<Chunk> chunks, boolean postgres, String table,
+                      String[] columns, ChunkWriter writer) {
+        long start = System.nanoTime();
+        List<Callable<Long>> jobs = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            jobs.add(() -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                if (postgres) {
+                    try (CopyRowWriter out = new CopyRowWriter(connection, table, columns)) {
+                        writer.write(chunk, out);
+                        return out.finish();
+                    }
+                }
+                try (InsertRowWriter out = new InsertRowWriter(connection, table, columns, INSERT_BATCH_SIZE)) {
+                    writer.write(chunk, out);
+                    return out.finish();
+                }
+            }));
+        }
+        long rows = runAll(executor, jobs);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Loaded {} rows into '{}' in {} ms ({} rows/s).", rows, table, elapsedMs,
+                rows * 1000 / Math.max(1, elapsedMs));
+        return rows;
+    }
+
+    private List<String> dropSecondaryIndexes() {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            jdbcTemplate.query(SECONDARY_INDEXES_SQL, rs -> {
+                indexes.put(rs.getString(1), rs.getString(2));
+            }, table);
+        }
+        for (String definition : indexes.values()) {
+            logger.warn("Dropping index for the load: {}", definition);
+        }
+        for (String name : indexes.keySet()) {
+            jdbcTemplate.execute("drop index " + name);
+        }
+        logger.warn("Dropped {} secondary indexes for the load; queries on {} run without them until it ends.",
+                indexes.size(), String.join(", ", TABLES));
+        return new ArrayList<>(indexes.values());
+    }
+
+    private void createIndexes(ExecutorService executor, List<String> definitions) {
+        List<Callable<Long>> jobs = new ArrayList<>();
+        for (String definition : definitions) {
+            jobs.add(() -> {
+                jdbcTemplate.execute(definition);
+                return 1L;
+            });
+        }
+        runAll(executor, jobs);
+    }
+
+    /**
+     * Returns the first of {@code count} ids after the highest existing one and moves the
+     * identity column past them, so rows the application creates meanwhile get other ids. On
+     * PostgreSQL the table is locked against inserts until the sequence has moved.
+     */
+    private long reserveIds(boolean postgres, String table, long count) {
+        if (!postgres) {
+            long first = nextId(table);
+            jdbcTemplate.execute("alter table " + table + " alter column id restart with " + (first + count));
+            return first;
+        }
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("lock table " + table + " in exclusive mode");
+            long first = nextId(table);
+            jdbcTemplate.queryForObject("select setval(pg_get_serial_sequence(?, 'id'), ?, false)", Long.class,
+                    table, first + count);
+            return first;
+        });
+    }
+
+    private long nextId(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 1 from " + table, Long.class);
+    }
+
+    private Map<String, Long> namesToIds(String table) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("select id, name from " + table, rs -> {
+            ids.put(rs.getString(2), rs.getLong(1));
+        });
+        return ids;
+    }
+
+    private static long runAll(ExecutorService executor, List<Callable<Long>> jobs) {
+        List<Future<Long>> futures = new ArrayList<>();
+        for (Callable<Long> job : jobs) {
+            futures.add(executor.submit(job));
+        }
+        long total = 0;
+        try {
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the dataset", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(Chunk chunk, RowWriter out) throws SQLException;
+    }
+}
@@ -0,0 +1,226 @@
+package com.softserve.itacademy.dataset;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shape of a generated dataset. Counts per user and per To-Do are log-normal around the given
+ * mean, so most users have a few To-Dos and a few have hundreds; the skew is the standard
+ * deviation of the underlying normal distribution. Bound from {@code dataset.*} properties.
+ */
+public class DatasetSpec {
+    private long users = 1_000_000;
+    private double todosPerUser = 10;
+    private double todosPerUserSkew = 1.5;
+    private double tasksPerTodo = 10;
+    private double tasksPerTodoSkew = 1.0;
+    private int maxTasksPerTodo = 5000;
+    private double sharedTodoShare = 0.3;
+    private double collaboratorsPerSharedTodo = 2;
+    private int teamSize = 20;
+    private double adminShare = 0.001;
+    private double dueShare = 0.3;
+    private int historyDays = 730;
+    private long seed = 42;
+    private int threads = 4;
+    private boolean rebuildIndexes;
+    private String password = "Password1";
+    private String userRole = "USER";
+    private String adminRole = "ADMIN";
+    private Map<String, Integer> stateWeights = new LinkedHashMap<>();
+    private Map<String, Integer> priorityWeights = new LinkedHashMap<>();
+
+    public DatasetSpec() {
+        stateWeights.put("New", 30);
+        stateWeights.put("Doing", 15);
+        stateWeights.put("Verify", 5);
+        stateWeights.put("Done", 50);
+        priorityWeights.put("LOW", 50);
+        priorityWeights.put("MEDIUM", 35);
+        priorityWeights.put("HIGH", 15);
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public void setUsers(long users) {
+        this.users = users;
+    }
+
+    public double getTodosPerUser() {
+        return todosPerUser;
+    }
+
+    public void setTodosPerUser(double todosPerUser) {
+        this.todosPerUser = todosPerUser;
+    }
+
+    public double getTodosPerUserSkew() {
+        return todosPerUserSkew;
+    }
+
+    public void setTodosPerUserSkew(double todosPerUserSkew) {
+        this.todosPerUserSkew = todosPerUserSkew;
+    }
+
+    public double getTasksPerTodo() {
+        return tasksPerTodo;
+    }
+
+    public void setTasksPerTodo(double tasksPerTodo) {
+        this.tasksPerTodo = tasksPerTodo;
+    }
+
+    public double getTasksPerTodoSkew() {
+        return tasksPerTodoSkew;
+    }
+
+    public void setTasksPerTodoSkew(double tasksPerTodoSkew) {
+        this.tasksPerTodoSkew = tasksPerTodoSkew;
+    }
+
+    public int getMaxTasksPerTodo() {
+        return maxTasksPerTodo;
+    }
+
+    public void setMaxTasksPerTodo(int maxTasksPerTodo) {
+        this.maxTasksPerTodo = maxTasksPerTodo;
+    }
+
+    /**
+     * Share of To-Dos that have at least one collaborator.
+     */
+    public double getSharedTodoShare() {
+        return sharedTodoShare;
+    }
+
+    public void setSharedTodoShare(double sharedTodoShare) {
+        this.sharedTodoShare = sharedTodoShare;
+    }
+
+    /**
+     * Mean number of collaborators of a shared To-Do; the count is geometric, starting at one.
+     */
+    public double getCollaboratorsPerSharedTodo() {
+        return collaboratorsPerSharedTodo;
+    }
+
+    public void setCollaboratorsPerSharedTodo(double collaboratorsPerSharedTodo) {
+        this.collaboratorsPerSharedTodo = collaboratorsPerSharedTodo;
+    }
+
+    /**
+     * Users are grouped into teams of consecutive ids; nine collaborators in ten come from the
+     * owner's team, the rest from anywhere.
+     */
+    public int getTeamSize() {
+        return teamSize;
+    }
+
+    public void setTeamSize(int teamSize) {
+        this.teamSize = teamSize;
+    }
+
+    public double getAdminShare() {
+        return adminShare;
+    }
+
+    public void setAdminShare(double adminShare) {
+        this.adminShare = adminShare;
+    }
+
+    public double getDueShare() {
+        return dueShare;
+    }
+
+    public void setDueShare(double dueShare) {
+        this.dueShare = dueShare;
+    }
+
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = historyDays;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Whether secondary indexes are dropped before a PostgreSQL load and built again after it,
+     * off by default. They are dropped from the live tables, so the application's queries scan
+     * without them until the load ends; only turn this on for a database that serves no traffic.
+     */
+    public boolean isRebuildIndexes() {
+        return rebuildIndexes;
+    }
+
+    public void setRebuildIndexes(boolean rebuildIndexes) {
+        this.rebuildIndexes = rebuildIndexes;
+    }
+
+    /**
+     * Raw password of every generated user; it is hashed once and shared.
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getUserRole() {
+        return userRole;
+    }
+
+    public void setUserRole(String userRole) {
+        this.userRole = userRole;
+    }
+
+    public String getAdminRole() {
+        return adminRole;
+    }
+
+    public void setAdminRole(String adminRole) {
+        this.adminRole = adminRole;
+    }
+
+    /**
+     * Relative frequency of each task state, by state name.
+     */
+    public Map<String, Integer> getStateWeights() {
+        return stateWeights;
+    }
+
+    public void setStateWeights(Map<String, Integer> stateWeights) {
+        this.stateWeights = stateWeights;
+    }
+
+    /**
+     * Relative frequency of each task priority, by {@link com.softserve.itacademy.model.Priority} name.
+     */
+    public Map<String, Integer> getPriorityWeights() {
+        return priorityWeights;
+    }
+
+    public void setPriorityWeights(Map<String, Integer> priorityWeights) {
+        this.priorityWeights = priorityWeights;
+    }
+}
@@ -0,0 +1,70 @@
+package com.softserve.itacademy.dataset;
+
+public final class DatasetSummary {
+    private final long firstUserId;
+    private final long firstTodoId;
+    private final long firstTaskId;
+    private final long users;
+    private final long todos;
+    private final long tasks;
+    private final long collaborators;
+    private final long elapsedMs;
+
+    public DatasetSummary(long firstUserId, long firstTodoId, long firstTaskId, long users, long todos, long tasks,
+                          long collaborators, long elapsedMs) {
+        this.firstUserId = firstUserId;
+        this.firstTodoId = firstTodoId;
+        this.firstTaskId = firstTaskId;
+        this.users = users;
+        this.todos = todos;
+        this.tasks = tasks;
+        this.collaborators = collaborators;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public long getFirstUserId() {
+        return firstUserId;
+    }
+
+    public long getFirstTodoId() {
+        return firstTodoId;
+    }
+
+    public long getFirstTaskId() {
+        return firstTaskId;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public long getTodos() {
+        return todos;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public long getCollaborators() {
+        return collaborators;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetSummary {" +
+                "firstUserId = " + firstUserId +
+                ", firstTodoId = " + firstTodoId +
+                ", firstTaskId = " + firstTaskId +
+                ", users = " + users +
+                ", todos = " + todos +
+                ", tasks = " + tasks +
+                ", collaborators = " + collaborators +
+                ", elapsedMs = " + elapsedMs +
+                "} ";
+    }
+}
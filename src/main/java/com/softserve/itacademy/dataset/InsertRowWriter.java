@@ -0,0 +1,51 @@
+package com.softserve.itacademy.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Inserts rows in JDBC batches, for databases without {@code COPY} such as the H2 used by tests.
+ */
+final class InsertRowWriter implements RowWriter, AutoCloseable {
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private long rows;
+    private int pending;
+
+    InsertRowWriter(Connection connection, String table, String[] columns, int batchSize) throws SQLException {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        this.statement = connection.prepareStatement("insert into " + table + " (" + String.join(", ", columns) +
+                ") values (" + placeholders + ")");
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            statement.setObject(i + 1, values[i]);
+        }
+        statement.addBatch();
+        rows++;
+        if (++pending == batchSize) {
+            statement.executeBatch();
+            pending = 0;
+        }
+    }
+
+    long finish() throws SQLException {
+        if (pending > 0) {
+            statement.executeBatch();
+            pending = 0;
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statement.close();
+    }
+}
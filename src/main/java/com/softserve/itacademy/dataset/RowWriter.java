@@ -0,0 +1,11 @@
+package com.softserve.itacademy.dataset;
+
+import java.sql.SQLException;
+
+/**
+ * Receives generated rows, with values in the order of the table's column list.
+ */
+@FunctionalInterface
+public interface RowWriter {
+    void row(Object... values) throws SQLException;
+}
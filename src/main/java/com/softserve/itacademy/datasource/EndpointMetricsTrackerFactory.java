@@ -0,0 +1,52 @@
+package com.softserve.itacademy.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Feeds Hikari's acquisition and usage callbacks to {@link PoolMonitor}, then to the regular
+ * Micrometer tracker so the standard {@code hikaricp.*} metrics are kept.
+ */
+public class EndpointMetricsTrackerFactory implements MetricsTrackerFactory {
+    private final MetricsTrackerFactory delegate;
+    private final PoolMonitor poolMonitor;
+
+    public EndpointMetricsTrackerFactory(MetricsTrackerFactory delegate, PoolMonitor poolMonitor) {
+        this.delegate = delegate;
+        this.poolMonitor = poolMonitor;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker tracker = delegate.create(poolName, poolStats);
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                poolMonitor.connectionAcquired(elapsedAcquiredNanos);
+                tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                poolMonitor.connectionReleased(elapsedBorrowedMillis);
+                tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                tracker.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                tracker.close();
+            }
+        };
+    }
+}
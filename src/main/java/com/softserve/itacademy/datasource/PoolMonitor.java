@@ -0,0 +1,213 @@
+package com.softserve.itacademy.datasource;
+
+import com.softserve.itacademy.dto.EndpointPoolStats;
+import com.softserve.itacademy.dto.LeakSuspect;
+import com.softserve.itacademy.dto.PoolStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Attributes connection-pool usage to the endpoint that caused it. Hikari reports acquisition
+ * wait and hold time through {@link EndpointMetricsTrackerFactory}; the endpoint of the current
+ * thread is set by {@link PoolMonitorInterceptor}. A request that still holds a connection when
+ * its view starts rendering is recorded as a leak suspect.
+ */
+@Component
+public class PoolMonitor {
+    public static final String BACKGROUND = "background";
+
+    private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> OPEN_CONNECTIONS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<HikariDataSource> hikariDataSource;
+    private final int maxSuspects;
+    private final ConcurrentHashMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Deque<LeakSuspect> suspects = new ArrayDeque<>();
+    private final LongAdder windowAcquisitions = new LongAdder();
+    private final LongAdder windowAcquireNanos = new LongAdder();
+    private final LongAdder windowReleases = new LongAdder();
+    private final LongAdder windowHoldMs = new LongAdder();
+    private final Logger logger = LoggerFactory.getLogger(PoolMonitor.class);
+
+    public PoolMonitor(MeterRegistry meterRegistry, ObjectProvider<HikariDataSource> hikariDataSource,
+                       @Value("${datasource.pool.monitor.max-suspects:50}") int maxSuspects) {
+        this.meterRegistry = meterRegistry;
+        this.hikariDataSource = hikariDataSource;
+        this.maxSuspects = maxSuspects;
+    }
+
+    public void enter(String endpoint) {
+        ENDPOINT.set(endpoint);
+        OPEN_CONNECTIONS.get()[0] = 0;
+    }
+
+    public void exit() {
+        ENDPOINT.remove();
+        OPEN_CONNECTIONS.remove();
+    }
+
+    public void beforeRender(String uri) {
+        int open = OPEN_CONNECTIONS.get()[0];
+        if (open <= 0) {
+            return;
+        }
+        String endpoint = currentEndpoint();
+        stats(endpoint).suspects.increment();
+        LeakSuspect suspect = new LeakSuspect(LocalDateTime.now(), endpoint, uri, open);
+        synchronized (suspects) {
+            suspects.addFirst(suspect);
+            while (suspects.size() > maxSuspects) {
+                suspects.removeLast();
+            }
+        }
+        logger.warn("'{}' holds {} connection(s) while rendering '{}'.", endpoint, open, uri);
+    }
+
+    void connectionAcquired(long elapsedNanos) {
+        OPEN_CONNECTIONS.get()[0]++;
+        EndpointStats stats = stats(currentEndpoint());
+        stats.acquisitions.increment();
+        stats.acquireNanos.add(elapsedNanos);
+        stats.maxAcquireNanos.accumulate(elapsedNanos);
+        stats.acquireTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        windowAcquisitions.increment();
+        windowAcquireNanos.add(elapsedNanos);
+    }
+
+    void connectionReleased(long heldMillis) {
+        int[] open = OPEN_CONNECTIONS.get();
+        open[0] = Math.max(0, open[0] - 1);
+        EndpointStats stats = stats(currentEndpoint());
+        stats.releases.increment();
+        stats.holdMs.add(heldMillis);
+        stats.maxHoldMs.accumulate(heldMillis);
+        stats.holdTimer.record(heldMillis, TimeUnit.MILLISECONDS);
+        windowReleases.increment();
+        windowHoldMs.add(heldMillis);
+    }
+
+    public List<EndpointPoolStats> getEndpointStats() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(EndpointPoolStats::getMeanHoldMs).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public List<LeakSuspect> getLeakSuspects() {
+        synchronized (suspects) {
+            return new ArrayList<>(suspects);
+        }
+    }
+
+    public PoolStatus getPoolStatus() {
+        HikariDataSource dataSource = hikariDataSource.getIfUnique();
+        if (dataSource == null) {
+            return null;
+        }
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return new PoolStatus(dataSource.getPoolName(), 0, 0, 0, 0,
+                    dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle());
+        }
+        return new PoolStatus(dataSource.getPoolName(), pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getTotalConnections(), pool.getThreadsAwaitingConnection(),
+                dataSource.getHikariConfigMXBean().getMaximumPoolSize(),
+                dataSource.getHikariConfigMXBean().getMinimumIdle());
+    }
+
+    /**
+     * Mean acquisition wait and hold time since the previous call.
+     */
+    public Window drainWindow() {
+        long acquisitions = windowAcquisitions.sumThenReset();
+        long acquireNanos = windowAcquireNanos.sumThenReset();
+        long releases = windowReleases.sumThenReset();
+        long holdMs = windowHoldMs.sumThenReset();
+        return new Window(acquisitions,
+                acquisitions == 0 ? 0 : acquireNanos / 1_000_000.0 / acquisitions,
+                releases == 0 ? 0 : (double) holdMs / releases);
+    }
+
+    public static String currentEndpoint() {
+        String endpoint = ENDPOINT.get();
+        return endpoint != null ? endpoint : BACKGROUND;
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, key -> new EndpointStats(key, meterRegistry));
+    }
+
+    public static class Window {
+        private final long acquisitions;
+        private final double meanAcquireMs;
+        private final double meanHoldMs;
+
+        Window(long acquisitions, double meanAcquireMs, double meanHoldMs) {
+            this.acquisitions = acquisitions;
+            this.meanAcquireMs = meanAcquireMs;
+            this.meanHoldMs = meanHoldMs;
+        }
+
+        public long getAcquisitions() {
+            return acquisitions;
+        }
+
+        public double getMeanAcquireMs() {
+            return meanAcquireMs;
+        }
+
+        public double getMeanHoldMs() {
+            return meanHoldMs;
+        }
+    }
+
+    private static class EndpointStats {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder releases = new LongAdder();
+        private final LongAdder holdMs = new LongAdder();
+        private final LongAccumulator maxHoldMs = new LongAccumulator(Math::max, 0);
+        private final Counter suspects;
+        private final Timer acquireTimer;
+        private final Timer holdTimer;
+
+        private EndpointStats(String endpoint, MeterRegistry meterRegistry) {
+            this.acquireTimer = Timer.builder("db.connection.acquire").tag("endpoint", endpoint).register(meterRegistry);
+            this.holdTimer = Timer.builder("db.connection.hold").tag("endpoint", endpoint).register(meterRegistry);
+            this.suspects = Counter.builder("db.connection.leak.suspects").tag("endpoint", endpoint)
+                    .register(meterRegistry);
+        }
+
+        private EndpointPoolStats snapshot(String endpoint) {
+            long acquired = acquisitions.sum();
+            long released = releases.sum();
+            return new EndpointPoolStats(endpoint, acquired,
+                    acquired == 0 ? 0 : acquireNanos.sum() / 1_000_000.0 / acquired,
+                    maxAcquireNanos.get() / 1_000_000.0,
+                    released == 0 ? 0 : (double) holdMs.sum() / released,
+                    maxHoldMs.get(), (long) suspects.count());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.softserve.itacademy.datasource;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Tags the request thread with the handling endpoint ({@code Controller.method}) and checks for
+ * connections still held when the view is about to render.
+ */
+public class PoolMonitorInterceptor implements AsyncHandlerInterceptor {
+    private final PoolMonitor poolMonitor;
+
+    public PoolMonitorInterceptor(PoolMonitor poolMonitor) {
+        this.poolMonitor = poolMonitor;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        poolMonitor.enter(endpoint(handler));
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        poolMonitor.beforeRender(request.getRequestURI());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        poolMonitor.exit();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        poolMonitor.exit();
+    }
+
+    static String endpoint(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        if (handler instanceof ResourceHttpRequestHandler) {
+            return "static";
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,33 @@
+package com.softserve.itacademy.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Installs {@link EndpointMetricsTrackerFactory} on Hikari pools before they start. Hikari
+ * accepts a tracker factory only once, and Boot leaves an already configured one alone.
+ */
+public class PoolMonitorPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<PoolMonitor> poolMonitor;
+
+    public PoolMonitorPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<PoolMonitor> poolMonitor) {
+        this.meterRegistry = meterRegistry;
+        this.poolMonitor = poolMonitor;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource) {
+            HikariDataSource dataSource = (HikariDataSource) bean;
+            if (dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+                dataSource.setMetricsTrackerFactory(new EndpointMetricsTrackerFactory(
+                        new MicrometerMetricsTrackerFactory(meterRegistry.getObject()), poolMonitor.getObject()));
+            }
+        }
+        return bean;
+    }
+}
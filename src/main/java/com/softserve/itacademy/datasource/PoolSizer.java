@@ -0,0 +1,85 @@
+package com.softserve.itacademy.datasource;
+
+import com.softserve.itacademy.dto.PoolStatus;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resizes the primary pool between {@code min-size} and {@code max-size}. The pool grows while
+ * requests wait for connections, but only as long as connections are returned quickly: when
+ * hold time is above the latency ceiling the database itself is the bottleneck and more
+ * connections would only add load. It shrinks one connection at a time once waiting stops and
+ * less than half of the pool is in use.
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.pool.adaptive.enabled", havingValue = "true")
+public class PoolSizer {
+    private final PoolMonitor poolMonitor;
+    private final ObjectProvider<HikariDataSource> hikariDataSource;
+    private final int minSize;
+    private final int maxSize;
+    private final double growWaitMs;
+    private final double latencyCeilingMs;
+    private final int step;
+    private final Logger logger = LoggerFactory.getLogger(PoolSizer.class);
+
+    public PoolSizer(PoolMonitor poolMonitor, ObjectProvider<HikariDataSource> hikariDataSource,
+                     @Value("${datasource.pool.adaptive.min-size:5}") int minSize,
+                     @Value("${datasource.pool.adaptive.max-size:30}") int maxSize,
+                     @Value("${datasource.pool.adaptive.grow-wait-ms:5}") double growWaitMs,
+                     @Value("${datasource.pool.adaptive.latency-ceiling-ms:200}") double latencyCeilingMs,
+                     @Value("${datasource.pool.adaptive.step:2}") int step) {
+        this.poolMonitor = poolMonitor;
+        this.hikariDataSource = hikariDataSource;
+        this.minSize = minSize;
+        this.maxSize = Math.max(minSize, maxSize);
+        this.growWaitMs = growWaitMs;
+        this.latencyCeilingMs = latencyCeilingMs;
+        this.step = Math.max(step, 1);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.pool.adaptive.interval-ms:10000}")
+    public void resize() {
+        HikariDataSource dataSource = hikariDataSource.getIfUnique();
+        PoolStatus status = poolMonitor.getPoolStatus();
+        PoolMonitor.Window window = poolMonitor.drainWindow();
+        if (dataSource == null || status == null || dataSource.getHikariPoolMXBean() == null) {
+            return;
+        }
+        int current = status.getMaximumPoolSize();
+        int target = target(current, status, window);
+        if (target == current) {
+            return;
+        }
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        config.setMaximumPoolSize(target);
+        config.setMinimumIdle(Math.min(config.getMinimumIdle(), target));
+        logger.info("Pool '{}' resized from {} to {} (wait {} ms, hold {} ms, {} awaiting).", status.getName(),
+                current, target, String.format("%.1f", window.getMeanAcquireMs()),
+                String.format("%.1f", window.getMeanHoldMs()), status.getAwaiting());
+    }
+
+    private int target(int current, PoolStatus status, PoolMonitor.Window window) {
+        if (current < minSize) {
+            return minSize;
+        }
+        if (current > maxSize) {
+            return maxSize;
+        }
+        boolean waiting = window.getMeanAcquireMs() > growWaitMs || status.getAwaiting() > 0;
+        if (waiting && window.getMeanHoldMs() < latencyCeilingMs) {
+            return Math.min(current + step, maxSize);
+        }
+        if (!waiting && status.getActive() < current / 2) {
+            return Math.max(current - 1, minSize);
+        }
+        return current;
+    }
+}
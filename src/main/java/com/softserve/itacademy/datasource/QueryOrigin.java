@@ -0,0 +1,29 @@
+package com.softserve.itacademy.datasource;
+
+/**
+ * The repository method whose statements are currently running on this thread.
+ */
+public final class QueryOrigin {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private QueryOrigin() {
+    }
+
+    public static String get() {
+        return CURRENT.get();
+    }
+
+    static String set(String origin) {
+        String previous = CURRENT.get();
+        CURRENT.set(origin);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.softserve.itacademy.datasource;
+
+/**
+ * Per-request read-your-writes state: until when the current client must read from the
+ * primary, and whether the current request committed a write. The first committed write runs
+ * the listener registered for the request, which tells the client to stick to the primary.
+ */
+public final class ReadYourWritesContext {
+    private static final ThreadLocal<Long> STICKY_UNTIL = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WROTE = new ThreadLocal<>();
+    private static final ThreadLocal<Runnable> ON_FIRST_WRITE = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static void stickToPrimaryUntil(long epochMillis) {
+        STICKY_UNTIL.set(epochMillis);
+    }
+
+    public static boolean isStickyToPrimary() {
+        Long until = STICKY_UNTIL.get();
+        return Boolean.TRUE.equals(WROTE.get()) || until != null && until > System.currentTimeMillis();
+    }
+
+    public static void onFirstWrite(Runnable listener) {
+        ON_FIRST_WRITE.set(listener);
+    }
+
+    public static void markWrite() {
+        if (Boolean.TRUE.equals(WROTE.get())) {
+            return;
+        }
+        WROTE.set(Boolean.TRUE);
+        Runnable listener = ON_FIRST_WRITE.get();
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    public static boolean hasWritten() {
+        return Boolean.TRUE.equals(WROTE.get());
+    }
+
+    /**
+     * Carries the calling thread's state over to a task run on another thread, e.g. the write
+     * that follows an asynchronous password hash, and clears it there afterwards.
+     */
+    public static Runnable propagate(Runnable task) {
+        Long until = STICKY_UNTIL.get();
+        boolean wrote = Boolean.TRUE.equals(WROTE.get());
+        Runnable listener = ON_FIRST_WRITE.get();
+        return () -> {
+            STICKY_UNTIL.set(until);
+            if (wrote) {
+                WROTE.set(Boolean.TRUE);
+            }
+            ON_FIRST_WRITE.set(listener);
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    public static void clear() {
+        STICKY_UNTIL.remove();
+        WROTE.remove();
+        ON_FIRST_WRITE.remove();
+    }
+}
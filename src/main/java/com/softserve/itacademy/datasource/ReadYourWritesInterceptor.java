@@ -0,0 +1,57 @@
+package com.softserve.itacademy.datasource;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a client on the primary for a short window after it wrote something, so that the
+ * redirect following a form POST shows the client's own change even on a lagging replica. The
+ * cookie is added as soon as a write commits, while the handler is still running, so it also
+ * reaches clients of {@code @ResponseBody} handlers whose response is written before
+ * {@code postHandle}.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+    public static final String COOKIE_NAME = "rw_primary_until";
+
+    private final long stickyWindowMs;
+
+    public ReadYourWritesInterceptor(long stickyWindowMs) {
+        this.stickyWindowMs = stickyWindowMs;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesContext.clear();
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        ReadYourWritesContext.stickToPrimaryUntil(Long.parseLong(cookie.getValue()));
+                    } catch (NumberFormatException e) {
+                        // ignore a tampered cookie, it only affects routing
+                    }
+                }
+            }
+        }
+        ReadYourWritesContext.onFirstWrite(() -> {
+            if (!response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(System.currentTimeMillis() + stickyWindowMs));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, stickyWindowMs / 1000));
+                response.addCookie(cookie);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReadYourWritesContext.clear();
+    }
+}
@@ -0,0 +1,45 @@
+package com.softserve.itacademy.datasource;
+
+import javax.sql.DataSource;
+
+public class Replica {
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile long lagBytes = -1;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagBytes() {
+        return lagBytes;
+    }
+
+    void update(boolean healthy, long lagBytes) {
+        this.healthy = healthy;
+        this.lagBytes = lagBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "Replica {" +
+                "name = '" + name + '\'' +
+                ", healthy = " + healthy +
+                ", lagBytes = " + lagBytes +
+                "} ";
+    }
+}
@@ -0,0 +1,73 @@
+package com.softserve.itacademy.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Compares the primary's current WAL position with each replica's replay position and takes
+ * replicas that lag more than the configured number of bytes, or cannot be reached, out of
+ * rotation. An instance that is not in recovery is not a standby of the primary, e.g. a wrong
+ * URL or a promoted replica, and is kept out of rotation too.
+ */
+public class ReplicaLagMonitor {
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas;
+    private final long maxLagBytes;
+    private final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    public ReplicaLagMonitor(DataSource primary, List<Replica> replicas, long maxLagBytes) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas;
+        this.maxLagBytes = maxLagBytes;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval-ms:1000}")
+    public void check() {
+        String primaryLsn;
+        try {
+            primaryLsn = primary.queryForObject("select pg_current_wal_lsn()::text", String.class);
+        } catch (RuntimeException e) {
+            logger.error("Primary WAL position could not be read: {}", e.getMessage());
+            return;
+        }
+        for (Replica replica : replicas) {
+            try {
+                Long lag = new JdbcTemplate(replica.getDataSource()).queryForObject(
+                        "select case when pg_is_in_recovery() " +
+                                "then coalesce(pg_wal_lsn_diff(?::pg_lsn, pg_last_wal_replay_lsn()), 0)::bigint " +
+                                "end", Long.class, primaryLsn);
+                update(replica, lag);
+            } catch (RuntimeException e) {
+                if (replica.isHealthy()) {
+                    logger.error("Replica '{}' is out of rotation: {}", replica.getName(), e.getMessage());
+                }
+                replica.update(false, -1);
+            }
+        }
+    }
+
+    /**
+     * @param lag replay lag in bytes, or {@code null} if the replica is not in recovery
+     */
+    void update(Replica replica, Long lag) {
+        if (lag == null) {
+            if (replica.isHealthy() || replica.getLagBytes() != -1) {
+                logger.error("Replica '{}' is not a standby and is out of rotation.", replica.getName());
+            }
+            replica.update(false, -1);
+            return;
+        }
+        long lagBytes = Math.max(lag, 0);
+        boolean healthy = lagBytes <= maxLagBytes;
+        if (healthy != replica.isHealthy()) {
+            logger.info("Replica '{}' is now {} (lag {} bytes).", replica.getName(),
+                    healthy ? "in rotation" : "out of rotation", lagBytes);
+        }
+        replica.update(healthy, lagBytes);
+    }
+}
@@ -0,0 +1,39 @@
+package com.softserve.itacademy.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Adds an advice to every Spring Data repository proxy that records the called repository
+ * method in {@link QueryOrigin}, so slow statements can be traced back to it.
+ */
+public class RepositoryOriginPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository && bean instanceof Advised && !((Advised) bean).isFrozen()) {
+            Advised advised = (Advised) bean;
+            String repository = repositoryName(advised, beanName);
+            advised.addAdvice(0, (MethodInterceptor) invocation -> {
+                String previous = QueryOrigin.set(repository + "." + invocation.getMethod().getName());
+                try {
+                    return invocation.proceed();
+                } finally {
+                    QueryOrigin.restore(previous);
+                }
+            });
+        }
+        return bean;
+    }
+
+    private static String repositoryName(Advised advised, String beanName) {
+        for (Class<?> type : advised.getProxiedInterfaces()) {
+            if (Repository.class.isAssignableFrom(type)) {
+                return type.getSimpleName();
+            }
+        }
+        return beanName;
+    }
+}
@@ -0,0 +1,130 @@
+package com.softserve.itacademy.datasource;
+
+import com.softserve.itacademy.dto.SlowQuery;
+import com.softserve.itacademy.tracing.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Receives the timing of every statement run through {@link TimedDataSource}. Statements slower
+ * than {@code datasource.slow-query.threshold-ms} are logged as one key=value line with the
+ * normalized SQL, the types of the bound parameters (never their values), the repository method
+ * and the endpoint. Timings are also aggregated per fingerprint; the table keeps at most
+ * {@code max-fingerprints} entries and drops the fastest one when a new fingerprint arrives.
+ * Every statement is also added to the current trace as a span.
+ */
+@Component
+public class SlowQueryLog {
+    private static final int FINGERPRINT_CACHE_SIZE = 2000;
+
+    private final long thresholdNanos;
+    private final int topN;
+    private final int maxFingerprints;
+    private final Counter slowCounter;
+    private final Map<String, String> fingerprintCache = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    public SlowQueryLog(MeterRegistry meterRegistry,
+                        @Value("${datasource.slow-query.threshold-ms:200}") long thresholdMs,
+                        @Value("${datasource.slow-query.top-n:20}") int topN,
+                        @Value("${datasource.slow-query.max-fingerprints:500}") int maxFingerprints) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.topN = topN;
+        this.maxFingerprints = Math.max(maxFingerprints, topN);
+        this.slowCounter = Counter.builder("db.statements.slow").register(meterRegistry);
+    }
+
+    public void record(String sql, String binds, int batchSize, long elapsedNanos) {
+        String fingerprint = fingerprint(sql);
+        String origin = QueryOrigin.get();
+        String endpoint = PoolMonitor.currentEndpoint();
+        boolean slow = elapsedNanos >= thresholdNanos;
+        Stats entry = stats.get(fingerprint);
+        if (entry == null) {
+            if (stats.size() >= maxFingerprints) {
+                evictFastest();
+            }
+            entry = stats.computeIfAbsent(fingerprint, key -> new Stats());
+        }
+        entry.record(elapsedNanos, slow, origin, endpoint, binds);
+        TraceContext.record("sql", elapsedNanos, "sql.query", fingerprint);
+        if (slow) {
+            slowCounter.increment();
+            logger.warn("slow_query elapsed_ms={} batch={} origin={} endpoint={} binds={} sql=\"{}\"",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), batchSize, origin, endpoint, binds, fingerprint);
+        }
+    }
+
+    public List<SlowQuery> getSlowest() {
+        return stats.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(SlowQuery::getMaxMs).reversed())
+                .limit(topN)
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private String fingerprint(String sql) {
+        String fingerprint = fingerprintCache.get(sql);
+        if (fingerprint == null) {
+            if (fingerprintCache.size() >= FINGERPRINT_CACHE_SIZE) {
+                fingerprintCache.clear();
+            }
+            fingerprint = SqlFingerprint.of(sql);
+            fingerprintCache.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private void evictFastest() {
+        stats.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().maxNanos))
+                .ifPresent(entry -> stats.remove(entry.getKey()));
+    }
+
+    private static class Stats {
+        private long executions;
+        private long slowExecutions;
+        private long totalNanos;
+        private volatile long maxNanos;
+        private String origin;
+        private String endpoint;
+        private String binds;
+
+        private synchronized void record(long elapsedNanos, boolean slow, String origin, String endpoint,
+                                         String binds) {
+            executions++;
+            totalNanos += elapsedNanos;
+            if (slow) {
+                slowExecutions++;
+            }
+            if (elapsedNanos >= maxNanos) {
+                maxNanos = elapsedNanos;
+                this.origin = origin;
+                this.endpoint = endpoint;
+                this.binds = binds;
+            }
+        }
+
+        private synchronized SlowQuery snapshot(String fingerprint) {
+            return new SlowQuery(fingerprint, executions, slowExecutions,
+                    executions == 0 ? 0 : totalNanos / 1_000_000.0 / executions, maxNanos / 1_000_000.0,
+                    origin, endpoint, binds);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.softserve.itacademy.datasource;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL so that statements differing only in literals, bind placeholders, IN-list
+ * length or whitespace share one fingerprint.
+ */
+public final class SqlFingerprint {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern VALUES_LIST = Pattern.compile("(values\\s*\\([^)]*\\))(?:\\s*,\\s*\\([^)]*\\))+",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?...)");
+        return VALUES_LIST.matcher(normalized).replaceAll("$1, ...");
+    }
+}
@@ -0,0 +1,115 @@
+package com.softserve.itacademy.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Times every statement executed on connections from the target data source and reports it to
+ * {@link SlowQueryLog}. Bound parameters are recorded by type only.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+    private final SlowQueryLog slowQueryLog;
+
+    public TimedDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection connection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : null;
+                        return statement((Statement) result, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement statement(Statement statement, String sql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        StatementState state = new StatementState(sql);
+        return (Statement) Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("execute")) {
+                        String executed = args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : state.sql;
+                        long start = System.nanoTime();
+                        try {
+                            return invoke(statement, method, args);
+                        } finally {
+                            if (executed != null) {
+                                slowQueryLog.record(executed, state.binds(), Math.max(state.batchSize, 1),
+                                        System.nanoTime() - start);
+                            }
+                            state.batchSize = 0;
+                        }
+                    }
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        state.bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        state.parameters.clear();
+                    } else if (name.equals("addBatch")) {
+                        state.batchSize++;
+                        if (args != null && args.length == 1) {
+                            state.sql = (String) args[0];
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static class StatementState {
+        private final Map<Integer, String> parameters = new TreeMap<>();
+        private String sql;
+        private int batchSize;
+
+        private StatementState(String sql) {
+            this.sql = sql;
+        }
+
+        private void bind(int index, Object value) {
+            parameters.put(index, value == null ? "null" : value.getClass().getSimpleName());
+        }
+
+        private String binds() {
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            parameters.values().forEach(joiner::add);
+            return joiner.toString();
+        }
+    }
+}
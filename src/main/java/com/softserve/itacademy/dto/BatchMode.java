@@ -0,0 +1,9 @@
+package com.softserve.itacademy.dto;
+
+/**
+ * {@code ALL_OR_NOTHING} applies a batch only if every operation in it is valid;
+ * {@code BEST_EFFORT} applies the valid operations and reports the others as failed.
+ */
+public enum BatchMode {
+    ALL_OR_NOTHING, BEST_EFFORT
+}
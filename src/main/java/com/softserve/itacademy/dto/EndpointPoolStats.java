@@ -0,0 +1,50 @@
+package com.softserve.itacademy.dto;
+
+public final class EndpointPoolStats {
+    private final String endpoint;
+    private final long acquisitions;
+    private final double meanAcquireMs;
+    private final double maxAcquireMs;
+    private final double meanHoldMs;
+    private final long maxHoldMs;
+    private final long leakSuspects;
+
+    public EndpointPoolStats(String endpoint, long acquisitions, double meanAcquireMs, double maxAcquireMs,
+                             double meanHoldMs, long maxHoldMs, long leakSuspects) {
+        this.endpoint = endpoint;
+        this.acquisitions = acquisitions;
+        this.meanAcquireMs = meanAcquireMs;
+        this.maxAcquireMs = maxAcquireMs;
+        this.meanHoldMs = meanHoldMs;
+        this.maxHoldMs = maxHoldMs;
+        this.leakSuspects = leakSuspects;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    public double getMeanAcquireMs() {
+        return meanAcquireMs;
+    }
+
+    public double getMaxAcquireMs() {
+        return maxAcquireMs;
+    }
+
+    public double getMeanHoldMs() {
+        return meanHoldMs;
+    }
+
+    public long getMaxHoldMs() {
+        return maxHoldMs;
+    }
+
+    public long getLeakSuspects() {
+        return leakSuspects;
+    }
+}
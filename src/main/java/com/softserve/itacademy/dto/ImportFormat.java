@@ -0,0 +1,15 @@
+package com.softserve.itacademy.dto;
+
+public enum ImportFormat {
+    CSV, NDJSON;
+
+    public static ImportFormat fromFileName(String fileName) {
+        if (fileName != null) {
+            String name = fileName.toLowerCase();
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+                return NDJSON;
+            }
+        }
+        return CSV;
+    }
+}
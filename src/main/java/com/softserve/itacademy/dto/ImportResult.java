@@ -0,0 +1,52 @@
+package com.softserve.itacademy.dto;
+
+public final class ImportResult {
+    public enum Status {
+        RUNNING, FINISHED, FAILED
+    }
+
+    private final String importId;
+    private final Status status;
+    private final long total;
+    private final long imported;
+    private final long rejected;
+
+    public ImportResult(String importId, Status status, long total, long imported, long rejected) {
+        this.importId = importId;
+        this.status = status;
+        this.total = total;
+        this.imported = imported;
+        this.rejected = rejected;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult {" +
+                "importId = '" + importId + '\'' +
+                ", status = " + status +
+                ", total = " + total +
+                ", imported = " + imported +
+                ", rejected = " + rejected +
+                "} ";
+    }
+}
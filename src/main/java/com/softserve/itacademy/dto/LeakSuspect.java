@@ -0,0 +1,33 @@
+package com.softserve.itacademy.dto;
+
+import java.time.LocalDateTime;
+
+public final class LeakSuspect {
+    private final LocalDateTime detectedAt;
+    private final String endpoint;
+    private final String uri;
+    private final int openConnections;
+
+    public LeakSuspect(LocalDateTime detectedAt, String endpoint, String uri, int openConnections) {
+        this.detectedAt = detectedAt;
+        this.endpoint = endpoint;
+        this.uri = uri;
+        this.openConnections = openConnections;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public int getOpenConnections() {
+        return openConnections;
+    }
+}
@@ -0,0 +1,50 @@
+package com.softserve.itacademy.dto;
+
+public final class PoolStatus {
+    private final String name;
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int awaiting;
+    private final int maximumPoolSize;
+    private final int minimumIdle;
+
+    public PoolStatus(String name, int active, int idle, int total, int awaiting,
+                      int maximumPoolSize, int minimumIdle) {
+        this.name = name;
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.awaiting = awaiting;
+        this.maximumPoolSize = maximumPoolSize;
+        this.minimumIdle = minimumIdle;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getAwaiting() {
+        return awaiting;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+}
@@ -0,0 +1,60 @@
+package com.softserve.itacademy.dto;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@EqualsAndHashCode
+public class RecurringTaskDto {
+    @NotBlank(message = "The 'name' cannot be empty")
+    private String name;
+
+    @NotNull
+    private String priority;
+
+    @NotNull(message = "The first due date must be set")
+    @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm")
+    private LocalDateTime startsAt;
+
+    @Min(value = 1, message = "The period must be at least one day")
+    private int periodDays = 7;
+
+    public RecurringTaskDto() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public int getPeriodDays() {
+        return periodDays;
+    }
+
+    public void setPeriodDays(int periodDays) {
+        this.periodDays = periodDays;
+    }
+}
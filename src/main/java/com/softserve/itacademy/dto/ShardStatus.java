@@ -0,0 +1,39 @@
+package com.softserve.itacademy.dto;
+
+import java.util.List;
+
+public final class ShardStatus {
+    private final String name;
+    private final int buckets;
+    private final List<Integer> movingBuckets;
+    private final long todos;
+    private final long tasks;
+
+    public ShardStatus(String name, int buckets, List<Integer> movingBuckets, long todos, long tasks) {
+        this.name = name;
+        this.buckets = buckets;
+        this.movingBuckets = movingBuckets;
+        this.todos = todos;
+        this.tasks = tasks;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public List<Integer> getMovingBuckets() {
+        return movingBuckets;
+    }
+
+    public long getTodos() {
+        return todos;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+}
@@ -0,0 +1,56 @@
+package com.softserve.itacademy.dto;
+
+public final class SlowQuery {
+    private final String fingerprint;
+    private final long executions;
+    private final long slowExecutions;
+    private final double meanMs;
+    private final double maxMs;
+    private final String origin;
+    private final String endpoint;
+    private final String binds;
+
+    public SlowQuery(String fingerprint, long executions, long slowExecutions, double meanMs, double maxMs,
+                     String origin, String endpoint, String binds) {
+        this.fingerprint = fingerprint;
+        this.executions = executions;
+        this.slowExecutions = slowExecutions;
+        this.meanMs = meanMs;
+        this.maxMs = maxMs;
+        this.origin = origin;
+        this.endpoint = endpoint;
+        this.binds = binds;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public long getSlowExecutions() {
+        return slowExecutions;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getBinds() {
+        return binds;
+    }
+}
@@ -0,0 +1,73 @@
+package com.softserve.itacademy.dto;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityType;
+
+import java.util.List;
+
+/**
+ * A change since the client's watermark. Created and updated To-Dos and tasks carry their
+ * current state; a deleted To-Do or task, or a membership the client lost, is a tombstone
+ * without data. Deleting a To-Do deletes its tasks, which get no tombstones of their own.
+ * A To-Do that is new to the client comes with all of its tasks.
+ */
+public final class SyncChange {
+    private final long seq;
+    private final EntityType entityType;
+    private final ChangeType changeType;
+    private final long entityId;
+    private final Long todoId;
+    private final Long userId;
+    private final TodoView todo;
+    private final TaskView task;
+    private final List<TaskView> tasks;
+
+    public SyncChange(long seq, EntityType entityType, ChangeType changeType, long entityId, Long todoId, Long userId,
+                      TodoView todo, TaskView task, List<TaskView> tasks) {
+        this.seq = seq;
+        this.entityType = entityType;
+        this.changeType = changeType;
+        this.entityId = entityId;
+        this.todoId = todoId;
+        this.userId = userId;
+        this.todo = todo;
+        this.task = task;
+        this.tasks = tasks;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public TodoView getTodo() {
+        return todo;
+    }
+
+    public TaskView getTask() {
+        return task;
+    }
+
+    public List<TaskView> getTasks() {
+        return tasks;
+    }
+}
@@ -0,0 +1,31 @@
+package com.softserve.itacademy.dto;
+
+import java.util.List;
+
+/**
+ * {@code next} is the watermark for the following request, to be passed back as is; while
+ * {@code hasMore} is set the client should ask again right away.
+ */
+public final class SyncPage {
+    private final List<SyncChange> changes;
+    private final String next;
+    private final boolean hasMore;
+
+    public SyncPage(List<SyncChange> changes, String next, boolean hasMore) {
+        this.changes = changes;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    public List<SyncChange> getChanges() {
+        return changes;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
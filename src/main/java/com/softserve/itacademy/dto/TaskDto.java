@@ -1,9 +1,11 @@
 package com.softserve.itacademy.dto;
 
 import lombok.EqualsAndHashCode;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 
 @EqualsAndHashCode
 public class TaskDto {
@@ -15,6 +17,9 @@ public class TaskDto {
     @NotNull
     private String priority;
 
+    @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm")
+    private LocalDateTime dueAt;
+
     @NotNull
     private long todoId;
 
@@ -24,10 +29,11 @@ public class TaskDto {
     public TaskDto() {
     }
 
-    public TaskDto(long id, String name, String priority, long todoId, long stateId) {
+    public TaskDto(long id, String name, String priority, LocalDateTime dueAt, long todoId, long stateId) {
         this.id = id;
         this.name = name;
         this.priority = priority;
+        this.dueAt = dueAt;
         this.todoId = todoId;
         this.stateId = stateId;
     }
@@ -56,6 +62,14 @@ public class TaskDto {
         this.priority = priority;
     }
 
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+
     public long getTodoId() {
         return todoId;
     }
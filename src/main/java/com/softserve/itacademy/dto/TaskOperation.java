@@ -0,0 +1,81 @@
+package com.softserve.itacademy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One step of a task batch. {@code id} names the task to update or delete. An update replaces
+ * name, priority and due date, and keeps the state unless {@code stateId} is given; a created
+ * task starts in the initial state unless {@code stateId} is given.
+ */
+public class TaskOperation {
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    private Type type;
+    private Long id;
+    private String name;
+    private String priority;
+    private LocalDateTime dueAt;
+    private Long stateId;
+
+    public TaskOperation() {
+    }
+
+    public TaskOperation(Type type, Long id, String name, String priority, LocalDateTime dueAt, Long stateId) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.priority = priority;
+        this.dueAt = dueAt;
+        this.stateId = stateId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    public Long getStateId() {
+        return stateId;
+    }
+
+    public void setStateId(Long stateId) {
+        this.stateId = stateId;
+    }
+}
@@ -0,0 +1,46 @@
+package com.softserve.itacademy.dto;
+
+/**
+ * Outcome of the operation at {@code index} of a batch. {@code id} is the id of the task it
+ * worked on, for a create the new one. {@code SKIPPED} operations were valid but not applied
+ * because another operation of an all-or-nothing batch failed.
+ */
+public final class TaskOperationResult {
+    public enum Status {
+        APPLIED, FAILED, SKIPPED
+    }
+
+    private final int index;
+    private final TaskOperation.Type type;
+    private final Long id;
+    private final Status status;
+    private final String message;
+
+    public TaskOperationResult(int index, TaskOperation.Type type, Long id, Status status, String message) {
+        this.index = index;
+        this.type = type;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public TaskOperation.Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
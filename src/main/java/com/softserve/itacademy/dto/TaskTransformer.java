@@ -11,6 +11,7 @@ public class TaskTransformer {
                 task.getId(),
                 task.getName(),
                 task.getPriority().toString(),
+                task.getDueAt(),
                 task.getTodo().getId(),
                 task.getState().getId()
         );
@@ -21,6 +22,7 @@ public class TaskTransformer {
         task.setId(taskDto.getId());
         task.setName(taskDto.getName());
         task.setPriority(Priority.valueOf(taskDto.getPriority()));
+        task.setDueAt(taskDto.getDueAt());
         task.setTodo(todo);
         task.setState(state);
         return task;
@@ -0,0 +1,41 @@
+package com.softserve.itacademy.dto;
+
+import com.softserve.itacademy.model.Priority;
+
+import java.time.LocalDateTime;
+
+public final class TaskView {
+    private final long id;
+    private final String name;
+    private final Priority priority;
+    private final String stateName;
+    private final LocalDateTime dueAt;
+
+    public TaskView(long id, String name, Priority priority, String stateName, LocalDateTime dueAt) {
+        this.id = id;
+        this.name = name;
+        this.priority = priority;
+        this.stateName = stateName;
+        this.dueAt = dueAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public String getStateName() {
+        return stateName;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+}
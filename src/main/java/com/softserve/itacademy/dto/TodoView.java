@@ -0,0 +1,54 @@
+package com.softserve.itacademy.dto;
+
+import java.time.LocalDateTime;
+
+public final class TodoView {
+    private final long id;
+    private final String title;
+    private final LocalDateTime createdAt;
+    private final Long ownerId;
+    private final String ownerFirstName;
+    private final String ownerLastName;
+
+    public TodoView(long id, String title, LocalDateTime createdAt,
+                    Long ownerId, String ownerFirstName, String ownerLastName) {
+        this.id = id;
+        this.title = title;
+        this.createdAt = createdAt;
+        this.ownerId = ownerId;
+        this.ownerFirstName = ownerFirstName;
+        this.ownerLastName = ownerLastName;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * {@code null} for an archived To-Do whose owner has been deleted since.
+     */
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public String getOwnerName() {
+        return ownerId == null || ownerFirstName == null ? null : ownerFirstName + " " + ownerLastName;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoView {" +
+                "id = " + id +
+                ", title = '" + title + '\'' +
+                ", ownerId = " + ownerId +
+                "} ";
+    }
+}
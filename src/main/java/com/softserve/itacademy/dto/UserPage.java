@@ -0,0 +1,33 @@
+package com.softserve.itacademy.dto;
+
+import com.softserve.itacademy.model.User;
+
+import java.util.List;
+
+/**
+ * {@code next} is the cursor of the following page, {@code null} on the last one.
+ * {@code approximateTotal} comes from a periodically refreshed counter, not from this query.
+ */
+public final class UserPage {
+    private final List<User> users;
+    private final String next;
+    private final long approximateTotal;
+
+    public UserPage(List<User> users, String next, long approximateTotal) {
+        this.users = users;
+        this.next = next;
+        this.approximateTotal = approximateTotal;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public long getApproximateTotal() {
+        return approximateTotal;
+    }
+}
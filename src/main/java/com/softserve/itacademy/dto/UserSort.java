@@ -0,0 +1,8 @@
+package com.softserve.itacademy.dto;
+
+/**
+ * Orders of the user directory: by last name, first name, id, or by e-mail.
+ */
+public enum UserSort {
+    NAME, EMAIL
+}
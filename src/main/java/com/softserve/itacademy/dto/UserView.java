@@ -0,0 +1,31 @@
+package com.softserve.itacademy.dto;
+
+public final class UserView {
+    private final long id;
+    private final String firstName;
+    private final String lastName;
+    private final boolean collaborator;
+
+    public UserView(long id, String firstName, String lastName, boolean collaborator) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.collaborator = collaborator;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public boolean isCollaborator() {
+        return collaborator;
+    }
+}
@@ -0,0 +1,5 @@
+package com.softserve.itacademy.event;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
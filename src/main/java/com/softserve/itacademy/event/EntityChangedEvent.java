@@ -0,0 +1,62 @@
+package com.softserve.itacademy.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the service layer after every write. {@code todoId} is the to-do the change
+ * belongs to, {@code userId} the user it relates to: the owner for to-dos and the added or
+ * removed user for collaborators.
+ */
+public class EntityChangedEvent {
+    private final EntityType entityType;
+    private final ChangeType changeType;
+    private final long entityId;
+    private final Long todoId;
+    private final Long userId;
+    private final LocalDateTime occurredAt;
+
+    public EntityChangedEvent(EntityType entityType, ChangeType changeType, long entityId, Long todoId, Long userId) {
+        this.entityType = entityType;
+        this.changeType = changeType;
+        this.entityId = entityId;
+        this.todoId = todoId;
+        this.userId = userId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangedEvent {" +
+                "entityType = " + entityType +
+                ", changeType = " + changeType +
+                ", entityId = " + entityId +
+                ", todoId = " + todoId +
+                ", userId = " + userId +
+                ", occurredAt = " + occurredAt +
+                "} ";
+    }
+}
@@ -0,0 +1,5 @@
+package com.softserve.itacademy.event;
+
+public enum EntityType {
+    TASK, TODO, COLLABORATOR, USER, ROLE, STATE
+}
@@ -0,0 +1,7 @@
+package com.softserve.itacademy.exception;
+
+public class InvalidMoveException extends RuntimeException {
+    public InvalidMoveException(String message) {
+        super(message);
+    }
+}
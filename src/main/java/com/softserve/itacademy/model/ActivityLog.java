@@ -0,0 +1,98 @@
+package com.softserve.itacademy.model;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityType;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "activity_log", indexes = @Index(name = "activity_log_todo_id_idx", columnList = "todo_id"))
+public class ActivityLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "actor", nullable = false)
+    private String actor;
+
+    @Column(name = "action", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ChangeType action;
+
+    @Column(name = "entity_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private long entityId;
+
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    public ActivityLog() {
+    }
+
+    public ActivityLog(LocalDateTime occurredAt, String actor, ChangeType action, EntityType entityType,
+                       long entityId, Long todoId, Long userId) {
+        this.occurredAt = occurredAt;
+        this.actor = actor;
+        this.action = action;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.todoId = todoId;
+        this.userId = userId;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public ChangeType getAction() {
+        return action;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String toString() {
+        return "ActivityLog {" +
+                "id = " + id +
+                ", occurredAt = " + occurredAt +
+                ", actor = '" + actor + '\'' +
+                ", action = " + action +
+                ", entityType = " + entityType +
+                ", entityId = " + entityId +
+                ", todoId = " + todoId +
+                ", userId = " + userId +
+                "} ";
+    }
+}
@@ -0,0 +1,70 @@
+package com.softserve.itacademy.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "tasks_archive", indexes = @Index(name = "tasks_archive_todo_id_idx", columnList = "todo_id"))
+public class ArchivedTask {
+    @Id
+    private long id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "priority")
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    @Column(name = "rank", nullable = false)
+    private String rank;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Column(name = "todo_id", nullable = false)
+    private long todoId;
+
+    @Column(name = "state_id")
+    private Long stateId;
+
+    public ArchivedTask() {
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public long getTodoId() {
+        return todoId;
+    }
+
+    public Long getStateId() {
+        return stateId;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedTask {" +
+                "id = " + id +
+                ", name = '" + name + '\'' +
+                ", todoId = " + todoId +
+                "} ";
+    }
+}
@@ -0,0 +1,70 @@
+package com.softserve.itacademy.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A completed To-Do moved out of {@code todos} by the archiver. Owner and collaborators are kept
+ * as plain ids so that the archive tables hold no foreign keys into the hot tables.
+ */
+@Entity
+@Table(name = "todos_archive", indexes = @Index(name = "todos_archive_owner_id_idx", columnList = "owner_id"))
+public class ArchivedToDo {
+    @Id
+    private long id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "todo_collaborator_archive", joinColumns = @JoinColumn(name = "todo_id"),
+            indexes = @Index(name = "todo_collaborator_archive_collaborator_id_idx", columnList = "collaborator_id"))
+    @Column(name = "collaborator_id")
+    private Set<Long> collaboratorIds;
+
+    public ArchivedToDo() {
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public Set<Long> getCollaboratorIds() {
+        return collaboratorIds;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedToDo {" +
+                "id = " + id +
+                ", title = '" + title + '\'' +
+                ", archivedAt = " + archivedAt +
+                "} ";
+    }
+}
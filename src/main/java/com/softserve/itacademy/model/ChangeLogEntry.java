@@ -0,0 +1,113 @@
+package com.softserve.itacademy.model;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityType;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One row per change of a To-Do, task or collaborator membership and user who could see it
+ * when it was made. {@code seq} is taken from the recipient's {@link ChangeLogHead} at commit,
+ * so it only grows in commit order for that recipient and serves as the watermark of the
+ * delta-sync API. The key {@code (recipient_id, seq)} is the index a sync reads.
+ */
+@Entity
+@IdClass(ChangeLogEntry.Key.class)
+@Table(name = "change_log")
+public class ChangeLogEntry {
+    @Id
+    @Column(name = "recipient_id")
+    private long recipientId;
+
+    @Id
+    @Column(name = "seq")
+    private long seq;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "entity_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+
+    @Column(name = "change_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ChangeType changeType;
+
+    @Column(name = "entity_id", nullable = false)
+    private long entityId;
+
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    public ChangeLogEntry() {
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getRecipientId() {
+        return recipientId;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public static class Key implements Serializable {
+        private long recipientId;
+        private long seq;
+
+        public Key() {
+        }
+
+        public Key(long recipientId, long seq) {
+            this.recipientId = recipientId;
+            this.seq = seq;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return recipientId == key.recipientId && seq == key.seq;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(recipientId, seq);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.softserve.itacademy.model;
+
+import javax.persistence.*;
+
+/**
+ * The last {@code change_log} sequence number handed out to a recipient. Writers advance the
+ * heads of their recipients right before commit and keep them locked until then, so a
+ * recipient's sequence numbers become visible in the order they were taken.
+ */
+@Entity
+@Table(name = "change_log_head")
+public class ChangeLogHead {
+    @Id
+    @Column(name = "recipient_id")
+    private long recipientId;
+
+    @Column(name = "seq", nullable = false)
+    private long seq;
+
+    public ChangeLogHead() {
+    }
+
+    public long getRecipientId() {
+        return recipientId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+}
@@ -0,0 +1,97 @@
+package com.softserve.itacademy.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Rule that creates a task named {@code name} every {@code periodDays} days. {@code nextAt} is
+ * the due date of the first occurrence that has not been created as a {@link Task} yet.
+ */
+@Entity
+@Table(name = "recurring_tasks", indexes = {
+        @Index(name = "recurring_tasks_next_at_idx", columnList = "next_at"),
+        @Index(name = "recurring_tasks_todo_id_idx", columnList = "todo_id")})
+public class RecurringTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "priority")
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    @Column(name = "period_days", nullable = false)
+    private int periodDays;
+
+    @Column(name = "next_at", nullable = false)
+    private LocalDateTime nextAt;
+
+    @ManyToOne
+    @JoinColumn(name = "todo_id", nullable = false)
+    private ToDo todo;
+
+    public RecurringTask() {
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public int getPeriodDays() {
+        return periodDays;
+    }
+
+    public void setPeriodDays(int periodDays) {
+        this.periodDays = periodDays;
+    }
+
+    public LocalDateTime getNextAt() {
+        return nextAt;
+    }
+
+    public void setNextAt(LocalDateTime nextAt) {
+        this.nextAt = nextAt;
+    }
+
+    public ToDo getTodo() {
+        return todo;
+    }
+
+    public void setTodo(ToDo todo) {
+        this.todo = todo;
+    }
+
+    @Override
+    public String toString() {
+        return "RecurringTask {" +
+                "id = " + id +
+                ", name = '" + name + '\'' +
+                ", priority = " + priority +
+                ", periodDays = " + periodDays +
+                ", nextAt = " + nextAt +
+                "} ";
+    }
+}
@@ -0,0 +1,36 @@
+package com.softserve.itacademy.model;
+
+import javax.persistence.*;
+
+/**
+ * Shard a bucket of users is stored on. Buckets without a row are stored on the directory shard.
+ * {@code moving} is set while the rebalancer copies the bucket to another shard.
+ */
+@Entity
+@Table(name = "shard_buckets")
+public class ShardBucket {
+    @Id
+    @Column(name = "bucket")
+    private int bucket;
+
+    @Column(name = "shard", nullable = false)
+    private String shard;
+
+    @Column(name = "moving", nullable = false)
+    private boolean moving;
+
+    public ShardBucket() {
+    }
+
+    public int getBucket() {
+        return bucket;
+    }
+
+    public String getShard() {
+        return shard;
+    }
+
+    public boolean isMoving() {
+        return moving;
+    }
+}
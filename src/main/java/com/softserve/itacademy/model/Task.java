@@ -3,10 +3,15 @@ package com.softserve.itacademy.model;
 import lombok.EqualsAndHashCode;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @EqualsAndHashCode
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "tasks_todo_id_rank_idx", columnList = "todo_id, rank"),
+        @Index(name = "tasks_due_at_idx", columnList = "due_at")},
+        uniqueConstraints = @UniqueConstraint(name = "tasks_recurrence_id_due_at_key",
+                columnNames = {"recurrence_id", "due_at"}))
 public class Task {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +24,22 @@ public class Task {
     @Enumerated(EnumType.STRING)
     private Priority priority;
 
+    @Column(name = "rank", nullable = false)
+    private String rank;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+
+    /**
+     * The due time the reminder was last sent for. Only the reminder scheduler writes it, with a
+     * conditional update, so the entity never overwrites it.
+     */
+    @Column(name = "reminded_for", insertable = false, updatable = false)
+    private LocalDateTime remindedFor;
+
     @ManyToOne
     @JoinColumn(name = "todo_id")
     private ToDo todo;
@@ -54,6 +75,30 @@ public class Task {
         this.priority = priority;
     }
 
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    public Long getRecurrenceId() {
+        return recurrenceId;
+    }
+
+    public void setRecurrenceId(Long recurrenceId) {
+        this.recurrenceId = recurrenceId;
+    }
+
     public ToDo getTodo() {
         return todo;
     }
@@ -76,6 +121,7 @@ public class Task {
                 "id = " + id +
                 ", name = '" + name + '\'' +
                 ", priority = " + priority +
+                ", dueAt = " + dueAt +
                 ", todo = " + todo +
                 ", state = " + state +
                 "} ";
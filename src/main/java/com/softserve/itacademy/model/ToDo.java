@@ -1,5 +1,7 @@
 package com.softserve.itacademy.model;
 
+import com.softserve.itacademy.dto.TodoView;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -9,7 +11,14 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = @Index(name = "todos_owner_id_created_at_idx", columnList = "owner_id, created_at"))
+@SqlResultSetMapping(name = "TodoView", classes = @ConstructorResult(targetClass = TodoView.class, columns = {
+        @ColumnResult(name = "id", type = Long.class),
+        @ColumnResult(name = "title", type = String.class),
+        @ColumnResult(name = "created_at", type = LocalDateTime.class),
+        @ColumnResult(name = "owner_id", type = Long.class),
+        @ColumnResult(name = "first_name", type = String.class),
+        @ColumnResult(name = "last_name", type = String.class)}))
 public class ToDo {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +31,9 @@ public class ToDo {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "restored_at", insertable = false, updatable = false)
+    private LocalDateTime restoredAt;
+
     @ManyToOne
     @JoinColumn(name = "owner_id")
     private User owner;
@@ -29,10 +41,16 @@ public class ToDo {
     @OneToMany(mappedBy = "todo", cascade = CascadeType.REMOVE)
     private List<Task> tasks;
 
+    @OneToMany(mappedBy = "todo", cascade = CascadeType.REMOVE)
+    private List<RecurringTask> recurringTasks;
+
     @ManyToMany
     @JoinTable(name = "todo_collaborator",
             joinColumns = @JoinColumn(name = "todo_id"),
-            inverseJoinColumns = @JoinColumn(name = "collaborator_id"))
+            inverseJoinColumns = @JoinColumn(name = "collaborator_id"),
+            indexes = {
+                    @Index(name = "todo_collaborator_collaborator_id_todo_id_idx", columnList = "collaborator_id, todo_id"),
+                    @Index(name = "todo_collaborator_todo_id_collaborator_id_idx", columnList = "todo_id, collaborator_id")})
     private List<User> collaborators;
 
     public ToDo() {
@@ -62,6 +80,10 @@ public class ToDo {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getRestoredAt() {
+        return restoredAt;
+    }
+
     public User getOwner() {
         return owner;
     }
@@ -78,6 +100,14 @@ public class ToDo {
         this.tasks = tasks;
     }
 
+    public List<RecurringTask> getRecurringTasks() {
+        return recurringTasks;
+    }
+
+    public void setRecurringTasks(List<RecurringTask> recurringTasks) {
+        this.recurringTasks = recurringTasks;
+    }
+
     public List<User> getCollaborators() {
         return collaborators;
     }
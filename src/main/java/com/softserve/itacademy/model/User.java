@@ -7,7 +7,8 @@ import javax.validation.constraints.Pattern;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "users_last_name_first_name_id_idx",
+        columnList = "last_name, first_name, id"))
 @EqualsAndHashCode
 public class User  {
     @Id
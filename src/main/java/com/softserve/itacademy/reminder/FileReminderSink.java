@@ -0,0 +1,36 @@
+package com.softserve.itacademy.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Appends one tab-separated line per reminder: fired at, due at, task id, To-Do id, task name.
+ */
+public class FileReminderSink implements ReminderSink {
+    private final Path file;
+    private final Logger logger = LoggerFactory.getLogger(FileReminderSink.class);
+
+    public FileReminderSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void remind(Reminder reminder) {
+        String line = LocalDateTime.now() + "\t" + reminder.getDueAt() + "\t" + reminder.getTaskId() + "\t"
+                + reminder.getTodoId() + "\t" + reminder.getTaskName().replaceAll("[\\t\\r\\n]", " ")
+                + System.lineSeparator();
+        try {
+            Files.write(file, line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Reminder {} could not be written to '{}': {}", reminder, file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.softserve.itacademy.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LogReminderSink implements ReminderSink {
+    private final Logger logger = LoggerFactory.getLogger(LogReminderSink.class);
+
+    @Override
+    public void remind(Reminder reminder) {
+        logger.info("Task '{}' (id {}) in To-Do with id '{}' is due at {}.", reminder.getTaskName(),
+                reminder.getTaskId(), reminder.getTodoId(), reminder.getDueAt());
+    }
+}
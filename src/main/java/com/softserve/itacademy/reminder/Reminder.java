@@ -0,0 +1,43 @@
+package com.softserve.itacademy.reminder;
+
+import java.time.LocalDateTime;
+
+public final class Reminder {
+    private final long taskId;
+    private final long todoId;
+    private final String taskName;
+    private final LocalDateTime dueAt;
+
+    public Reminder(long taskId, long todoId, String taskName, LocalDateTime dueAt) {
+        this.taskId = taskId;
+        this.todoId = todoId;
+        this.taskName = taskName;
+        this.dueAt = dueAt;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public long getTodoId() {
+        return todoId;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Reminder {" +
+                "taskId = " + taskId +
+                ", todoId = " + todoId +
+                ", taskName = '" + taskName + '\'' +
+                ", dueAt = " + dueAt +
+                "} ";
+    }
+}
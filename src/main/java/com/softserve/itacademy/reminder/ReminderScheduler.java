@@ -0,0 +1,230 @@
+package com.softserve.itacademy.reminder;
+
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.shard.EntityKind;
+import com.softserve.itacademy.shard.ShardDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires a reminder {@code reminder.lead-minutes} before a task is due. Only reminders that fire
+ * within the next {@code reminder.window-ms} are held in memory: they are loaded by a range
+ * query on the {@code due_at} index and kept in a {@link TimingWheel} that a single thread
+ * advances every tick. Creating, updating or deleting a task re-arms its reminder after the
+ * transaction commits. After a restart, reminders that came due while the node was down are
+ * sent right away, as long as their task is not due yet.
+ * <p>
+ * Every node loads every reminder, so before one is handed to the {@link ReminderSink} it is
+ * claimed: a single update sets the task's {@code reminded_for} to its due time, provided the
+ * task still has that due time, is not done and was not reminded for it yet. Only the node whose
+ * update matched sends it, and the claim is committed before the sink is called, so a reminder
+ * is sent at most once even when it is armed on several nodes or a task was removed some other
+ * way. A task whose due time changes is re-armed on the node that wrote it, and can be reminded
+ * again for its new due time.
+ */
+@Component
+public class ReminderScheduler {
+    private static final String WINDOW_SQL = "select t.id, t.todo_id, t.name, t.due_at from tasks t " +
+            "left join states s on s.id = t.state_id " +
+            "where t.due_at >= ? and t.due_at < ? and (s.name is null or s.name <> ?)";
+    private static final String TODO_WINDOW_SQL = "select t.id, t.todo_id, t.name, t.due_at from tasks t " +
+            "left join states s on s.id = t.state_id " +
+            "where t.todo_id = ? and t.due_at >= ? and t.due_at < ? and (s.name is null or s.name <> ?)";
+    private static final String CLAIM_SQL = "update tasks set reminded_for = due_at " +
+            "where id = ? and due_at = ? and (reminded_for is null or reminded_for <> due_at) " +
+            "and (state_id is null or state_id not in (select id from states where name = ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReminderSink reminderSink;
+    private final long tickMs;
+    private final int wheelSize;
+    private final long windowMs;
+    private final long leadMs;
+    private final String doneState;
+    private final Map<Long, TimingWheel.Entry<Reminder>> armed = new ConcurrentHashMap<>();
+    private final Counter firedCounter;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+    private ScheduledExecutorService executor;
+    private TimingWheel<Reminder> wheel;
+    private long loadedUntilMs;
+
+    public ReminderScheduler(JdbcTemplate jdbcTemplate, ReminderSink reminderSink, MeterRegistry meterRegistry,
+                             ObjectProvider<ShardDirectory> shardDirectory,
+                             @Value("${reminder.tick-ms:1000}") long tickMs,
+                             @Value("${reminder.wheel-size:60}") int wheelSize,
+                             @Value("${reminder.window-ms:3600000}") long windowMs,
+                             @Value("${reminder.lead-minutes:15}") long leadMinutes,
+                             @Value("${archive.done-state:Done}") String doneState) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reminderSink = reminderSink;
+        this.shardDirectory = shardDirectory;
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.windowMs = windowMs;
+        this.leadMs = TimeUnit.MINUTES.toMillis(leadMinutes);
+        this.doneState = doneState;
+        this.firedCounter = Counter.builder("reminders.fired").register(meterRegistry);
+        Gauge.builder("reminders.armed", armed, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long now = System.currentTimeMillis();
+        wheel = new TimingWheel<>(tickMs, wheelSize, now);
+        // the first load also picks up tasks that are not due yet but whose reminder should have
+        // fired while this node was down; arm() fires those at once
+        loadedUntilMs = now - leadMs;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::loadWindow, 0, Math.max(windowMs / 2, tickMs), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public void rearm(Task task) {
+        long taskId = task.getId();
+        LocalDateTime dueAt = task.getDueAt();
+        boolean done = task.getState() != null && doneState.equals(task.getState().getName());
+        Reminder reminder = dueAt == null || done || task.getTodo() == null ? null
+                : new Reminder(taskId, task.getTodo().getId(), task.getName(), dueAt);
+        afterCommit(() -> {
+            disarm(taskId);
+            if (reminder != null) {
+                arm(reminder);
+            }
+        });
+    }
+
+    /**
+     * Re-arms the reminders of all tasks of a To-Do written past the services, such as one
+     * restored from the archive, once the transaction commits.
+     */
+    public void rearmTodo(long todoId) {
+        afterCommit(() -> {
+            try {
+                ShardDirectory.onShardOf(shardDirectory, EntityKind.TODO, todoId, () -> {
+                    jdbcTemplate.query(TODO_WINDOW_SQL, rs -> {
+                        arm(new Reminder(rs.getLong("id"), rs.getLong("todo_id"), rs.getString("name"),
+                                rs.getTimestamp("due_at").toLocalDateTime()));
+                    }, todoId, new Timestamp(System.currentTimeMillis()), new Timestamp(loadedUntilMs + leadMs),
+                            doneState);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                logger.error("Reminders of To-Do {} could not be loaded: {}", todoId, e.getMessage());
+            }
+        });
+    }
+
+    public void cancel(long taskId) {
+        afterCommit(() -> disarm(taskId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(action);
+                }
+            });
+        } else {
+            executor.execute(action);
+        }
+    }
+
+    private void loadWindow() {
+        long fromMs = loadedUntilMs;
+        long untilMs = System.currentTimeMillis() + windowMs;
+        loadedUntilMs = untilMs;
+        try {
+            ShardDirectory.forEachShard(shardDirectory, () -> jdbcTemplate.query(WINDOW_SQL, rs -> {
+                arm(new Reminder(rs.getLong("id"), rs.getLong("todo_id"), rs.getString("name"),
+                        rs.getTimestamp("due_at").toLocalDateTime()));
+            }, new Timestamp(fromMs + leadMs), new Timestamp(untilMs + leadMs), doneState));
+        } catch (RuntimeException e) {
+            loadedUntilMs = fromMs;
+            logger.error("Reminders could not be loaded: {}", e.getMessage());
+        }
+    }
+
+    private void tick() {
+        try {
+            wheel.advance(System.currentTimeMillis(), this::fire);
+        } catch (RuntimeException e) {
+            logger.error("Reminder tick failed: {}", e.getMessage());
+        }
+    }
+
+    private void arm(Reminder reminder) {
+        long dueMs = reminder.getDueAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long fireAtMs = dueMs - leadMs;
+        if (fireAtMs >= loadedUntilMs) {
+            return;
+        }
+        TimingWheel.Entry<Reminder> entry = new TimingWheel.Entry<>(fireAtMs, reminder);
+        TimingWheel.Entry<Reminder> previous = armed.put(reminder.getTaskId(), entry);
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (!wheel.add(entry)) {
+            if (dueMs >= System.currentTimeMillis()) {
+                fire(entry);
+            } else {
+                armed.remove(reminder.getTaskId(), entry);
+            }
+        }
+    }
+
+    private void disarm(long taskId) {
+        TimingWheel.Entry<Reminder> previous = armed.remove(taskId);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void fire(TimingWheel.Entry<Reminder> entry) {
+        Reminder reminder = entry.getValue();
+        armed.remove(reminder.getTaskId(), entry);
+        try {
+            int claimed = ShardDirectory.onShardOf(shardDirectory, EntityKind.TASK, reminder.getTaskId(),
+                    () -> jdbcTemplate.update(CLAIM_SQL, reminder.getTaskId(), Timestamp.valueOf(reminder.getDueAt()),
+                            doneState));
+            if (claimed == 0) {
+                return;
+            }
+            reminderSink.remind(reminder);
+            firedCounter.increment();
+        } catch (RuntimeException e) {
+            logger.error("Reminder {} failed: {}", reminder, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.softserve.itacademy.reminder;
+
+/**
+ * Receives reminders as they come due. Called on the scheduler thread, so implementations
+ * should hand slow work off rather than block.
+ */
+public interface ReminderSink {
+    void remind(Reminder reminder);
+}
@@ -0,0 +1,114 @@
+package com.softserve.itacademy.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. The innermost wheel has {@code wheelSize} buckets of
+ * {@code tickMs} each; a deadline beyond its span goes to an overflow wheel whose tick is the
+ * whole span of the wheel below, created on demand. When an overflow bucket comes due its
+ * entries are re-added from the innermost wheel and so cascade into finer buckets. Adding and
+ * advancing are O(1) per entry and tick, independent of how many entries are pending.
+ * Entries fire at the start of the innermost tick that contains their deadline.
+ * <p>
+ * Not thread-safe; {@link ReminderScheduler} confines it to one thread.
+ */
+class TimingWheel<T> {
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final List<List<Entry<T>>> buckets;
+    private final TimingWheel<T> root;
+    private long currentTime;
+    private TimingWheel<T> overflow;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this(tickMs, wheelSize, startMs, null);
+    }
+
+    private TimingWheel(long tickMs, int wheelSize, long startMs, TimingWheel<T> root) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        this.root = root == null ? this : root;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Returns {@code false} if the entry is already due and was not added.
+     */
+    boolean add(Entry<T> entry) {
+        if (entry.cancelled) {
+            return true;
+        }
+        if (entry.deadlineMs < currentTime + tickMs) {
+            return false;
+        }
+        if (entry.deadlineMs < currentTime + interval) {
+            buckets.get((int) ((entry.deadlineMs / tickMs) % wheelSize)).add(entry);
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel<>(interval, wheelSize, currentTime, root);
+        }
+        return overflow.add(entry);
+    }
+
+    /**
+     * Moves the clock to {@code nowMs} and hands every entry that came due to {@code fire}.
+     */
+    void advance(long nowMs, Consumer<Entry<T>> fire) {
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+            flush(buckets.get((int) ((currentTime / tickMs) % wheelSize)), fire);
+            if (overflow != null) {
+                overflow.advance(currentTime, fire);
+            }
+        }
+    }
+
+    private void flush(List<Entry<T>> bucket, Consumer<Entry<T>> fire) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<T> entry : entries) {
+            if (!entry.cancelled && !root.add(entry)) {
+                fire.accept(entry);
+            }
+        }
+    }
+
+    static final class Entry<T> {
+        private final long deadlineMs;
+        private final T value;
+        private boolean cancelled;
+
+        Entry(long deadlineMs, T value) {
+            this.deadlineMs = deadlineMs;
+            this.value = value;
+        }
+
+        long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.model.ActivityLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
+
+    @Query(value = "select * from activity_log order by id desc limit ?1", nativeQuery = true)
+    List<ActivityLog> getRecent(int limit);
+}
@@ -0,0 +1,17 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    @Query("select new com.softserve.itacademy.dto.TaskView(t.id, t.name, t.priority, s.name, t.dueAt) " +
+            "from ArchivedTask t, State s where s.id = t.stateId and t.todoId = ?1 order by t.rank")
+    List<TaskView> getViewsByTodoId(long todoId);
+}
@@ -0,0 +1,26 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.model.ArchivedToDo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The archive keeps the owner as a plain id, so the owner is left joined: a To-Do whose owner has
+ * been deleted is still listed, with empty owner fields.
+ */
+@Repository
+public interface ArchivedToDoRepository extends JpaRepository<ArchivedToDo, Long> {
+
+    @Query("select new com.softserve.itacademy.dto.TodoView(a.id, a.title, a.createdAt, o.id, o.firstName, o.lastName) " +
+            "from ArchivedToDo a left join User o on o.id = a.ownerId where a.id = ?1")
+    TodoView getViewById(long id);
+
+    @Query("select new com.softserve.itacademy.dto.TodoView(a.id, a.title, a.createdAt, o.id, o.firstName, o.lastName) " +
+            "from ArchivedToDo a left join User o on o.id = a.ownerId where (a.ownerId = ?1 or exists " +
+            "(select c from ArchivedToDo s join s.collaboratorIds c where s.id = a.id and c = ?1)) order by a.id")
+    List<TodoView> getViewsByUserId(long userId);
+}
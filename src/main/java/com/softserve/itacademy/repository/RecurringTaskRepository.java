@@ -0,0 +1,15 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.model.RecurringTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecurringTaskRepository extends JpaRepository<RecurringTask, Long> {
+
+    @Query(value = "select * from recurring_tasks where todo_id = ?1 order by id", nativeQuery = true)
+    List<RecurringTask> getByTodoId(long todoId);
+}
@@ -1,7 +1,9 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.dto.TaskView;
 import com.softserve.itacademy.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -10,6 +12,35 @@ import java.util.List;
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    @Query(value = "select * from tasks where todo_id = ?1", nativeQuery = true)
+    @Query(value = "select * from tasks where todo_id = ?1 order by rank", nativeQuery = true)
     List<Task> getByTodoId(long todoId);
+
+    /**
+     * Locks the To-Do row until the transaction ends. Every writer that derives a rank from its
+     * neighbours takes this lock first, so two of them cannot pick the same key.
+     */
+    @Query(value = "select id from todos where id = ?1 for update", nativeQuery = true)
+    Long lockByTodoId(long todoId);
+
+    @Query(value = "select max(rank) from tasks where todo_id = ?1", nativeQuery = true)
+    String getMaxRankByTodoId(long todoId);
+
+    @Modifying
+    @Query(value = "update tasks set rank = ?2 where id = ?1", nativeQuery = true)
+    int updateRank(long id, String rank);
+
+    @Query("select new com.softserve.itacademy.dto.TaskView(t.id, t.name, t.priority, s.name, t.dueAt) " +
+            "from Task t join t.state s where t.todo.id = ?1 order by t.rank")
+    List<TaskView> getViewsByTodoId(long todoId);
+
+    @Query("select new com.softserve.itacademy.dto.TaskView(t.id, t.name, t.priority, s.name, t.dueAt) " +
+            "from Task t join t.state s where t.todo.id = ?1 and t.id = ?2")
+    TaskView getViewByTodoId(long todoId, long id);
+
+    /**
+     * Id of the task ranked right before the given one, or {@code null} if it comes first.
+     */
+    @Query(value = "select p.id from tasks p join tasks t on t.todo_id = p.todo_id and p.rank < t.rank " +
+            "where p.todo_id = ?1 and t.id = ?2 order by p.rank desc limit 1", nativeQuery = true)
+    Long getPreviousIdByTodoId(long todoId, long id);
 }
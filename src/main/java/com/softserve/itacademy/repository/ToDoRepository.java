@@ -1,5 +1,6 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.dto.TodoView;
 import com.softserve.itacademy.model.ToDo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,10 +9,21 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ToDoRepository extends JpaRepository<ToDo, Long> {
+public interface ToDoRepository extends JpaRepository<ToDo, Long>, ToDoRepositoryCustom {
 
-    @Query(value = "select id, title, created_at, owner_id from todos where owner_id = ?1 union " +
-            "select id, title, created_at, owner_id from todos inner join todo_collaborator on id = todo_id and " +
-            "collaborator_id = ?1", nativeQuery = true)
+    @Query(value = "select id, title, created_at, restored_at, owner_id from todos where owner_id = ?1 union all " +
+            "select t.id, t.title, t.created_at, t.restored_at, t.owner_id from todo_collaborator tc " +
+            "join todos t on t.id = tc.todo_id where tc.collaborator_id = ?1 and t.owner_id <> ?1", nativeQuery = true)
     List<ToDo> getByUserId(long userId);
+
+    /**
+     * (collaborator id, To-Do id) pairs of the To-Dos the user owns.
+     */
+    @Query(value = "select tc.collaborator_id, tc.todo_id from todo_collaborator tc " +
+            "join todos t on t.id = tc.todo_id where t.owner_id = ?1", nativeQuery = true)
+    List<Object[]> getSharedByUserId(long userId);
+
+    @Query("select new com.softserve.itacademy.dto.TodoView(t.id, t.title, t.createdAt, o.id, o.firstName, o.lastName) " +
+            "from ToDo t join t.owner o where t.id = ?1")
+    TodoView getViewById(long id);
 }
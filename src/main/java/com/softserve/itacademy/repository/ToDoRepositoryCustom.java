@@ -0,0 +1,10 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dto.TodoView;
+
+import java.util.List;
+
+public interface ToDoRepositoryCustom {
+
+    List<TodoView> getViewsByUserId(long userId);
+}
@@ -0,0 +1,35 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dto.TodoView;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * To-Dos visible to a user as one UNION ALL of the owned and the shared ones. Shared To-Dos the
+ * user also owns are excluded from the second branch, so no de-duplication is needed and each
+ * branch runs off its own index. JPQL has no UNION, hence the native query with the
+ * {@code TodoView} result mapping declared on {@link com.softserve.itacademy.model.ToDo}.
+ */
+public class ToDoRepositoryImpl implements ToDoRepositoryCustom {
+    static final String VIEWS_BY_USER_ID_SQL =
+            "select t.id, t.title, t.created_at, o.id as owner_id, o.first_name, o.last_name " +
+            "from todos t join users o on o.id = t.owner_id where t.owner_id = ?1 " +
+            "union all " +
+            "select t.id, t.title, t.created_at, o.id, o.first_name, o.last_name " +
+            "from todo_collaborator tc join todos t on t.id = tc.todo_id join users o on o.id = t.owner_id " +
+            "where tc.collaborator_id = ?1 and t.owner_id <> ?1 " +
+            "order by id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TodoView> getViewsByUserId(long userId) {
+        return entityManager.createNativeQuery(VIEWS_BY_USER_ID_SQL, "TodoView")
+                .setParameter(1, userId)
+                .getResultList();
+    }
+}
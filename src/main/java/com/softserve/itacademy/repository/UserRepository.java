@@ -1,13 +1,50 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.dto.UserView;
 import com.softserve.itacademy.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query(value = "select * from users where email =?1", nativeQuery = true)
     User getUserByEmail(String email);
+
+    /**
+     * Replaces the password only if it is still {@code oldPassword}, so an upgraded hash never
+     * overwrites a password changed in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "update users set password = ?3 where id = ?1 and password = ?2", nativeQuery = true)
+    int updatePassword(long id, String oldPassword, String password);
+
+    @Query("select new com.softserve.itacademy.dto.UserView(u.id, u.firstName, u.lastName, " +
+            "case when exists (select c.id from ToDo t join t.collaborators c where t.id = ?1 and c.id = u.id) " +
+            "then true else false end) from User u order by u.id")
+    List<UserView> getViewsByTodoId(long todoId);
+
+    /**
+     * Keyset page in (last name, first name, id) order, starting after the given row. Empty
+     * names and id 0 start from the first user. {@code roleId} may be {@code null}. JPQL has no
+     * row comparison, so the leading {@code lastName >=} gives the index scan its start key and
+     * the rest only filters the first few rows.
+     */
+    @Query("select u from User u left join fetch u.role where (:roleId is null or u.role.id = :roleId) " +
+            "and u.lastName >= :lastName and (u.lastName > :lastName or u.firstName > :firstName " +
+            "or (u.firstName = :firstName and u.id > :id)) order by u.lastName, u.firstName, u.id")
+    List<User> getPageByName(@Param("roleId") Long roleId, @Param("lastName") String lastName,
+                             @Param("firstName") String firstName, @Param("id") long id, Pageable pageable);
+
+    @Query("select u from User u left join fetch u.role where (:roleId is null or u.role.id = :roleId) " +
+            "and u.email > :email order by u.email")
+    List<User> getPageByEmail(@Param("roleId") Long roleId, @Param("email") String email, Pageable pageable);
 }
@@ -0,0 +1,12 @@
+package com.softserve.itacademy.service;
+
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.model.ActivityLog;
+
+import java.util.List;
+
+public interface ActivityService {
+    void record(EntityChangedEvent event, String actor);
+
+    List<ActivityLog> getRecent(int limit);
+}
@@ -0,0 +1,14 @@
+package com.softserve.itacademy.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface PasswordHashingService {
+    CompletableFuture<String> encode(String rawPassword);
+    CompletableFuture<List<String>> encodeAll(List<String> rawPasswords);
+    CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword);
+
+    boolean isEncoded(String password);
+    boolean upgradeEncoding(String encodedPassword);
+    int getStrength();
+}
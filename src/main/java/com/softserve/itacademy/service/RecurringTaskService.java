@@ -0,0 +1,13 @@
+package com.softserve.itacademy.service;
+
+import com.softserve.itacademy.model.RecurringTask;
+
+import java.util.List;
+
+public interface RecurringTaskService {
+    RecurringTask create(RecurringTask recurringTask);
+    RecurringTask readById(long id);
+    void delete(long id);
+
+    List<RecurringTask> getByTodoId(long todoId);
+}
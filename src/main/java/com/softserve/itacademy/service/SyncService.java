@@ -0,0 +1,7 @@
+package com.softserve.itacademy.service;
+
+import com.softserve.itacademy.dto.SyncPage;
+
+public interface SyncService {
+    SyncPage getChanges(long userId, String since, int limit);
+}
@@ -1,5 +1,9 @@
 package com.softserve.itacademy.service;
 
+import com.softserve.itacademy.dto.BatchMode;
+import com.softserve.itacademy.dto.TaskOperation;
+import com.softserve.itacademy.dto.TaskOperationResult;
+import com.softserve.itacademy.dto.TaskView;
 import com.softserve.itacademy.model.Task;
 
 import java.util.List;
@@ -12,4 +16,10 @@ public interface TaskService {
 
     List<Task> getAll();
     List<Task> getByTodoId(long todoId);
+
+    Task move(long todoId, long id, Long previousId, Long nextId);
+
+    List<TaskView> getViewsByTodoId(long todoId);
+
+    List<TaskOperationResult> applyBatch(long todoId, List<TaskOperation> operations, BatchMode mode);
 }
@@ -1,6 +1,9 @@
 package com.softserve.itacademy.service;
 
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.dto.TodoView;
 import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
 
 import java.util.List;
 
@@ -12,4 +15,18 @@ public interface ToDoService {
 
     List<ToDo> getAll();
     List<ToDo> getByUserId(long userId);
+
+    boolean isVisible(long userId, long todoId);
+    long[] getVisibleIds(long userId);
+
+    ToDo addCollaborator(long id, User collaborator);
+    ToDo removeCollaborator(long id, User collaborator);
+
+    TodoView readViewById(long id);
+    List<TodoView> getViewsByUserId(long userId);
+
+    TodoView readArchivedViewById(long id);
+    List<TodoView> getArchivedViewsByUserId(long userId);
+    List<TaskView> getArchivedTaskViews(long id);
+    void restore(long id);
 }
@@ -0,0 +1,13 @@
+package com.softserve.itacademy.service;
+
+import com.softserve.itacademy.event.EntityChangedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+public interface TodoEventStreamService {
+    SseEmitter subscribe(long todoId);
+    boolean hasSubscribers(long todoId);
+    void publish(EntityChangedEvent event, Map<String, Object> details);
+    int getSubscriberCount();
+}
@@ -0,0 +1,14 @@
+package com.softserve.itacademy.service;
+
+import com.softserve.itacademy.dto.ImportFormat;
+import com.softserve.itacademy.dto.ImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+public interface UserImportService {
+    ImportResult startImport(InputStream input, ImportFormat format) throws IOException;
+    ImportResult getResult(String importId);
+    Path getReport(String importId);
+}
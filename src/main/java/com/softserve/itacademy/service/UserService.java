@@ -1,8 +1,12 @@
 package com.softserve.itacademy.service;
 
+import com.softserve.itacademy.dto.UserPage;
+import com.softserve.itacademy.dto.UserSort;
+import com.softserve.itacademy.dto.UserView;
 import com.softserve.itacademy.model.User;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
     User create(User user);
@@ -10,5 +14,9 @@ public interface UserService {
     User update(User user);
     void delete(long id);
     List<User> getAll();
+    UserPage getPage(UserSort sort, Long roleId, String after, int size);
 
+    List<UserView> getViewsByTodoId(long todoId);
+
+    CompletableFuture<Boolean> checkPassword(long id, String rawPassword);
 }
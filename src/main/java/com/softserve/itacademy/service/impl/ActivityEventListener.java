@@ -0,0 +1,36 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.service.ActivityService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+
+@Component
+public class ActivityEventListener {
+    private static final String SYSTEM_ACTOR = "system";
+
+    private final ActivityService activityService;
+
+    public ActivityEventListener(ActivityService activityService) {
+        this.activityService = activityService;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        activityService.record(event, currentActor());
+    }
+
+    private String currentActor() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return SYSTEM_ACTOR;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        return request.getRemoteUser() != null ? request.getRemoteUser() : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,132 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.model.ActivityLog;
+import com.softserve.itacademy.repository.ActivityLogRepository;
+import com.softserve.itacademy.service.ActivityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind activity log: entries are queued in memory and inserted in JDBC batches by a
+ * single background thread. A full queue blocks the caller for a bounded time and then falls
+ * back to a synchronous insert, so entries are never dropped.
+ */
+@Service
+public class ActivityServiceImpl implements ActivityService {
+    private static final String INSERT_SQL = "insert into activity_log " +
+            "(occurred_at, actor, action, entity_type, entity_id, todo_id, user_id) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ActivityLogRepository activityLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<ActivityLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private final Logger logger = LoggerFactory.getLogger(ActivityServiceImpl.class);
+
+    public ActivityServiceImpl(ActivityLogRepository activityLogRepository, JdbcTemplate jdbcTemplate,
+                               @Value("${activity.queue-capacity:10000}") int queueCapacity,
+                               @Value("${activity.batch-size:500}") int batchSize,
+                               @Value("${activity.flush-interval-ms:200}") long flushIntervalMs,
+                               @Value("${activity.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.activityLogRepository = activityLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.writer = new Thread(this::writeLoop, "activity-log-writer");
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join();
+        flush(new ArrayList<>(queue));
+        logger.info("Activity log writer stopped.");
+    }
+
+    @Override
+    public void record(EntityChangedEvent event, String actor) {
+        ActivityLog entry = new ActivityLog(event.getOccurredAt(), actor, event.getChangeType(),
+                event.getEntityType(), event.getEntityId(), event.getTodoId(), event.getUserId());
+        try {
+            if (running && queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.warn("Activity log queue is full, writing '{}' synchronously.", entry);
+        List<ActivityLog> single = new ArrayList<>();
+        single.add(entry);
+        flush(single);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ActivityLog> getRecent(int limit) {
+        return activityLogRepository.getRecent(limit);
+    }
+
+    private void writeLoop() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ActivityLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Writing {} activity log entries failed: {}", batch.size(), e.getMessage());
+                batch.forEach(entry -> logger.error("Activity log entry was not stored: {}", entry));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ActivityLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(entry.getOccurredAt()));
+            ps.setString(2, entry.getActor());
+            ps.setString(3, entry.getAction().name());
+            ps.setString(4, entry.getEntityType().name());
+            ps.setLong(5, entry.getEntityId());
+            ps.setObject(6, entry.getTodoId(), Types.BIGINT);
+            ps.setObject(7, entry.getUserId(), Types.BIGINT);
+        });
+    }
+}
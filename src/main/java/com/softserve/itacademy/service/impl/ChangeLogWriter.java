@@ -0,0 +1,199 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Appends to {@code change_log} inside the writing transaction, so a change and its log rows
+ * commit together. Writes arrive as {@link EntityChangedEvent}s, from the services as well as
+ * from the background jobs that write with plain JDBC.
+ * <p>
+ * Each change is logged once per user who can see its To-Do, so a sync reads only its own rows
+ * and tombstones never reach users who did not know the row. The users are looked up when the
+ * event is published, while a deleted To-Do and its collaborators are still there; task changes
+ * reuse the users found for their To-Do earlier in the same transaction, until the To-Do or its
+ * collaborators change. The rows of a transaction are collected and written together right
+ * before commit: the session is flushed first, then each recipient's row in
+ * {@code change_log_head} is advanced once and stays locked until commit, so a recipient's
+ * sequence numbers become visible in the order they were taken and a sync never skips a change
+ * that commits late. Heads are taken in recipient order, so two writers never wait for each
+ * other in a cycle, and writers only wait for each other when their changes reach the same user.
+ */
+@Component
+public class ChangeLogWriter {
+    private static final String RECIPIENTS_SQL = "select owner_id from todos where id = ? " +
+            "union select collaborator_id from todo_collaborator where todo_id = ?";
+    private static final String ADVANCE_SQL = "update change_log_head set seq = seq + ? where recipient_id = ?";
+    private static final String CREATE_HEAD_SQL = "insert into change_log_head (recipient_id, seq) " +
+            "select ?, coalesce(max(seq), 0) from change_log where recipient_id = ? on conflict do nothing";
+    private static final String HEAD_SQL = "select seq from change_log_head where recipient_id = ?";
+    private static final String INSERT_SQL = "insert into change_log (seq, recipient_id, changed_at, " +
+            "entity_type, change_type, entity_id, todo_id, user_id) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ChangeLogWriter(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntityType() != EntityType.TODO && event.getEntityType() != EntityType.TASK
+                && event.getEntityType() != EntityType.COLLABORATOR) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending pending = new Pending();
+            pending.add(event);
+            write(pending);
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Flushes the JPA session of the transaction, if there is one, so the head rows are the last
+     * locks taken and waiting for them never holds up another transaction's flush.
+     */
+    private void flush() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(
+                entityManagerFactory);
+        if (holder != null) {
+            holder.getEntityManager().flush();
+        }
+    }
+
+    private List<Long> readRecipients(long todoId) {
+        return jdbcTemplate.queryForList(RECIPIENTS_SQL, Long.class, todoId, todoId);
+    }
+
+    private void write(Pending pending) {
+        if (pending.rows.isEmpty()) {
+            return;
+        }
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<Long, List<Row>> recipient : pending.rows.entrySet()) {
+            List<Row> recipientRows = recipient.getValue();
+            long first = advance(recipient.getKey(), recipientRows.size()) - recipientRows.size() + 1;
+            for (int i = 0; i < recipientRows.size(); i++) {
+                recipientRows.get(i).seq = first + i;
+            }
+            rows.addAll(recipientRows);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.seq);
+            ps.setLong(2, row.recipientId);
+            ps.setTimestamp(3, Timestamp.valueOf(row.changedAt));
+            ps.setString(4, row.event.getEntityType().name());
+            ps.setString(5, row.event.getChangeType().name());
+            ps.setLong(6, row.event.getEntityId());
+            ps.setObject(7, row.event.getTodoId(), Types.BIGINT);
+            ps.setObject(8, row.event.getUserId(), Types.BIGINT);
+        });
+    }
+
+    /**
+     * Takes {@code count} sequence numbers of the recipient and returns the last one. The head
+     * row is created on first use, shards included.
+     */
+    private long advance(long recipientId, int count) {
+        if (jdbcTemplate.update(ADVANCE_SQL, count, recipientId) == 0) {
+            jdbcTemplate.update(CREATE_HEAD_SQL, recipientId, recipientId);
+            jdbcTemplate.update(ADVANCE_SQL, count, recipientId);
+        }
+        return jdbcTemplate.queryForObject(HEAD_SQL, Long.class, recipientId);
+    }
+
+    /**
+     * The rows of one transaction by recipient, in recipient order. It is bound to the
+     * transaction the way Spring binds its own resources, so a transaction started inside it
+     * collects its own rows.
+     */
+    private final class Pending implements TransactionSynchronization {
+        private final Map<Long, List<Row>> rows = new TreeMap<>();
+        private final Map<Long, List<Long>> recipientsByTodo = new HashMap<>();
+
+        private void add(EntityChangedEvent event) {
+            LocalDateTime changedAt = LocalDateTime.now();
+            for (Long recipientId : recipients(event)) {
+                rows.computeIfAbsent(recipientId, id -> new ArrayList<>()).add(new Row(recipientId, changedAt, event));
+            }
+        }
+
+        private Set<Long> recipients(EntityChangedEvent event) {
+            Set<Long> recipients = new LinkedHashSet<>();
+            Long todoId = event.getTodoId();
+            if (todoId != null && event.getEntityType() == EntityType.TASK) {
+                recipients.addAll(recipientsByTodo.computeIfAbsent(todoId, ChangeLogWriter.this::readRecipients));
+            } else if (todoId != null) {
+                recipientsByTodo.remove(todoId);
+                recipients.addAll(readRecipients(todoId));
+            }
+            if (event.getUserId() != null && event.getEntityType() != EntityType.TASK) {
+                recipients.add(event.getUserId());
+            }
+            recipients.remove(null);
+            return recipients;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ChangeLogWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ChangeLogWriter.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            flush();
+            write(this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLogWriter.this);
+        }
+    }
+
+    private static final class Row {
+        private final long recipientId;
+        private final LocalDateTime changedAt;
+        private final EntityChangedEvent event;
+        private long seq;
+
+        private Row(long recipientId, LocalDateTime changedAt, EntityChangedEvent event) {
+            this.recipientId = recipientId;
+            this.changedAt = changedAt;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.service.PasswordHashingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashing off the request threads. The work factor is calibrated at startup so that one
+ * hash takes about {@code password.hash.target-ms} on this machine, never going below
+ * {@code password.hash.min-strength}. Hashes run on a small bounded pool; when its queue is full
+ * new work is rejected instead of piling up behind a signup burst. Bulk hashing has a pool of its
+ * own, so an import never takes the threads or the queue slots of interactive signups.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final MeterRegistry meterRegistry;
+    private final long targetMs;
+    private final int minStrength;
+    private final int maxStrength;
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final ThreadPoolTaskExecutor bulkExecutor = new ThreadPoolTaskExecutor();
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+    private volatile BCryptPasswordEncoder encoder;
+    private volatile int strength;
+    private final Logger logger = LoggerFactory.getLogger(PasswordHashingServiceImpl.class);
+
+    public PasswordHashingServiceImpl(MeterRegistry meterRegistry,
+                                      @Value("${password.hash.target-ms:100}") long targetMs,
+                                      @Value("${password.hash.min-strength:10}") int minStrength,
+                                      @Value("${password.hash.max-strength:16}") int maxStrength,
+                                      @Value("${password.hash.pool-size:0}") int poolSize,
+                                      @Value("${password.hash.queue-capacity:100}") int queueCapacity,
+                                      @Value("${password.hash.bulk-pool-size:1}") int bulkPoolSize,
+                                      @Value("${password.hash.bulk-queue-capacity:2}") int bulkQueueCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.targetMs = targetMs;
+        this.minStrength = minStrength;
+        this.maxStrength = maxStrength;
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setTaskDecorator(PasswordHashingServiceImpl::withRequestAttributes);
+        bulkExecutor.setCorePoolSize(bulkPoolSize);
+        bulkExecutor.setMaxPoolSize(bulkPoolSize);
+        bulkExecutor.setQueueCapacity(bulkQueueCapacity);
+        bulkExecutor.setThreadNamePrefix("password-hash-bulk-");
+        this.encodeTimer = Timer.builder("password.hash.duration").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.duration").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        strength = calibrate();
+        encoder = new BCryptPasswordEncoder(strength);
+        executor.initialize();
+        bulkExecutor.initialize();
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("password.hash.strength", this, PasswordHashingServiceImpl::getStrength)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(executor, () -> encodeTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * Hashes the passwords one after another in a single task on the bulk pool, so a bulk caller
+     * takes one queue slot per batch instead of one per password.
+     */
+    @Override
+    public CompletableFuture<List<String>> encodeAll(List<String> rawPasswords) {
+        return submit(bulkExecutor, () -> {
+            List<String> hashes = new ArrayList<>(rawPasswords.size());
+            for (String rawPassword : rawPasswords) {
+                hashes.add(encodeTimer.record(() -> encoder.encode(rawPassword)));
+            }
+            return hashes;
+        });
+    }
+
+    /**
+     * Passwords stored before hashing was introduced are still plain text; they are compared in
+     * constant time on the calling thread.
+     */
+    @Override
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        if (!isEncoded(encodedPassword)) {
+            return CompletableFuture.completedFuture(legacyMatches(rawPassword, encodedPassword));
+        }
+        return submit(executor, () -> matchesTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean isEncoded(String password) {
+        return password != null && BCRYPT_PATTERN.matcher(password).matches();
+    }
+
+    /**
+     * Whether the stored password is plain text or hashed with a lower strength than the one
+     * calibrated for this machine, and should be re-encoded once it has been matched.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return !matcher.matches() || Integer.parseInt(matcher.group(2)) < strength;
+    }
+
+    @Override
+    public int getStrength() {
+        return strength;
+    }
+
+    private <T> CompletableFuture<T> submit(ThreadPoolTaskExecutor pool, Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, pool);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            logger.warn("Password hashing queue is full, request was rejected.");
+            throw e;
+        }
+    }
+
+    private int calibrate() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int calibrated = minStrength;
+        while (calibrated < maxStrength && elapsedMs * 2 <= targetMs) {
+            calibrated++;
+            elapsedMs *= 2;
+        }
+        logger.info("Password hashing calibrated to BCrypt strength {} (~{} ms per hash, target {} ms).",
+                calibrated, elapsedMs, targetMs);
+        return calibrated;
+    }
+
+    private static boolean legacyMatches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Runnable withRequestAttributes(Runnable task) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return () -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                task.run();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+}
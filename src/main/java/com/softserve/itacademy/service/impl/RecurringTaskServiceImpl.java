@@ -0,0 +1,49 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.exception.NullEntityReferenceException;
+import com.softserve.itacademy.model.RecurringTask;
+import com.softserve.itacademy.repository.RecurringTaskRepository;
+import com.softserve.itacademy.service.RecurringTaskService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.List;
+
+@Service
+public class RecurringTaskServiceImpl implements RecurringTaskService {
+    private RecurringTaskRepository recurringTaskRepository;
+
+    public RecurringTaskServiceImpl(RecurringTaskRepository recurringTaskRepository) {
+        this.recurringTaskRepository = recurringTaskRepository;
+    }
+
+    @Override
+    @Transactional
+    public RecurringTask create(RecurringTask recurringTask) {
+        try {
+            return recurringTaskRepository.save(recurringTask);
+        } catch (IllegalArgumentException e) {
+            throw new NullEntityReferenceException("Recurring task cannot be 'null'");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecurringTask readById(long id) {
+        return recurringTaskRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException("Recurring task with id " + id + " not found"));
+    }
+
+    @Override
+    @Transactional
+    public void delete(long id) {
+        recurringTaskRepository.delete(readById(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringTask> getByTodoId(long todoId) {
+        return recurringTaskRepository.getByTodoId(todoId);
+    }
+}
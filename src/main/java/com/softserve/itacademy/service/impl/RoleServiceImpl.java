@@ -1,10 +1,16 @@
 package com.softserve.itacademy.service.impl;
 
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
 import com.softserve.itacademy.exception.NullEntityReferenceException;
 import com.softserve.itacademy.model.Role;
 import com.softserve.itacademy.repository.RoleRepository;
 import com.softserve.itacademy.service.RoleService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
@@ -15,50 +21,69 @@ import java.util.Optional;
 public class RoleServiceImpl implements RoleService {
 
     private RoleRepository roleRepository;
+    private ApplicationEventPublisher eventPublisher;
 
-    public RoleServiceImpl(RoleRepository roleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, ApplicationEventPublisher eventPublisher) {
         this.roleRepository = roleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public Role create(Role role) {
+        Role saved;
         try {
-            return roleRepository.save(role);
+            saved = roleRepository.save(role);
         } catch (IllegalArgumentException e) {
             throw new NullEntityReferenceException("Role cannot be 'null'");
         }
+        publish(saved.getId(), ChangeType.CREATED);
+        return saved;
     }
 
     @Override
+    @Cacheable("roles")
+    @Transactional(readOnly = true)
     public Role readById(long id) {
         Optional<Role> optional = roleRepository.findById(id);
             return optional.get();
     }
 
     @Override
+    @Transactional
     public Role update(Role role) {
         if (role != null) {
             Role oldRole = readById(role.getId());
             if (oldRole != null) {
-                return roleRepository.save(role);
+                Role saved = roleRepository.save(role);
+                publish(saved.getId(), ChangeType.UPDATED);
+                return saved;
             }
         }
         throw new NullEntityReferenceException("Role cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         Role role = readById(id);
         if (role != null) {
             roleRepository.delete(role);
+            publish(id, ChangeType.DELETED);
         } else {
             throw new NullEntityReferenceException("Role cannot be 'null'");
         }
     }
 
     @Override
+    @Cacheable("roles")
+    @Transactional(readOnly = true)
     public List<Role> getAll() {
         List<Role> roles = roleRepository.findAll();
         return roles.isEmpty() ? new ArrayList<>() : roles;
     }
+
+    private void publish(long id, ChangeType changeType) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ROLE, changeType, id, null, null));
+    }
 }
@@ -1,10 +1,16 @@
 package com.softserve.itacademy.service.impl;
 
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
 import com.softserve.itacademy.exception.NullEntityReferenceException;
 import com.softserve.itacademy.model.State;
 import com.softserve.itacademy.repository.StateRepository;
 import com.softserve.itacademy.service.StateService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
@@ -14,21 +20,29 @@ import java.util.Optional;
 @Service
 public class StateServiceImpl implements StateService {
     private StateRepository stateRepository;
+    private ApplicationEventPublisher eventPublisher;
 
-    public StateServiceImpl(StateRepository stateRepository) {
+    public StateServiceImpl(StateRepository stateRepository, ApplicationEventPublisher eventPublisher) {
         this.stateRepository = stateRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public State create(State state) {
+        State saved;
         try {
-            return stateRepository.save(state);
+            saved = stateRepository.save(state);
         } catch (IllegalArgumentException e) {
             throw new NullEntityReferenceException("State cannot be 'null'");
         }
+        publish(saved.getId(), ChangeType.CREATED);
+        return saved;
     }
 
     @Override
+    @Cacheable("states")
+    @Transactional(readOnly = true)
     public State readById(long id) {
         Optional<State> optional = stateRepository.findById(id);
         if (optional.isPresent()) {
@@ -38,27 +52,34 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @Transactional
     public State update(State state) {
         if (state != null) {
             State oldState = readById(state.getId());
             if (oldState != null) {
-                return stateRepository.save(state);
+                State saved = stateRepository.save(state);
+                publish(saved.getId(), ChangeType.UPDATED);
+                return saved;
             }
         }
         throw new NullEntityReferenceException("State cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         State state = readById(id);
         if (state != null) {
             stateRepository.delete(state);
+            publish(id, ChangeType.DELETED);
         } else {
             throw new EntityNotFoundException("State with id " + id + " not found");
         }
     }
 
     @Override
+    @Cacheable("states")
+    @Transactional(readOnly = true)
     public State getByName(String name) {
         Optional<State> optional = Optional.ofNullable(stateRepository.getByName(name));
         if (optional.isPresent()) {
@@ -68,8 +89,14 @@ public class StateServiceImpl implements StateService {
     }
 
     @Override
+    @Cacheable("states")
+    @Transactional(readOnly = true)
     public List<State> getAll() {
         List<State> states = stateRepository.getAll();
         return states.isEmpty() ? new ArrayList<>() : states;
     }
+
+    private void publish(long id, ChangeType changeType) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.STATE, changeType, id, null, null));
+    }
 }
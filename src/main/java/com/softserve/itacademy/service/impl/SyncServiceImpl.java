@@ -0,0 +1,327 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.SyncChange;
+import com.softserve.itacademy.dto.SyncPage;
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.exception.InvalidCursorException;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.service.SyncService;
+import com.softserve.itacademy.shard.EntityKind;
+import com.softserve.itacademy.shard.Shard;
+import com.softserve.itacademy.shard.ShardDirectory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Reads the user's own rows of {@code change_log} from the client's watermark, one range of the
+ * {@code (recipient_id, seq)} index, so a sync with nothing new is a single index probe however
+ * busy other users are. Sequence numbers are assigned at commit (see {@link ChangeLogWriter}),
+ * so no later commit can land below a watermark the client has already passed. Tombstones were
+ * only logged for users who could see the row; other changes are returned only while the To-Do
+ * is still visible, checked against the database in one query per page, with its current data.
+ * Several changes of the same row within a page are collapsed into the last one, and current
+ * data is loaded with one query per entity type.
+ * <p>
+ * With sharding, rows are logged on the shard of the To-Do they belong to, and every shard
+ * numbers a recipient's rows on its own. The watermark is then one number per shard, joined
+ * with dots ({@code 42.17}); a page reads every shard from its own number and merges the results
+ * by time, and visibility and current data are read from the shard of each To-Do's owner. A
+ * plain number is the watermark of the first shard, so without sharding it stays a plain number.
+ */
+@Service
+public class SyncServiceImpl implements SyncService {
+    private static final String CHANGES_SQL = "select seq, changed_at, entity_type, change_type, entity_id, " +
+            "todo_id, user_id from change_log where recipient_id = ? and seq > ? order by seq limit ?";
+    private static final String VISIBLE_SQL = "select id from todos where id in (:ids) and owner_id = :user " +
+            "union select todo_id from todo_collaborator where todo_id in (:ids) and collaborator_id = :user";
+    private static final String TODOS_SQL = "select t.id, t.title, t.created_at, o.id as owner_id, o.first_name, " +
+            "o.last_name from todos t join users o on o.id = t.owner_id where t.id in (:ids)";
+    private static final String TASKS_SQL = "select k.id, k.name, k.priority, s.name as state_name, k.due_at, " +
+            "k.todo_id from tasks k left join states s on s.id = k.state_id ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final int maxLimit;
+
+    public SyncServiceImpl(JdbcTemplate jdbcTemplate, ObjectProvider<ShardDirectory> shardDirectory,
+                           @Value("${sync.max-limit:1000}") int maxLimit) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.shardDirectory = shardDirectory;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SyncPage getChanges(long userId, String since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxLimit));
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        List<NamedParameterJdbcTemplate> logs = new ArrayList<>();
+        if (directory == null) {
+            logs.add(jdbcTemplate);
+        } else {
+            for (Shard shard : directory.getShards()) {
+                logs.add(shard.getNamedJdbcTemplate());
+            }
+        }
+        long[] watermarks = parseCursor(since, logs.size());
+
+        boolean hasMore = false;
+        List<Deque<Entry>> fetched = new ArrayList<>(logs.size());
+        for (int i = 0; i < logs.size(); i++) {
+            List<Entry> shardEntries = logs.get(i).getJdbcTemplate().query(CHANGES_SQL, SyncServiceImpl::mapEntry,
+                    userId, watermarks[i], pageSize);
+            hasMore |= shardEntries.size() == pageSize;
+            fetched.add(new ArrayDeque<>(shardEntries));
+        }
+        List<Entry> entries = merge(fetched, pageSize, watermarks);
+        String next = formatCursor(watermarks);
+        if (entries.isEmpty()) {
+            return new SyncPage(Collections.emptyList(), next, false);
+        }
+
+        Map<String, Entry> latest = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            String key = entry.entityType == EntityType.COLLABORATOR
+                    ? entry.entityType + ":" + entry.todoId + ":" + entry.entityId
+                    : entry.entityType + ":" + entry.entityId;
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+
+        Set<Long> visible = readVisible(directory, userId, latest.values());
+        Set<Long> todoIds = new HashSet<>();
+        Map<Long, Long> taskTodos = new HashMap<>();
+        Set<Long> newTodoIds = new HashSet<>();
+        List<Entry> relevant = new ArrayList<>();
+        for (Entry entry : latest.values()) {
+            if (entry.changeType == ChangeType.DELETED) {
+                relevant.add(entry);
+                continue;
+            }
+            if (entry.todoId == null || !visible.contains(entry.todoId)) {
+                continue;
+            }
+            relevant.add(entry);
+            if (entry.entityType == EntityType.TASK) {
+                taskTodos.put(entry.entityId, entry.todoId);
+            } else if (carriesTodo(entry, userId)) {
+                todoIds.add(entry.todoId);
+                if (entry.changeType == ChangeType.CREATED) {
+                    newTodoIds.add(entry.todoId);
+                }
+            }
+        }
+
+        Map<Long, TodoView> todos = readTodos(directory, todoIds);
+        Map<Long, TaskView> tasks = new HashMap<>();
+        readTasks(byShard(directory, taskTodos.keySet(), taskTodos::get), "where k.id in (:ids)",
+                (todoId, task) -> tasks.put(task.getId(), task));
+        Map<Long, List<TaskView>> tasksByTodo = new HashMap<>();
+        readTasks(byShard(directory, newTodoIds, todoId -> todoId),
+                "where k.todo_id in (:ids) order by k.todo_id, k.rank",
+                (todoId, task) -> tasksByTodo.computeIfAbsent(todoId, id -> new ArrayList<>()).add(task));
+
+        List<SyncChange> changes = new ArrayList<>(relevant.size());
+        for (Entry entry : relevant) {
+            TodoView todo = null;
+            TaskView task = null;
+            List<TaskView> todoTasks = null;
+            if (entry.changeType != ChangeType.DELETED) {
+                if (entry.entityType == EntityType.TASK) {
+                    task = tasks.get(entry.entityId);
+                    if (task == null) {
+                        continue;
+                    }
+                } else if (carriesTodo(entry, userId)) {
+                    todo = todos.get(entry.todoId);
+                    if (todo == null) {
+                        continue;
+                    }
+                    if (newTodoIds.contains(entry.todoId)) {
+                        todoTasks = tasksByTodo.getOrDefault(entry.todoId, Collections.emptyList());
+                    }
+                }
+            }
+            changes.add(new SyncChange(entry.seq, entry.entityType, entry.changeType, entry.entityId, entry.todoId,
+                    entry.userId, todo, task, todoTasks));
+        }
+        return new SyncPage(changes, next, hasMore);
+    }
+
+    private static boolean carriesTodo(Entry entry, long userId) {
+        return entry.entityType == EntityType.TODO || entry.entityType == EntityType.COLLABORATOR
+                && entry.changeType == ChangeType.CREATED && entry.userId != null && entry.userId == userId;
+    }
+
+    /**
+     * Takes up to {@code pageSize} entries from the heads of the shards' queues, oldest first,
+     * and moves each shard's watermark past the entries taken from it.
+     */
+    private static List<Entry> merge(List<Deque<Entry>> fetched, int pageSize, long[] watermarks) {
+        List<Entry> entries = new ArrayList<>();
+        while (entries.size() < pageSize) {
+            int oldest = -1;
+            for (int i = 0; i < fetched.size(); i++) {
+                Entry head = fetched.get(i).peekFirst();
+                if (head != null && (oldest < 0
+                        || head.changedAt.isBefore(fetched.get(oldest).peekFirst().changedAt))) {
+                    oldest = i;
+                }
+            }
+            if (oldest < 0) {
+                break;
+            }
+            Entry entry = fetched.get(oldest).pollFirst();
+            watermarks[oldest] = entry.seq;
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static long[] parseCursor(String cursor, int shards) {
+        String[] parts = cursor.split("\\.", -1);
+        if (parts.length > shards) {
+            throw new InvalidCursorException("Cursor '" + cursor + "' is not valid");
+        }
+        long[] watermarks = new long[shards];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                watermarks[i] = Long.parseLong(parts[i]);
+                if (watermarks[i] < 0) {
+                    throw new InvalidCursorException("Cursor '" + cursor + "' is not valid");
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor '" + cursor + "' is not valid");
+        }
+        return watermarks;
+    }
+
+    private static String formatCursor(long[] watermarks) {
+        StringJoiner cursor = new StringJoiner(".");
+        for (long watermark : watermarks) {
+            cursor.add(Long.toString(watermark));
+        }
+        return cursor.toString();
+    }
+
+    /**
+     * Groups ids by the shard holding their To-Do; ids whose To-Do is gone are left out.
+     */
+    private Map<NamedParameterJdbcTemplate, Set<Long>> byShard(ShardDirectory directory, Collection<Long> ids,
+                                                               Function<Long, Long> todoOf) {
+        Map<NamedParameterJdbcTemplate, Set<Long>> groups = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return groups;
+        }
+        if (directory == null) {
+            groups.put(jdbcTemplate, new HashSet<>(ids));
+            return groups;
+        }
+        for (Long id : ids) {
+            Long owner = directory.ownerOf(EntityKind.TODO, todoOf.apply(id));
+            if (owner != null) {
+                Shard shard = directory.getShard(directory.shardOfUser(owner));
+                groups.computeIfAbsent(shard.getNamedJdbcTemplate(), shardTemplate -> new HashSet<>()).add(id);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * The To-Dos of the entries the user can see now, read from the database rather than the
+     * {@link VisibilityIndex} of this node, which may not have seen a revoke made on another one.
+     */
+    private Set<Long> readVisible(ShardDirectory directory, long userId, Collection<Entry> entries) {
+        Set<Long> ids = new HashSet<>();
+        for (Entry entry : entries) {
+            if (entry.changeType != ChangeType.DELETED && entry.todoId != null) {
+                ids.add(entry.todoId);
+            }
+        }
+        Set<Long> visible = new HashSet<>();
+        byShard(directory, ids, todoId -> todoId).forEach((shardTemplate, shardIds) ->
+                visible.addAll(shardTemplate.queryForList(VISIBLE_SQL, new MapSqlParameterSource("ids", shardIds)
+                        .addValue("user", userId), Long.class)));
+        return visible;
+    }
+
+    private Map<Long, TodoView> readTodos(ShardDirectory directory, Collection<Long> ids) {
+        Map<Long, TodoView> todos = new HashMap<>();
+        byShard(directory, ids, todoId -> todoId).forEach((shardTemplate, shardIds) ->
+                shardTemplate.query(TODOS_SQL, new MapSqlParameterSource("ids", shardIds), rs -> {
+                    todos.put(rs.getLong("id"), new TodoView(rs.getLong("id"), rs.getString("title"),
+                            rs.getTimestamp("created_at").toLocalDateTime(), rs.getLong("owner_id"),
+                            rs.getString("first_name"), rs.getString("last_name")));
+                }));
+        return todos;
+    }
+
+    private void readTasks(Map<NamedParameterJdbcTemplate, Set<Long>> ids, String condition, TaskConsumer consumer) {
+        ids.forEach((shardTemplate, shardIds) ->
+                shardTemplate.query(TASKS_SQL + condition, new MapSqlParameterSource("ids", shardIds), rs -> {
+                    String priority = rs.getString("priority");
+                    Timestamp dueAt = rs.getTimestamp("due_at");
+                    consumer.accept(rs.getLong("todo_id"), new TaskView(rs.getLong("id"), rs.getString("name"),
+                            priority == null ? null : Priority.valueOf(priority), rs.getString("state_name"),
+                            dueAt == null ? null : dueAt.toLocalDateTime()));
+                }));
+    }
+
+    private static Entry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new Entry(rs.getLong("seq"), rs.getTimestamp("changed_at").toLocalDateTime(),
+                EntityType.valueOf(rs.getString("entity_type")), ChangeType.valueOf(rs.getString("change_type")), rs.getLong("entity_id"),
+                rs.getObject("todo_id", Long.class), rs.getObject("user_id", Long.class));
+    }
+
+    private interface TaskConsumer {
+        void accept(long todoId, TaskView task);
+    }
+
+    private static final class Entry {
+        private final long seq;
+        private final LocalDateTime changedAt;
+        private final EntityType entityType;
+        private final ChangeType changeType;
+        private final long entityId;
+        private final Long todoId;
+        private final Long userId;
+
+        private Entry(long seq, LocalDateTime changedAt, EntityType entityType, ChangeType changeType, long entityId,
+                      Long todoId, Long userId) {
+            this.seq = seq;
+            this.changedAt = changedAt;
+            this.entityType = entityType;
+            this.changeType = changeType;
+            this.entityId = entityId;
+            this.todoId = todoId;
+            this.userId = userId;
+        }
+    }
+}
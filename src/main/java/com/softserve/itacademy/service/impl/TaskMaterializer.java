@@ -0,0 +1,233 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.reminder.ReminderScheduler;
+import com.softserve.itacademy.shard.ShardDirectory;
+import com.softserve.itacademy.util.LexoRank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the tasks of recurring rules up to {@code recurrence.horizon-days} ahead. Rules are
+ * claimed in chunks of {@code recurrence.batch-size} with {@code recurrence.lock-clause}
+ * ({@code for update skip locked} by default, so several nodes split the work instead of
+ * queueing on the same rows). Each chunk inserts its tasks with one JDBC batch and advances the
+ * rules' {@code next_at} in the same transaction. Inserts skip rows that already exist for the
+ * same rule and due date, so a chunk that is repeated after a crash creates nothing twice.
+ * The chunk locks its To-Do rows before reading their highest rank, as task creation does, and
+ * publishes a TASK CREATED event per new task, which also re-arms the task's reminder. Rules of
+ * users whose bucket is being moved to another shard wait for the next run.
+ */
+@Component
+public class TaskMaterializer {
+    private static final String SELECT_DUE_SQL = "select id, name, priority, period_days, next_at, todo_id " +
+            "from recurring_tasks where next_at < :horizon ";
+    private static final String ORDER_DUE_SQL = "order by next_at limit :limit ";
+    private static final String LOCK_TODOS_SQL = "select id from todos where id in (:ids) order by id for update";
+    private static final String CREATED_SQL = "select id, todo_id, recurrence_id, due_at from tasks " +
+            "where recurrence_id in (:rules) and due_at >= :from";
+    private static final String INSERT_TASK_SQL = "insert into tasks " +
+            "(name, priority, rank, due_at, todo_id, state_id, recurrence_id) values (?, ?, ?, ?, ?, ?, ?) " +
+            "on conflict do nothing";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskRankRebalancer rankRebalancer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReminderScheduler reminderScheduler;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final int horizonDays;
+    private final int batchSize;
+    private final int maxBatches;
+    private final String lockClause;
+    private final String initialState;
+    private final Logger logger = LoggerFactory.getLogger(TaskMaterializer.class);
+
+    public TaskMaterializer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            TaskRankRebalancer rankRebalancer, ApplicationEventPublisher eventPublisher,
+                            ReminderScheduler reminderScheduler,
+                            ObjectProvider<ShardDirectory> shardDirectory,
+                            @Value("${recurrence.horizon-days:28}") int horizonDays,
+                            @Value("${recurrence.batch-size:1000}") int batchSize,
+                            @Value("${recurrence.max-batches:100}") int maxBatches,
+                            @Value("${recurrence.lock-clause:for update skip locked}") String lockClause,
+                            @Value("${recurrence.initial-state:New}") String initialState) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.rankRebalancer = rankRebalancer;
+        this.eventPublisher = eventPublisher;
+        this.reminderScheduler = reminderScheduler;
+        this.shardDirectory = shardDirectory;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.lockClause = lockClause;
+        this.initialState = initialState;
+    }
+
+    @Scheduled(initialDelayString = "${recurrence.initial-delay-ms:30000}", fixedDelayString = "${recurrence.interval-ms:3600000}")
+    public void materialize() {
+        ShardDirectory.forEachShard(shardDirectory, this::materializeShard);
+    }
+
+    private void materializeShard() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plusDays(horizonDays);
+        Long stateId = jdbcTemplate.getJdbcTemplate().query("select id from states where name = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, initialState);
+        int rules = 0;
+        int created = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int[] result;
+            try {
+                result = transactionTemplate.execute(status -> materializeBatch(now, horizon, stateId));
+            } catch (RuntimeException e) {
+                logger.error("Materializing recurring tasks failed: {}", e.getMessage());
+                break;
+            }
+            if (result == null) {
+                break;
+            }
+            rules += result[0];
+            created += result[1];
+            if (result[0] < batchSize) {
+                break;
+            }
+        }
+        if (rules > 0) {
+            logger.info("{} tasks of {} recurring rules were created up to {}.", created, rules, horizon);
+        }
+    }
+
+    private int[] materializeBatch(LocalDateTime now, LocalDateTime horizon, Long stateId) {
+        String moving = ShardDirectory.movingPredicate(shardDirectory, "owner_id");
+        String sql = SELECT_DUE_SQL + (moving == null ? "" : "and todo_id not in (select id from todos where "
+                + moving + ") ") + ORDER_DUE_SQL + lockClause;
+        List<Rule> rules = jdbcTemplate.query(sql, new MapSqlParameterSource()
+                .addValue("horizon", Timestamp.valueOf(horizon))
+                .addValue("limit", batchSize), (rs, rowNum) -> new Rule(rs.getLong("id"), rs.getString("name"),
+                rs.getString("priority"), rs.getInt("period_days"), rs.getTimestamp("next_at").toLocalDateTime(),
+                rs.getLong("todo_id")));
+        if (rules.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        Set<Long> todoIds = rules.stream().map(rule -> rule.todoId).collect(Collectors.toSet());
+        jdbcTemplate.queryForList(LOCK_TODOS_SQL, new MapSqlParameterSource("ids", todoIds), Long.class);
+        Map<Long, String> ranks = maxRanks(todoIds);
+        List<Object[]> tasks = new ArrayList<>();
+        List<Object[]> nextAts = new ArrayList<>(rules.size());
+        for (Rule rule : rules) {
+            Duration period = Duration.ofDays(rule.periodDays);
+            LocalDateTime dueAt = rule.nextAt;
+            if (dueAt.isBefore(now)) {
+                long missed = Duration.between(dueAt, now).toMillis() / period.toMillis();
+                dueAt = dueAt.plus(period.multipliedBy(missed));
+            }
+            for (; dueAt.isBefore(horizon); dueAt = dueAt.plus(period)) {
+                if (dueAt.isBefore(now)) {
+                    continue;
+                }
+                String rank = LexoRank.after(ranks.get(rule.todoId));
+                ranks.put(rule.todoId, rank);
+                if (LexoRank.needsRebalance(rank)) {
+                    rankRebalancer.schedule(rule.todoId);
+                }
+                tasks.add(new Object[]{rule.name, rule.priority, rank, Timestamp.valueOf(dueAt), rule.todoId,
+                        stateId, rule.id});
+            }
+            nextAts.add(new Object[]{Timestamp.valueOf(dueAt), rule.id});
+        }
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        int[][] inserted = jdbc.batchUpdate(INSERT_TASK_SQL, tasks, batchSize, (ps, task) -> {
+            ps.setString(1, (String) task[0]);
+            ps.setString(2, (String) task[1]);
+            ps.setString(3, (String) task[2]);
+            ps.setTimestamp(4, (Timestamp) task[3]);
+            ps.setLong(5, (Long) task[4]);
+            ps.setObject(6, task[5], Types.BIGINT);
+            ps.setLong(7, (Long) task[6]);
+        });
+        jdbc.batchUpdate("update recurring_tasks set next_at = ? where id = ?", nextAts);
+        Set<String> created = new HashSet<>();
+        int i = 0;
+        for (int[] chunk : inserted) {
+            for (int count : chunk) {
+                Object[] task = tasks.get(i++);
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    created.add(task[6] + "@" + task[3]);
+                }
+            }
+        }
+        if (!created.isEmpty()) {
+            publishCreated(rules, now, created);
+        }
+        return new int[]{rules.size(), created.size()};
+    }
+
+    private void publishCreated(List<Rule> rules, LocalDateTime now, Set<String> created) {
+        Set<Long> todoIds = new HashSet<>();
+        jdbcTemplate.query(CREATED_SQL, new MapSqlParameterSource()
+                .addValue("rules", rules.stream().map(rule -> rule.id).collect(Collectors.toList()))
+                .addValue("from", Timestamp.valueOf(now)), rs -> {
+            if (created.contains(rs.getLong("recurrence_id") + "@" + rs.getTimestamp("due_at"))) {
+                long todoId = rs.getLong("todo_id");
+                todoIds.add(todoId);
+                eventPublisher.publishEvent(new EntityChangedEvent(EntityType.TASK, ChangeType.CREATED,
+                        rs.getLong("id"), todoId, null));
+            }
+        });
+        todoIds.forEach(reminderScheduler::rearmTodo);
+    }
+
+    private Map<Long, String> maxRanks(Set<Long> todoIds) {
+        Map<Long, String> ranks = new HashMap<>();
+        jdbcTemplate.query("select todo_id, max(rank) as rank from tasks where todo_id in (:ids) group by todo_id",
+                new MapSqlParameterSource("ids", todoIds),
+                rs -> {
+                    ranks.put(rs.getLong("todo_id"), rs.getString("rank"));
+                });
+        return ranks;
+    }
+
+    private static final class Rule {
+        private final long id;
+        private final String name;
+        private final String priority;
+        private final int periodDays;
+        private final LocalDateTime nextAt;
+        private final long todoId;
+
+        private Rule(long id, String name, String priority, int periodDays, LocalDateTime nextAt, long todoId) {
+            this.id = id;
+            this.name = name;
+            this.priority = priority;
+            this.periodDays = periodDays;
+            this.nextAt = nextAt;
+            this.todoId = todoId;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.util.LexoRank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TaskRankRebalancer {
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> pendingTodoIds = ConcurrentHashMap.newKeySet();
+    private final Logger logger = LoggerFactory.getLogger(TaskRankRebalancer.class);
+
+    public TaskRankRebalancer(TaskRepository taskRepository, TransactionTemplate transactionTemplate) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void schedule(long todoId) {
+        if (pendingTodoIds.add(todoId)) {
+            logger.info("Ranks of tasks in To-Do with id '{}' were scheduled for rebalance.", todoId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.rank.rebalance-interval-ms:60000}")
+    public void rebalancePending() {
+        Iterator<Long> iterator = pendingTodoIds.iterator();
+        while (iterator.hasNext()) {
+            long todoId = iterator.next();
+            iterator.remove();
+            try {
+                transactionTemplate.execute(status -> {
+                    rebalance(todoId);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                logger.error("Rebalance of To-Do with id '{}' failed: {}", todoId, e.getMessage());
+            }
+        }
+    }
+
+    private void rebalance(long todoId) {
+        taskRepository.lockByTodoId(todoId);
+        List<Task> tasks = taskRepository.getByTodoId(todoId);
+        String[] ranks = LexoRank.evenlySpaced(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            taskRepository.updateRank(tasks.get(i).getId(), ranks[i]);
+        }
+        logger.info("Ranks of {} tasks in To-Do with id '{}' were rebalanced.", tasks.size(), todoId);
+    }
+}
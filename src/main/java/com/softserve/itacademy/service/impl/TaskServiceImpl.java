@@ -1,36 +1,105 @@
 package com.softserve.itacademy.service.impl;
 
+import com.softserve.itacademy.dto.BatchMode;
+import com.softserve.itacademy.dto.TaskOperation;
+import com.softserve.itacademy.dto.TaskOperationResult;
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.exception.InvalidMoveException;
 import com.softserve.itacademy.exception.NullEntityReferenceException;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.State;
 import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.reminder.ReminderScheduler;
 import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.service.StateService;
 import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.shard.ShardDirectory;
+import com.softserve.itacademy.util.LexoRank;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TaskServiceImpl implements TaskService {
-    private TaskRepository taskRepository;
-
+    private static final String INSERT_SQL = "insert into tasks (name, priority, rank, due_at, todo_id, state_id) " +
+            "values (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "update tasks set name = ?, priority = ?, due_at = ?, state_id = ? " +
+            "where id = ? and todo_id = ?";
+    private static final String DELETE_SQL = "delete from tasks where id = ? and todo_id = ?";
 
+    private TaskRepository taskRepository;
+    private ToDoRepository todoRepository;
+    private StateService stateService;
+    private TaskRankRebalancer rankRebalancer;
+    private ReminderScheduler reminderScheduler;
+    private ApplicationEventPublisher eventPublisher;
+    private JdbcTemplate jdbcTemplate;
+    private ObjectProvider<ShardDirectory> shardDirectory;
+    private String initialState;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, ToDoRepository todoRepository, StateService stateService,
+                           TaskRankRebalancer rankRebalancer, ReminderScheduler reminderScheduler,
+                           ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate,
+                           ObjectProvider<ShardDirectory> shardDirectory,
+                           @Value("${recurrence.initial-state:New}") String initialState) {
         this.taskRepository = taskRepository;
+        this.todoRepository = todoRepository;
+        this.stateService = stateService;
+        this.rankRebalancer = rankRebalancer;
+        this.reminderScheduler = reminderScheduler;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardDirectory = shardDirectory;
+        this.initialState = initialState;
     };
 
     @Override
-    public Task create(Task user) {
+    @Transactional
+    public Task create(Task task) {
+        Task saved;
         try {
-            return taskRepository.save(user);
+            if (task != null && task.getRank() == null && task.getTodo() != null) {
+                taskRepository.lockByTodoId(task.getTodo().getId());
+                String rank = LexoRank.after(taskRepository.getMaxRankByTodoId(task.getTodo().getId()));
+                task.setRank(rank);
+                if (LexoRank.needsRebalance(rank)) {
+                    rankRebalancer.schedule(task.getTodo().getId());
+                }
+            }
+            saved = taskRepository.save(task);
         } catch (IllegalArgumentException e) {
             throw new NullEntityReferenceException("Task cannot be 'null'");
         }
+        reminderScheduler.rearm(saved);
+        publish(saved, ChangeType.CREATED);
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Task readById(long id) {
         Optional<Task> optional = taskRepository.findById(id);
         if (optional.isPresent()) {
@@ -40,35 +109,304 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional
     public Task update(Task task) {
         if (task != null) {
             Task oldTask = readById(task.getId());
             if (oldTask != null) {
-                return taskRepository.save(task);
+                if (task.getRank() == null) {
+                    task.setRank(oldTask.getRank());
+                }
+                if (task.getRecurrenceId() == null) {
+                    task.setRecurrenceId(oldTask.getRecurrenceId());
+                }
+                Task saved = taskRepository.save(task);
+                reminderScheduler.rearm(saved);
+                publish(saved, ChangeType.UPDATED);
+                return saved;
             }
         }
         throw new NullEntityReferenceException("Task cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         Task task = readById(id);
         if (task != null) {
             taskRepository.delete(task);
+            reminderScheduler.cancel(id);
+            publish(task, ChangeType.DELETED);
         } else {
             throw new EntityNotFoundException("Task with id " + id + " not found");
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Task> getAll() {
         List<Task> tasks = taskRepository.findAll();
         return tasks.isEmpty() ? new ArrayList<>() : tasks;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Task> getByTodoId(long todoId) {
         List<Task> tasks = taskRepository.getByTodoId(todoId);
         return tasks.isEmpty() ? new ArrayList<>() : tasks;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskView> getViewsByTodoId(long todoId) {
+        return taskRepository.getViewsByTodoId(todoId);
+    }
+
+    @Override
+    @Transactional
+    public Task move(long todoId, long id, Long previousId, Long nextId) {
+        Task task = readById(id);
+        if (task.getTodo().getId() != todoId) {
+            throw new EntityNotFoundException("Task with id " + id + " not found in To-Do with id " + todoId);
+        }
+        taskRepository.lockByTodoId(todoId);
+        String previousRank = previousId == null ? null : readSibling(task, previousId).getRank();
+        String nextRank = nextId == null ? null : readSibling(task, nextId).getRank();
+        try {
+            task.setRank(LexoRank.between(previousRank, nextRank));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidMoveException("Task with id " + previousId + " must come before task with id " + nextId);
+        }
+        if (LexoRank.needsRebalance(task.getRank())) {
+            rankRebalancer.schedule(task.getTodo().getId());
+        }
+        Task saved = taskRepository.save(task);
+        publish(saved, ChangeType.UPDATED);
+        return saved;
+    }
+
+    /**
+     * Validates every operation against the tasks and states loaded once up front, then writes
+     * the valid ones as one JDBC batch per statement kind: inserts, updates, deletes. That order
+     * gives the same result as running the operations one by one, because an operation can only
+     * name a task that existed before the batch and a deleted task cannot be used again. A
+     * database error rolls the whole batch back in either mode.
+     */
+    @Override
+    @Transactional
+    public List<TaskOperationResult> applyBatch(long todoId, List<TaskOperation> operations, BatchMode mode) {
+        if (operations == null || mode == null) {
+            throw new NullEntityReferenceException("Operations cannot be 'null'");
+        }
+        taskRepository.lockByTodoId(todoId);
+        Map<Long, Task> tasks = new LinkedHashMap<>();
+        taskRepository.getByTodoId(todoId).forEach(task -> tasks.put(task.getId(), task));
+        ToDo todo = todoRepository.findById(todoId)
+                .orElseThrow(() -> new EntityNotFoundException("To-Do with id " + todoId + " not found"));
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        if (directory != null && directory.isMoving(todo.getOwner().getId())) {
+            throw new IllegalStateException("To-Do with id " + todoId + " is being moved to another shard");
+        }
+        Map<Long, State> states = new HashMap<>();
+        stateService.getAll().forEach(state -> states.put(state.getId(), state));
+
+        List<Task> planned = new ArrayList<>(operations.size());
+        List<String> errors = new ArrayList<>(operations.size());
+        Set<Long> deleted = new HashSet<>();
+        boolean failed = false;
+        for (TaskOperation operation : operations) {
+            Task task = null;
+            String error;
+            try {
+                task = plan(operation, todo, tasks, states, deleted);
+                error = null;
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+                failed = true;
+            }
+            planned.add(task);
+            errors.add(error);
+        }
+
+        boolean apply = mode == BatchMode.BEST_EFFORT || !failed;
+        if (apply) {
+            write(todo, tasks, operations, planned);
+        }
+        List<TaskOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Task task = planned.get(i);
+            TaskOperation.Type type = operations.get(i) == null ? null : operations.get(i).getType();
+            if (task == null) {
+                results.add(new TaskOperationResult(i, type, operations.get(i) == null ? null : operations.get(i).getId(),
+                        TaskOperationResult.Status.FAILED, errors.get(i)));
+            } else {
+                results.add(new TaskOperationResult(i, type, task.getId(),
+                        apply ? TaskOperationResult.Status.APPLIED : TaskOperationResult.Status.SKIPPED, null));
+            }
+        }
+        return results;
+    }
+
+    private Task plan(TaskOperation operation, ToDo todo, Map<Long, Task> tasks, Map<Long, State> states,
+                      Set<Long> deleted) {
+        if (operation == null || operation.getType() == null) {
+            throw new IllegalArgumentException("The 'type' cannot be empty");
+        }
+        Task current = null;
+        if (operation.getType() != TaskOperation.Type.CREATE) {
+            if (operation.getId() == null) {
+                throw new IllegalArgumentException("The 'id' cannot be empty");
+            }
+            current = tasks.get(operation.getId());
+            if (current == null || deleted.contains(operation.getId())) {
+                throw new IllegalArgumentException("Task with id " + operation.getId()
+                        + " not found in To-Do with id " + todo.getId());
+            }
+            if (operation.getType() == TaskOperation.Type.DELETE) {
+                deleted.add(current.getId());
+                return current;
+            }
+        }
+        if (operation.getName() == null || operation.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("The 'name' cannot be empty");
+        }
+        Priority priority;
+        try {
+            priority = operation.getPriority() == null ? null : Priority.valueOf(operation.getPriority());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Priority '" + operation.getPriority() + "' does not exist");
+        }
+        State state;
+        if (operation.getStateId() != null) {
+            state = states.get(operation.getStateId());
+            if (state == null) {
+                throw new IllegalArgumentException("State with id " + operation.getStateId() + " not found");
+            }
+        } else if (current != null) {
+            state = current.getState();
+        } else {
+            state = states.values().stream()
+                    .filter(candidate -> initialState.equals(candidate.getName()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("State '" + initialState + "' not found"));
+        }
+
+        Task task = new Task();
+        task.setName(operation.getName());
+        task.setPriority(priority);
+        task.setDueAt(operation.getDueAt());
+        task.setTodo(todo);
+        task.setState(state);
+        if (current != null) {
+            task.setId(current.getId());
+            task.setRank(current.getRank());
+            task.setRecurrenceId(current.getRecurrenceId());
+            tasks.put(current.getId(), task);
+        }
+        return task;
+    }
+
+    private void write(ToDo todo, Map<Long, Task> tasks, List<TaskOperation> operations, List<Task> planned) {
+        List<Task> inserts = new ArrayList<>();
+        List<Task> updates = new ArrayList<>();
+        List<Task> deletes = new ArrayList<>();
+        String rank = tasks.values().stream().map(Task::getRank).max(String::compareTo).orElse(null);
+        for (int i = 0; i < planned.size(); i++) {
+            Task task = planned.get(i);
+            if (task == null) {
+                continue;
+            }
+            switch (operations.get(i).getType()) {
+                case CREATE:
+                    rank = LexoRank.after(rank);
+                    task.setRank(rank);
+                    inserts.add(task);
+                    break;
+                case UPDATE:
+                    updates.add(task);
+                    break;
+                case DELETE:
+                    deletes.add(task);
+                    break;
+            }
+        }
+        if (rank != null && LexoRank.needsRebalance(rank)) {
+            rankRebalancer.schedule(todo.getId());
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                    for (Task task : inserts) {
+                        ps.setString(1, task.getName());
+                        ps.setString(2, task.getPriority() == null ? null : task.getPriority().name());
+                        ps.setString(3, task.getRank());
+                        ps.setTimestamp(4, task.getDueAt() == null ? null : Timestamp.valueOf(task.getDueAt()));
+                        ps.setLong(5, todo.getId());
+                        ps.setObject(6, task.getState() == null ? null : task.getState().getId(), Types.BIGINT);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (Task task : inserts) {
+                            keys.next();
+                            task.setId(keys.getLong(1));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, task) -> {
+                ps.setString(1, task.getName());
+                ps.setString(2, task.getPriority() == null ? null : task.getPriority().name());
+                ps.setTimestamp(3, task.getDueAt() == null ? null : Timestamp.valueOf(task.getDueAt()));
+                ps.setObject(4, task.getState() == null ? null : task.getState().getId(), Types.BIGINT);
+                ps.setLong(5, task.getId());
+                ps.setLong(6, todo.getId());
+            });
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes, deletes.size(), (ps, task) -> {
+                ps.setLong(1, task.getId());
+                ps.setLong(2, todo.getId());
+            });
+        }
+
+        for (int i = 0; i < planned.size(); i++) {
+            Task task = planned.get(i);
+            if (task == null) {
+                continue;
+            }
+            switch (operations.get(i).getType()) {
+                case CREATE:
+                    reminderScheduler.rearm(task);
+                    publish(task, ChangeType.CREATED);
+                    break;
+                case UPDATE:
+                    reminderScheduler.rearm(task);
+                    publish(task, ChangeType.UPDATED);
+                    break;
+                case DELETE:
+                    reminderScheduler.cancel(task.getId());
+                    publish(task, ChangeType.DELETED);
+                    break;
+            }
+        }
+    }
+
+    private Task readSibling(Task task, long siblingId) {
+        Task sibling = readById(siblingId);
+        if (sibling.getTodo().getId() != task.getTodo().getId()) {
+            throw new EntityNotFoundException("Task with id " + siblingId + " not found in To-Do with id "
+                    + task.getTodo().getId());
+        }
+        return sibling;
+    }
+
+    private void publish(Task task, ChangeType changeType) {
+        Long todoId = task.getTodo() == null ? null : task.getTodo().getId();
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.TASK, changeType, task.getId(), todoId, null));
+    }
 }
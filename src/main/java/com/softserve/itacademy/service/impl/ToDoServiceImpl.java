@@ -1,13 +1,25 @@
 package com.softserve.itacademy.service.impl;
 
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
 import com.softserve.itacademy.exception.NullEntityReferenceException;
 import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.ArchivedTaskRepository;
+import com.softserve.itacademy.repository.ArchivedToDoRepository;
 import com.softserve.itacademy.repository.ToDoRepository;
 import com.softserve.itacademy.service.ToDoService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,21 +27,41 @@ import java.util.Optional;
 public class ToDoServiceImpl implements ToDoService {
 
     private ToDoRepository todoRepository;
+    private ArchivedToDoRepository archivedToDoRepository;
+    private ArchivedTaskRepository archivedTaskRepository;
+    private TodoArchiver todoArchiver;
+    private VisibilityIndex visibilityIndex;
+    private ApplicationEventPublisher eventPublisher;
 
-    public ToDoServiceImpl(ToDoRepository todoRepository) {
+    public ToDoServiceImpl(ToDoRepository todoRepository, ArchivedToDoRepository archivedToDoRepository,
+                           ArchivedTaskRepository archivedTaskRepository, TodoArchiver todoArchiver,
+                           VisibilityIndex visibilityIndex, ApplicationEventPublisher eventPublisher) {
         this.todoRepository = todoRepository;
+        this.archivedToDoRepository = archivedToDoRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.todoArchiver = todoArchiver;
+        this.visibilityIndex = visibilityIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public ToDo create(ToDo todo) {
+        ToDo saved;
         try {
-            return todoRepository.save(todo);
+            saved = todoRepository.save(todo);
         } catch (RuntimeException e) {
             throw new NullEntityReferenceException("To-Do cannot be 'null'");
         }
+        if (saved.getOwner() != null) {
+            visibilityIndex.grant(saved.getOwner().getId(), saved.getId());
+        }
+        publish(saved, ChangeType.CREATED);
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ToDo readById(long id) {
         Optional<ToDo> optional = todoRepository.findById(id);
         if (optional.isPresent()) {
@@ -39,35 +71,139 @@ public class ToDoServiceImpl implements ToDoService {
     }
 
     @Override
+    @Transactional
     public ToDo update(ToDo todo) {
         if (todo != null) {
             ToDo oldTodo = readById(todo.getId());
             if (oldTodo != null) {
-                return todoRepository.save(todo);
+                ToDo saved = todoRepository.save(todo);
+                publish(saved, ChangeType.UPDATED);
+                return saved;
             }
         }
         throw new NullEntityReferenceException("To-Do cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         ToDo todo = readById(id);
         if (todo != null) {
+            visibilityIndex.revokeStored(Collections.singletonList(id));
             todoRepository.delete(todo);
+            publish(todo, ChangeType.DELETED);
         } else {
             throw new EntityNotFoundException("To-Do with id " + id + " not found");
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ToDo> getAll() {
         List<ToDo> todos = todoRepository.findAll();
         return todos.isEmpty() ? new ArrayList<>() : todos;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ToDo> getByUserId(long userId) {
         List<ToDo> todos = todoRepository.getByUserId(userId);
         return todos.isEmpty() ? new ArrayList<>() : todos;
     }
+
+    @Override
+    public boolean isVisible(long userId, long todoId) {
+        return visibilityIndex.isVisible(userId, todoId);
+    }
+
+    @Override
+    public long[] getVisibleIds(long userId) {
+        return visibilityIndex.getVisibleIds(userId);
+    }
+
+    @Override
+    @Transactional
+    public ToDo addCollaborator(long id, User collaborator) {
+        ToDo todo = readById(id);
+        if (collaborator == null) {
+            throw new NullEntityReferenceException("Collaborator cannot be 'null'");
+        }
+        todo.getCollaborators().add(collaborator);
+        ToDo saved = todoRepository.save(todo);
+        visibilityIndex.grant(collaborator.getId(), id);
+        publishCollaborator(id, collaborator, ChangeType.CREATED);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public ToDo removeCollaborator(long id, User collaborator) {
+        ToDo todo = readById(id);
+        if (collaborator == null) {
+            throw new NullEntityReferenceException("Collaborator cannot be 'null'");
+        }
+        if (!todo.getCollaborators().removeIf(user -> user.getId() == collaborator.getId())) {
+            return todo;
+        }
+        ToDo saved = todoRepository.save(todo);
+        if (todo.getOwner() == null || todo.getOwner().getId() != collaborator.getId()) {
+            visibilityIndex.revoke(collaborator.getId(), id);
+        }
+        publishCollaborator(id, collaborator, ChangeType.DELETED);
+        return saved;
+    }
+
+    @Override
+    @Cacheable("todos")
+    @Transactional(readOnly = true)
+    public TodoView readViewById(long id) {
+        TodoView todo = todoRepository.getViewById(id);
+        if (todo == null) {
+            throw new EntityNotFoundException("To-Do with id " + id + " not found");
+        }
+        return todo;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TodoView> getViewsByUserId(long userId) {
+        return todoRepository.getViewsByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoView readArchivedViewById(long id) {
+        TodoView todo = archivedToDoRepository.getViewById(id);
+        if (todo == null) {
+            throw new EntityNotFoundException("Archived To-Do with id " + id + " not found");
+        }
+        return todo;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TodoView> getArchivedViewsByUserId(long userId) {
+        return archivedToDoRepository.getViewsByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskView> getArchivedTaskViews(long id) {
+        return archivedTaskRepository.getViewsByTodoId(id);
+    }
+
+    @Override
+    public void restore(long id) {
+        todoArchiver.restore(id);
+    }
+
+    private void publish(ToDo todo, ChangeType changeType) {
+        Long ownerId = todo.getOwner() == null ? null : todo.getOwner().getId();
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.TODO, changeType, todo.getId(), todo.getId(), ownerId));
+    }
+
+    private void publishCollaborator(long todoId, User collaborator, ChangeType changeType) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.COLLABORATOR, changeType,
+                collaborator.getId(), todoId, collaborator.getId()));
+    }
 }
@@ -0,0 +1,209 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.reminder.ReminderScheduler;
+import com.softserve.itacademy.shard.EntityKind;
+import com.softserve.itacademy.shard.ShardDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves To-Dos whose tasks are all in the done state and which were created (or restored) more
+ * than {@code archive.after-days} ago into the archive tables. Each chunk of
+ * {@code archive.batch-size} To-Dos is copied and deleted in its own short transaction, with a
+ * pause between chunks so the hot tables are never locked for long. The To-Do rows of a chunk
+ * keep new tasks out; its task rows are locked as well and the all-done check is repeated, so a
+ * task changed while the chunk was picked is not archived in its old state. To-Dos with recurring tasks
+ * keep receiving new tasks and are never archived, and neither are To-Dos of users whose bucket
+ * is being moved to another shard. Archiving and restoring publish a TODO event per To-Do, like
+ * the services do, so caches, streams and the change log follow.
+ */
+@Component
+public class TodoArchiver {
+    private static final String SELECT_ARCHIVABLE_SQL = "select t.id from todos t " +
+            "where t.created_at < :cutoff and (t.restored_at is null or t.restored_at < :cutoff) " +
+            "and exists (select 1 from tasks k where k.todo_id = t.id) " +
+            "and not exists (select 1 from recurring_tasks r where r.todo_id = t.id) " +
+            "and not exists (select 1 from tasks k left join states s on s.id = k.state_id " +
+            "where k.todo_id = t.id and (s.name is null or s.name <> :done)) ";
+    private static final String ORDER_ARCHIVABLE_SQL = "order by t.id limit :limit for update";
+    private static final String LOCK_TASKS_SQL = "select id from tasks where todo_id in (:ids) order by id for update";
+    private static final String RECHECK_SQL = "select t.id from todos t where t.id in (:ids) " +
+            "and exists (select 1 from tasks k where k.todo_id = t.id) " +
+            "and not exists (select 1 from tasks k left join states s on s.id = k.state_id " +
+            "where k.todo_id = t.id and (s.name is null or s.name <> :done)) order by t.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VisibilityIndex visibilityIndex;
+    private final ReminderScheduler reminderScheduler;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final int afterDays;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseMs;
+    private final String doneState;
+    private final Logger logger = LoggerFactory.getLogger(TodoArchiver.class);
+
+    public TodoArchiver(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                        ApplicationEventPublisher eventPublisher, VisibilityIndex visibilityIndex,
+                        ReminderScheduler reminderScheduler, ObjectProvider<ShardDirectory> shardDirectory,
+                        @Value("${archive.after-days:90}") int afterDays,
+                        @Value("${archive.batch-size:500}") int batchSize,
+                        @Value("${archive.max-batches:20}") int maxBatches,
+                        @Value("${archive.pause-ms:100}") long pauseMs,
+                        @Value("${archive.done-state:Done}") String doneState) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.visibilityIndex = visibilityIndex;
+        this.reminderScheduler = reminderScheduler;
+        this.shardDirectory = shardDirectory;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pauseMs = pauseMs;
+        this.doneState = doneState;
+    }
+
+    @Scheduled(initialDelayString = "${archive.initial-delay-ms:60000}", fixedDelayString = "${archive.interval-ms:3600000}")
+    public void archiveCompleted() {
+        ShardDirectory.forEachShard(shardDirectory, this::archiveShard);
+    }
+
+    private void archiveShard() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer moved;
+            try {
+                moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            } catch (RuntimeException e) {
+                logger.error("Archiving of To-Dos failed: {}", e.getMessage());
+                break;
+            }
+            total += moved == null ? 0 : moved;
+            if (moved == null || moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("{} completed To-Dos created before {} were archived.", total, cutoff);
+        }
+    }
+
+    public void restore(long todoId) {
+        ShardDirectory.onShardOf(shardDirectory, EntityKind.ARCHIVED_TODO, todoId,
+                () -> transactionTemplate.execute(status -> restoreOnShard(todoId)));
+        logger.info("To-Do with id '{}' was restored from the archive.", todoId);
+    }
+
+    /**
+     * The archive keeps owner and collaborators as plain ids, so either may have been deleted in
+     * the meantime: a missing owner fails the restore, missing collaborators are left out.
+     */
+    private Void restoreOnShard(long todoId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", Collections.singletonList(todoId))
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        List<Long> owners = jdbcTemplate.query("select owner_id from todos_archive where id in (:ids)", params,
+                (rs, rowNum) -> (Long) rs.getObject(1, Long.class));
+        if (owners.isEmpty()) {
+            throw new EntityNotFoundException("Archived To-Do with id " + todoId + " not found");
+        }
+        Long ownerId = owners.get(0);
+        ShardDirectory directory = shardDirectory.getIfAvailable();
+        if (ownerId != null && directory != null && directory.isMoving(ownerId)) {
+            throw new IllegalStateException("The data of user " + ownerId + " is being moved to another shard, " +
+                    "try again later");
+        }
+        if (ownerId != null && jdbcTemplate.queryForObject("select count(*) from users where id = :owner",
+                new MapSqlParameterSource("owner", ownerId), Integer.class) == 0) {
+            throw new EntityNotFoundException("Owner with id " + ownerId + " of archived To-Do with id " + todoId
+                    + " not found");
+        }
+        jdbcTemplate.update("insert into todos (id, title, created_at, owner_id, restored_at) " +
+                "select id, title, created_at, owner_id, :now from todos_archive where id in (:ids)", params);
+        jdbcTemplate.update("insert into tasks (id, name, priority, rank, due_at, todo_id, state_id) " +
+                "select id, name, priority, rank, due_at, todo_id, state_id from tasks_archive where todo_id in (:ids)", params);
+        jdbcTemplate.update("insert into todo_collaborator (todo_id, collaborator_id) select a.todo_id, a.collaborator_id " +
+                "from todo_collaborator_archive a join users u on u.id = a.collaborator_id where a.todo_id in (:ids)", params);
+        deleteFrom("todo_collaborator_archive", "tasks_archive", "todos_archive", params);
+        publish(todoId, ownerId, ChangeType.CREATED);
+        visibilityIndex.grantStored(todoId);
+        reminderScheduler.rearmTodo(todoId);
+        return null;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        String moving = ShardDirectory.movingPredicate(shardDirectory, "t.owner_id");
+        String sql = SELECT_ARCHIVABLE_SQL + (moving == null ? "" : "and not " + moving + " ") + ORDER_ARCHIVABLE_SQL;
+        List<Long> ids = jdbcTemplate.queryForList(sql, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("done", doneState)
+                .addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int picked = ids.size();
+        MapSqlParameterSource lock = new MapSqlParameterSource("ids", ids).addValue("done", doneState);
+        jdbcTemplate.queryForList(LOCK_TASKS_SQL, lock, Long.class);
+        ids = jdbcTemplate.queryForList(RECHECK_SQL, lock, Long.class);
+        if (ids.isEmpty()) {
+            return picked;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        Map<Long, Long> owners = new HashMap<>();
+        jdbcTemplate.query("select id, owner_id from todos where id in (:ids)", params, rs -> {
+            owners.put(rs.getLong(1), (Long) rs.getObject(2, Long.class));
+        });
+        jdbcTemplate.update("insert into todos_archive (id, title, created_at, owner_id, archived_at) " +
+                "select id, title, created_at, owner_id, :now from todos where id in (:ids)", params);
+        jdbcTemplate.update("insert into tasks_archive (id, name, priority, rank, due_at, todo_id, state_id) " +
+                "select id, name, priority, rank, due_at, todo_id, state_id from tasks where todo_id in (:ids)", params);
+        jdbcTemplate.update("insert into todo_collaborator_archive (todo_id, collaborator_id) " +
+                "select todo_id, collaborator_id from todo_collaborator where todo_id in (:ids)", params);
+        for (Long id : ids) {
+            publish(id, owners.get(id), ChangeType.DELETED);
+        }
+        visibilityIndex.revokeStored(ids);
+        deleteFrom("todo_collaborator", "tasks", "todos", params);
+        return picked;
+    }
+
+    private void publish(long todoId, Long ownerId, ChangeType changeType) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.TODO, changeType, todoId, todoId, ownerId));
+    }
+
+    private void deleteFrom(String collaboratorTable, String taskTable, String todoTable, MapSqlParameterSource params) {
+        jdbcTemplate.update("delete from " + collaboratorTable + " where todo_id in (:ids)", params);
+        jdbcTemplate.update("delete from " + taskTable + " where todo_id in (:ids)", params);
+        jdbcTemplate.update("delete from " + todoTable + " where id in (:ids)", params);
+    }
+}
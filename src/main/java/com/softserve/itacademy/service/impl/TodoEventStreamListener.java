@@ -0,0 +1,86 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.dto.UserView;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.TodoEventStreamService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Forwards changes to the subscribers of their To-Do. The changed row is read once, inside the
+ * writing transaction and only while the To-Do has subscribers, and pushed to all of them after
+ * commit, so subscribers update the page from the event instead of each reloading it.
+ */
+@Component
+public class TodoEventStreamListener {
+    private final TodoEventStreamService eventStreamService;
+    private final TaskRepository taskRepository;
+    private final ToDoRepository todoRepository;
+    private final UserRepository userRepository;
+
+    public TodoEventStreamListener(TodoEventStreamService eventStreamService, TaskRepository taskRepository,
+                                   ToDoRepository todoRepository, UserRepository userRepository) {
+        this.eventStreamService = eventStreamService;
+        this.taskRepository = taskRepository;
+        this.todoRepository = todoRepository;
+        this.userRepository = userRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getTodoId() == null || !eventStreamService.hasSubscribers(event.getTodoId())) {
+            return;
+        }
+        Map<String, Object> details = details(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventStreamService.publish(event, details);
+                }
+            });
+        } else {
+            eventStreamService.publish(event, details);
+        }
+    }
+
+    private Map<String, Object> details(EntityChangedEvent event) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (event.getChangeType() == ChangeType.DELETED && event.getEntityType() != EntityType.COLLABORATOR) {
+            return details;
+        }
+        long todoId = event.getTodoId();
+        switch (event.getEntityType()) {
+            case TASK:
+                TaskView task = taskRepository.getViewByTodoId(todoId, event.getEntityId());
+                if (task != null) {
+                    details.put("task", task);
+                    details.put("previousId", taskRepository.getPreviousIdByTodoId(todoId, event.getEntityId()));
+                }
+                break;
+            case COLLABORATOR:
+                userRepository.findById(event.getEntityId()).ifPresent(user -> details.put("user",
+                        new UserView(user.getId(), user.getFirstName(), user.getLastName(),
+                                event.getChangeType() != ChangeType.DELETED)));
+                break;
+            case TODO:
+                todoRepository.findById(todoId).ifPresent(todo -> details.put("title", todo.getTitle()));
+                break;
+            default:
+                break;
+        }
+        return details;
+    }
+}
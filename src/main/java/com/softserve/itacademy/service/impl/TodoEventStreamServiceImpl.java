@@ -0,0 +1,234 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.service.TodoEventStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes to-do changes to Server-Sent Event subscribers. Idle subscribers hold no thread, only
+ * an async servlet request; sends go through a small dispatcher pool. Each subscriber has a
+ * bounded outbox, and a subscriber that lets it fill up is disconnected so it reloads the page
+ * instead of holding back everyone else. A send blocks while the client's socket buffer is full,
+ * so a subscriber stuck in one send for longer than {@code sse.send-timeout-ms} is disconnected
+ * too, and the pool gets an extra thread until that send returns: stalled clients never reduce
+ * the threads left for the others.
+ */
+@Service
+public class TodoEventStreamServiceImpl implements TodoEventStreamService {
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor dispatcher;
+    private final int dispatcherThreads;
+    private final int maxDispatcherThreads;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+    private final int outboxCapacity;
+    private int stalledSends;
+    private final Logger logger = LoggerFactory.getLogger(TodoEventStreamServiceImpl.class);
+
+    public TodoEventStreamServiceImpl(@Value("${sse.dispatcher-threads:2}") int dispatcherThreads,
+                                      @Value("${sse.timeout-ms:1800000}") long timeoutMs,
+                                      @Value("${sse.outbox-capacity:32}") int outboxCapacity,
+                                      @Value("${sse.send-timeout-ms:5000}") long sendTimeoutMs,
+                                      @Value("${sse.max-dispatcher-threads:16}") int maxDispatcherThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatcher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcherThreads = dispatcherThreads;
+        this.maxDispatcherThreads = Math.max(dispatcherThreads, maxDispatcherThreads);
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.outboxCapacity = outboxCapacity;
+    }
+
+    @Override
+    public SseEmitter subscribe(long todoId) {
+        SseEmitter emitter = newEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(todoId, emitter, outboxCapacity);
+        subscribers.compute(todoId, (id, todoSubscribers) -> {
+            Set<Subscriber> result = todoSubscribers == null ? ConcurrentHashMap.newKeySet() : todoSubscribers;
+            result.add(subscriber);
+            return result;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    @Override
+    public boolean hasSubscribers(long todoId) {
+        Set<Subscriber> todoSubscribers = subscribers.get(todoId);
+        return todoSubscribers != null && !todoSubscribers.isEmpty();
+    }
+
+    /**
+     * Sends the change with {@code details}, the changed row as the page shows it, so subscribers
+     * update the page in place instead of reloading it.
+     */
+    @Override
+    public void publish(EntityChangedEvent event, Map<String, Object> details) {
+        Set<Subscriber> todoSubscribers = subscribers.get(event.getTodoId());
+        if (todoSubscribers == null || todoSubscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("entity", event.getEntityType());
+        data.put("change", event.getChangeType());
+        data.put("id", event.getEntityId());
+        data.putAll(details);
+        for (Subscriber subscriber : todoSubscribers) {
+            enqueue(subscriber, data);
+        }
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${sse.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        for (Set<Subscriber> todoSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : todoSubscribers) {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * Disconnects subscribers whose current send has taken longer than the send timeout. The
+     * emitter cannot be completed here, because completing waits for the blocked send; the
+     * dispatcher thread completes it once the send returns.
+     */
+    @Scheduled(fixedDelayString = "${sse.stall-check-interval-ms:1000}")
+    public void disconnectStalled() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> todoSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : todoSubscribers) {
+                long started = subscriber.sendStartedNanos;
+                if (started != 0 && now - started > sendTimeoutNanos && subscriber.stalled.compareAndSet(false, true)) {
+                    logger.warn("Subscriber of To-Do with id '{}' stalled in a send and was disconnected.",
+                            subscriber.todoId);
+                    remove(subscriber);
+                    resizeDispatcher(1);
+                }
+            }
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(todoSubscribers -> todoSubscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private void enqueue(Subscriber subscriber, Object message) {
+        if (!subscriber.outbox.offer(message)) {
+            logger.warn("Subscriber of To-Do with id '{}' is too slow and was disconnected.", subscriber.todoId);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object message;
+            while ((message = subscriber.outbox.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                try {
+                    subscriber.emitter.send(message == HEARTBEAT
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().name("change").data(message));
+                } finally {
+                    subscriber.sendStartedNanos = 0;
+                }
+                if (subscriber.stalled.get()) {
+                    subscriber.emitter.complete();
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            return;
+        } finally {
+            if (subscriber.stalled.get()) {
+                resizeDispatcher(-1);
+            }
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.outbox.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private synchronized void resizeDispatcher(int stalledDelta) {
+        stalledSends += stalledDelta;
+        int size = Math.min(maxDispatcherThreads, dispatcherThreads + stalledSends);
+        if (size > dispatcher.getMaximumPoolSize()) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else if (size < dispatcher.getMaximumPoolSize()) {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.todoId, (id, todoSubscribers) -> {
+            if (todoSubscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return todoSubscribers.isEmpty() ? null : todoSubscribers;
+        });
+    }
+
+    private static class Subscriber {
+        private final long todoId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        private volatile long sendStartedNanos;
+
+        private Subscriber(long todoId, SseEmitter emitter, int outboxCapacity) {
+            this.todoId = todoId;
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(outboxCapacity);
+        }
+    }
+}
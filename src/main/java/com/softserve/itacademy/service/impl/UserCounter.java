@@ -0,0 +1,75 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User counts for the directory pages. The per-role counts are taken with one grouped query on
+ * first use and on every refresh; between refreshes created and deleted users only move the
+ * total, so a filtered count can lag by up to one refresh interval.
+ */
+@Component
+public class UserCounter {
+    private static final String COUNT_SQL = "select role_id, count(*) from users group by role_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong delta = new AtomicLong();
+    private volatile Map<Long, Long> byRole;
+
+    public UserCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long count(Long roleId) {
+        Map<Long, Long> counts = byRole;
+        if (counts == null) {
+            counts = load();
+        }
+        if (roleId != null) {
+            return counts.getOrDefault(roleId, 0L);
+        }
+        long total = delta.get();
+        for (long count : counts.values()) {
+            total += count;
+        }
+        return Math.max(total, 0);
+    }
+
+    @Scheduled(initialDelayString = "${users.count-refresh-interval-ms:60000}",
+            fixedDelayString = "${users.count-refresh-interval-ms:60000}")
+    public void refresh() {
+        load();
+    }
+
+    private Map<Long, Long> load() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query(COUNT_SQL, rs -> {
+            counts.put(rs.getLong(1), rs.getLong(2));
+        });
+        delta.set(0);
+        byRole = Collections.unmodifiableMap(counts);
+        return byRole;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntityType() != EntityType.USER) {
+            return;
+        }
+        if (event.getChangeType() == ChangeType.CREATED) {
+            delta.incrementAndGet();
+        } else if (event.getChangeType() == ChangeType.DELETED) {
+            delta.decrementAndGet();
+        }
+    }
+}
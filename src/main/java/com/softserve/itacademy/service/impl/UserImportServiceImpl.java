@@ -0,0 +1,534 @@
+package com.softserve.itacademy.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.itacademy.dto.ImportFormat;
+import com.softserve.itacademy.dto.ImportResult;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.model.Role;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.service.PasswordHashingService;
+import com.softserve.itacademy.service.RoleService;
+import com.softserve.itacademy.service.UserImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityNotFoundException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Streams users from CSV or NDJSON and inserts them in JDBC batches. Only one batch of rows
+ * is held in memory at a time: e-mails are de-duplicated inside the batch, then against the
+ * database with a single {@code in (...)} query, and {@code on conflict do nothing} catches
+ * whatever slips in concurrently. Every rejected row goes to a CSV report on disk; reports are
+ * deleted after {@code import.report-retention-ms}.
+ * <p>
+ * An import runs as a background job: the upload is spooled to the report directory and read
+ * on a pool of {@code import.concurrent-imports} threads, and the request gets the import id
+ * back right away. Progress stays in memory for as long as the report is kept; when the pool's
+ * queue is full a new import is rejected.
+ * <p>
+ * Passwords of a batch are hashed on the bulk hashing pool, a chunk of {@code import.hash-window}
+ * rows per task, while the next batch is read; a batch is inserted once its hashes are ready.
+ * Rows are written past JPA, so each batch publishes the USER CREATED events itself, which keeps
+ * caches, the activity log and the user counts current.
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+    private static final String INSERT_SQL = "insert into users (first_name, last_name, email, password, role_id) " +
+            "values (?, ?, ?, ?, ?) on conflict do nothing";
+    private static final String EXISTING_SQL = "select email from users where email in (:emails)";
+    private static final String IDS_SQL = "select id from users where email in (:emails)";
+    private static final String[] COLUMNS = {"first_name", "last_name", "email", "password"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleService roleService;
+    private final PasswordHashingService passwordHashingService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int hashWindow;
+    private final long defaultRoleId;
+    private final Path reportDir;
+    private final long reportRetentionMs;
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final Map<String, Import> imports = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    public UserImportServiceImpl(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                                 TransactionTemplate transactionTemplate, RoleService roleService,
+                                 PasswordHashingService passwordHashingService, Validator validator,
+                                 ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                                 @Value("${import.batch-size:1000}") int batchSize,
+                                 @Value("${import.hash-window:32}") int hashWindow,
+                                 @Value("${import.default-role-id:2}") long defaultRoleId,
+                                 @Value("${import.report-dir:${java.io.tmpdir}/todo-imports}") String reportDir,
+                                 @Value("${import.report-retention-ms:604800000}") long reportRetentionMs,
+                                 @Value("${import.concurrent-imports:1}") int concurrentImports,
+                                 @Value("${import.queue-capacity:4}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.roleService = roleService;
+        this.passwordHashingService = passwordHashingService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.hashWindow = hashWindow;
+        this.defaultRoleId = defaultRoleId;
+        this.reportDir = Paths.get(reportDir);
+        this.reportRetentionMs = reportRetentionMs;
+        executor.setCorePoolSize(concurrentImports);
+        executor.setMaxPoolSize(concurrentImports);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("user-import-");
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    @Override
+    public ImportResult startImport(InputStream input, ImportFormat format) throws IOException {
+        String importId = UUID.randomUUID().toString();
+        Files.createDirectories(reportDir);
+        Role role = roleService.readById(defaultRoleId);
+        Path upload = reportDir.resolve(importId + ".upload");
+        Files.copy(input, upload);
+        Import state = new Import(importId, role);
+        imports.put(importId, state);
+        try {
+            executor.execute(() -> run(state, upload, format));
+        } catch (TaskRejectedException e) {
+            imports.remove(importId);
+            Files.deleteIfExists(upload);
+            logger.warn("User import queue is full, import was rejected.");
+            throw e;
+        }
+        return state.toResult();
+    }
+
+    @Override
+    public ImportResult getResult(String importId) {
+        Import state = imports.get(importId);
+        if (state == null) {
+            throw new EntityNotFoundException("Import with id " + importId + " not found");
+        }
+        return state.toResult();
+    }
+
+    private void run(Import state, Path upload, ImportFormat format) {
+        try (BufferedReader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8);
+             BufferedWriter report = Files.newBufferedWriter(reportDir.resolve(state.importId + ".csv"),
+                     StandardCharsets.UTF_8)) {
+            state.report = report;
+            report.write("row,email,error");
+            report.newLine();
+            if (format == ImportFormat.CSV) {
+                readCsv(reader, state);
+            } else {
+                readNdjson(reader, state);
+            }
+            flush(state);
+            insertPending(state);
+            state.status = ImportResult.Status.FINISHED;
+            logger.info("User import finished: {}", state.toResult());
+        } catch (IOException | RuntimeException e) {
+            state.status = ImportResult.Status.FAILED;
+            logger.error("User import {} failed after {} rows: {}", state.importId, state.total, e.getMessage(), e);
+        } finally {
+            state.finishedAt = System.currentTimeMillis();
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                logger.warn("Import upload '{}' could not be deleted: {}", upload, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Path getReport(String importId) {
+        Path report;
+        try {
+            report = reportDir.resolve(UUID.fromString(importId) + ".csv");
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException("Import report with id " + importId + " not found");
+        }
+        if (!Files.isReadable(report)) {
+            throw new EntityNotFoundException("Import report with id " + importId + " not found");
+        }
+        return report;
+    }
+
+    @Scheduled(fixedDelayString = "${import.report-cleanup-interval-ms:3600000}")
+    public void deleteExpiredReports() {
+        long cutoff = System.currentTimeMillis() - reportRetentionMs;
+        imports.values().removeIf(state -> state.finishedAt > 0 && state.finishedAt < cutoff);
+        if (!Files.isDirectory(reportDir)) {
+            return;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(reportDir, "*.csv")) {
+            for (Path report : reports) {
+                try {
+                    if (Files.getLastModifiedTime(report).toMillis() < cutoff && Files.deleteIfExists(report)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Import report '{}' could not be deleted: {}", report, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Import reports in '{}' could not be listed: {}", reportDir, e.getMessage());
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} expired import reports.", deleted);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Import state) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> index = new HashMap<>();
+        List<String> names = parseCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            index.put(normalize(names.get(i)), i);
+        }
+        for (String column : COLUMNS) {
+            if (!index.containsKey(column)) {
+                state.reject(1, null, "Missing column '" + column + "' in header");
+                return;
+            }
+        }
+        long rowNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            state.total++;
+            List<String> values;
+            try {
+                values = parseCsvLine(line);
+            } catch (IllegalArgumentException e) {
+                state.reject(rowNumber, null, e.getMessage());
+                continue;
+            }
+            accept(state, rowNumber, column(values, index.get("first_name")), column(values, index.get("last_name")),
+                    column(values, index.get("email")), column(values, index.get("password")));
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Import state) throws IOException {
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            state.total++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                state.reject(rowNumber, null, "Malformed JSON");
+                continue;
+            }
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field -> fields.put(normalize(field.getKey()), field.getValue().asText(null)));
+            accept(state, rowNumber, fields.get("first_name"), fields.get("last_name"),
+                    fields.get("email"), fields.get("password"));
+        }
+    }
+
+    private void accept(Import state, long rowNumber, String firstName, String lastName,
+                        String email, String password) throws IOException {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setPassword(password);
+        String error = validate(user);
+        if (error != null) {
+            state.reject(rowNumber, email, error);
+            return;
+        }
+        if (!state.batchEmails.add(email)) {
+            state.reject(rowNumber, email, "Duplicate e-mail in file");
+            return;
+        }
+        state.batch.add(new Row(rowNumber, user));
+        if (state.batch.size() >= batchSize) {
+            flush(state);
+        }
+    }
+
+    private String validate(User user) {
+        for (String[] required : new String[][]{{"first_name", user.getFirstName()}, {"last_name", user.getLastName()},
+                {"email", user.getEmail()}, {"password", user.getPassword()}}) {
+            if (required[1] == null || required[1].isEmpty()) {
+                return "Missing value for '" + required[0] + "'";
+            }
+        }
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Starts hashing the current batch and inserts the previous one, whose hashes had the time
+     * it took to read this batch to complete.
+     */
+    private void flush(Import state) throws IOException {
+        List<Row> batch = state.batch;
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(EXISTING_SQL,
+                new MapSqlParameterSource("emails", state.batchEmails), String.class));
+        List<Row> fresh = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (existing.contains(row.user.getEmail())) {
+                state.reject(row.number, row.user.getEmail(), "E-mail already exists");
+            } else {
+                fresh.add(row);
+            }
+        }
+        CompletableFuture<Void> hashes = hashPasswords(state, fresh);
+        insertPending(state);
+        state.pending = fresh;
+        state.pendingHashes = hashes;
+        state.batch = new ArrayList<>();
+        state.batchEmails.clear();
+    }
+
+    private void insertPending(Import state) throws IOException {
+        List<Row> rows = state.pending;
+        if (rows == null) {
+            return;
+        }
+        state.pendingHashes.join();
+        state.pending = null;
+        state.pendingHashes = null;
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Row> inserted = new ArrayList<>(rows.size());
+        int[][] counts = transactionTemplate.execute(status -> {
+            int[][] result = jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.user.getFirstName());
+                ps.setString(2, row.user.getLastName());
+                ps.setString(3, row.user.getEmail());
+                ps.setString(4, row.user.getPassword());
+                ps.setLong(5, state.role.getId());
+            });
+            int i = 0;
+            for (int[] chunk : result) {
+                for (int count : chunk) {
+                    Row row = rows.get(i++);
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        inserted.add(row);
+                    }
+                }
+            }
+            publishCreated(inserted);
+            return result;
+        });
+        int i = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                Row row = rows.get(i++);
+                if (count == 0) {
+                    state.reject(row.number, row.user.getEmail(), "E-mail already exists");
+                } else if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    state.imported++;
+                }
+            }
+        }
+    }
+
+    private void publishCreated(List<Row> inserted) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+        Set<String> emails = inserted.stream().map(row -> row.user.getEmail()).collect(Collectors.toSet());
+        for (Long id : namedJdbcTemplate.queryForList(IDS_SQL, new MapSqlParameterSource("emails", emails), Long.class)) {
+            eventPublisher.publishEvent(new EntityChangedEvent(EntityType.USER, ChangeType.CREATED, id, null, id));
+        }
+    }
+
+    private CompletableFuture<Void> hashPasswords(Import state, List<Row> rows) {
+        List<Row> plain = rows.stream()
+                .filter(row -> !passwordHashingService.isEncoded(row.user.getPassword()))
+                .collect(Collectors.toList());
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < plain.size(); from += hashWindow) {
+            List<Row> chunk = plain.subList(from, Math.min(from + hashWindow, plain.size()));
+            List<String> passwords = chunk.stream().map(row -> row.user.getPassword()).collect(Collectors.toList());
+            while (true) {
+                try {
+                    chunks.add(passwordHashingService.encodeAll(passwords).thenAccept(hashes -> {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            chunk.get(i).user.setPassword(hashes.get(i));
+                        }
+                    }));
+                    break;
+                } catch (RejectedExecutionException e) {
+                    if (state.pendingHashes != null && !state.pendingHashes.isDone()) {
+                        state.pendingHashes.join();
+                    } else if (!chunks.isEmpty()) {
+                        CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]));
+    }
+
+    private static String column(List<String> values, int index) {
+        return index < values.size() ? values.get(index).trim() : null;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static class Row {
+        private final long number;
+        private final User user;
+
+        private Row(long number, User user) {
+            this.number = number;
+            this.user = user;
+        }
+    }
+
+    private static class Import {
+        private final String importId;
+        private final Role role;
+        private List<Row> batch = new ArrayList<>();
+        private final Set<String> batchEmails = new HashSet<>();
+        private List<Row> pending;
+        private CompletableFuture<Void> pendingHashes;
+        private BufferedWriter report;
+        private volatile ImportResult.Status status = ImportResult.Status.RUNNING;
+        private volatile long finishedAt;
+        private volatile long total;
+        private volatile long imported;
+        private volatile long rejected;
+
+        private Import(String importId, Role role) {
+            this.importId = importId;
+            this.role = role;
+        }
+
+        private ImportResult toResult() {
+            return new ImportResult(importId, status, total, imported, rejected);
+        }
+
+        private void reject(long rowNumber, String email, String error) throws IOException {
+            rejected++;
+            report.write(rowNumber + "," + csvValue(email) + "," + csvValue(error));
+            report.newLine();
+        }
+    }
+}
@@ -1,35 +1,83 @@
 package com.softserve.itacademy.service.impl;
 
+import com.softserve.itacademy.dto.UserPage;
+import com.softserve.itacademy.dto.UserSort;
+import com.softserve.itacademy.dto.UserView;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.exception.InvalidCursorException;
 import com.softserve.itacademy.exception.NullEntityReferenceException;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.ToDoRepository;
 import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.PasswordHashingService;
 import com.softserve.itacademy.service.UserService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final String CURSOR_SEPARATOR = "\u0000";
+
     private UserRepository userRepository;
+    private ToDoRepository todoRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private UserCounter userCounter;
+    private VisibilityIndex visibilityIndex;
+    private PasswordHashingService passwordHashingService;
+    private Executor taskExecutor;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    /**
+     * @param taskExecutor saves an upgraded password hash, so the hashing threads are not held
+     *                     for a transaction
+     */
+    public UserServiceImpl(UserRepository userRepository, ToDoRepository todoRepository,
+                           ApplicationEventPublisher eventPublisher, UserCounter userCounter,
+                           VisibilityIndex visibilityIndex, PasswordHashingService passwordHashingService,
+                           @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.userRepository = userRepository;
+        this.todoRepository = todoRepository;
+        this.eventPublisher = eventPublisher;
+        this.userCounter = userCounter;
+        this.visibilityIndex = visibilityIndex;
+        this.passwordHashingService = passwordHashingService;
+        this.taskExecutor = taskExecutor;
     }
 
     @Override
+    @Transactional
     public User create(User user) {
+        User saved;
         try {
-            return userRepository.save(user);
+            saved = userRepository.save(user);
         } catch (IllegalArgumentException e) {
             throw new NullEntityReferenceException("User cannot be 'null'");
         }
+        publish(saved.getId(), ChangeType.CREATED);
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User readById(long id) {
         Optional<User> optional = userRepository.findById(id);
         if (optional.isPresent()) {
@@ -39,30 +87,133 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public User update(User user) {
         if (user != null) {
             User oldUser = readById(user.getId());
             if (oldUser != null) {
-                return userRepository.save(user);
+                User saved = userRepository.save(user);
+                publish(saved.getId(), ChangeType.UPDATED);
+                return saved;
             }
         }
         throw new NullEntityReferenceException("User cannot be 'null'");
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         User user = readById(id);
         if (user != null) {
+            Map<Long, List<Long>> sharedTodos = new HashMap<>();
+            for (Object[] shared : todoRepository.getSharedByUserId(id)) {
+                sharedTodos.computeIfAbsent(((Number) shared[0]).longValue(), collaborator -> new ArrayList<>())
+                        .add(((Number) shared[1]).longValue());
+            }
+            visibilityIndex.revoke(sharedTodos);
+            visibilityIndex.removeUser(id);
             userRepository.delete(user);
+            publish(id, ChangeType.DELETED);
         } else {
             throw new EntityNotFoundException("User with id " + id + " not found");
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAll() {
         List<User> users = userRepository.findAll();
         return users.isEmpty() ? new ArrayList<>() : users;
     }
 
+    /**
+     * Keyset paging: {@code after} is the opaque cursor of the previous page, so every page
+     * costs one index range scan of {@code size + 1} rows however deep it is.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage getPage(UserSort sort, Long roleId, String after, int size) {
+        String[] cursor = decodeCursor(after, sort == UserSort.EMAIL ? 1 : 3);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<User> users = sort == UserSort.EMAIL
+                ? userRepository.getPageByEmail(roleId, cursor[0], limit)
+                : userRepository.getPageByName(roleId, cursor[0], cursor[1], Long.parseLong(cursor[2]), limit);
+        String next = null;
+        if (users.size() > size) {
+            users = new ArrayList<>(users.subList(0, size));
+            User last = users.get(size - 1);
+            next = sort == UserSort.EMAIL
+                    ? encodeCursor(last.getEmail())
+                    : encodeCursor(last.getLastName(), last.getFirstName(), String.valueOf(last.getId()));
+        }
+        return new UserPage(users, next, userCounter.count(roleId));
+    }
+
+    @Override
+    @Cacheable("users")
+    @Transactional(readOnly = true)
+    public List<UserView> getViewsByTodoId(long todoId) {
+        return userRepository.getViewsByTodoId(todoId);
+    }
+
+    /**
+     * Matches the password on the hashing pool. A match against a plain-text password or a hash
+     * cheaper than the calibrated strength is re-encoded and saved. The upgrade is best effort:
+     * when the hashing queue is full the check still succeeds and the upgrade waits for the next
+     * login.
+     */
+    @Override
+    public CompletableFuture<Boolean> checkPassword(long id, String rawPassword) {
+        String encodedPassword = readById(id).getPassword();
+        return passwordHashingService.matches(rawPassword, encodedPassword).thenCompose(matches -> {
+            if (!matches || !passwordHashingService.upgradeEncoding(encodedPassword)) {
+                return CompletableFuture.completedFuture(matches);
+            }
+            CompletableFuture<String> upgraded;
+            try {
+                upgraded = passwordHashingService.encode(rawPassword);
+            } catch (TaskRejectedException e) {
+                return CompletableFuture.completedFuture(true);
+            }
+            return upgraded.thenApplyAsync(hash -> {
+                if (userRepository.updatePassword(id, encodedPassword, hash) > 0) {
+                    publish(id, ChangeType.UPDATED);
+                }
+                return true;
+            }, taskExecutor);
+        });
+    }
+
+    private static String encodeCursor(String... values) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(CURSOR_SEPARATOR, values).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, int length) {
+        if (cursor == null || cursor.isEmpty()) {
+            String[] first = new String[length];
+            Arrays.fill(first, "");
+            if (length > 1) {
+                first[length - 1] = "0";
+            }
+            return first;
+        }
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR, -1);
+            if (values.length == length) {
+                if (length > 1) {
+                    Long.parseLong(values[length - 1]);
+                }
+                return values;
+            }
+        } catch (IllegalArgumentException e) {
+            // not Base64 or not a number; reported below
+        }
+        throw new InvalidCursorException("Cursor '" + cursor + "' is not valid");
+    }
+
+    private void publish(long id, ChangeType changeType) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.USER, changeType, id, null, id));
+    }
 }
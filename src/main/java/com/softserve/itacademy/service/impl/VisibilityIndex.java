@@ -0,0 +1,276 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.shard.EntityKind;
+import com.softserve.itacademy.shard.ShardDirectory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Which To-Dos each user can see, as owner or collaborator, kept as one compressed bitmap of
+ * To-Do ids per user. Readers never lock: a user's bitmap is replaced, not changed, on every
+ * update. The index is loaded on startup and again every {@code visibility.rebuild-interval-ms},
+ * which also picks up the few writes that do not go through the update methods, such as the
+ * To-Dos removed together with their owner. Updates made while a rebuild is reading are
+ * replayed onto its result, so none of them is lost.
+ * <p>
+ * The update methods change only this node's index. Other nodes hear of a changed To-Do or
+ * collaborator, and of a deleted user, through the cache invalidation bus, which calls
+ * {@link #refresh(long)} or {@link #rebuild()}; until that message arrives, or if it is lost,
+ * their index may be behind, so checks that must not be (such as sync) read the database.
+ */
+@Component
+public class VisibilityIndex {
+    private static final String OWNERS_SQL = "select owner_id, id from todos";
+    private static final String COLLABORATORS_SQL = "select collaborator_id, todo_id from todo_collaborator";
+    private static final String TODO_USERS_SQL = "select owner_id from todos where id = ? union " +
+            "select collaborator_id from todo_collaborator where todo_id = ?";
+    private static final String TODOS_USERS_SQL = "select owner_id, id from todos where id in (:ids) union all " +
+            "select collaborator_id, todo_id from todo_collaborator where todo_id in (:ids)";
+    private static final long[] NONE = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final Object rebuildLock = new Object();
+    private final Logger logger = LoggerFactory.getLogger(VisibilityIndex.class);
+    private volatile ConcurrentHashMap<Long, Roaring64Bitmap> visible;
+    private List<Consumer<Map<Long, Roaring64Bitmap>>> pending;
+
+    public VisibilityIndex(JdbcTemplate jdbcTemplate, ObjectProvider<ShardDirectory> shardDirectory,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.shardDirectory = shardDirectory;
+        Gauge.builder("visibility.index.users", this, index -> index.visible == null ? 0 : index.visible.size())
+                .register(meterRegistry);
+        Gauge.builder("visibility.index.bytes", this, VisibilityIndex::getSizeInBytes).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.error("Loading the visibility index failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${visibility.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${visibility.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            load();
+        }
+    }
+
+    private void load() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        Map<Long, Roaring64Bitmap> loaded = new HashMap<>();
+        try {
+            ShardDirectory.forEachShard(shardDirectory, () -> {
+                jdbcTemplate.query(OWNERS_SQL, rs -> {
+                    loaded.computeIfAbsent(rs.getLong(1), user -> new Roaring64Bitmap()).addLong(rs.getLong(2));
+                });
+                jdbcTemplate.query(COLLABORATORS_SQL, rs -> {
+                    loaded.computeIfAbsent(rs.getLong(1), user -> new Roaring64Bitmap()).addLong(rs.getLong(2));
+                });
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        loaded.values().forEach(Roaring64Bitmap::runOptimize);
+        ConcurrentHashMap<Long, Roaring64Bitmap> rebuilt = new ConcurrentHashMap<>(loaded);
+        synchronized (this) {
+            pending.forEach(update -> update.accept(rebuilt));
+            pending = null;
+            visible = rebuilt;
+        }
+        logger.info("Visibility index loaded for {} users, {} bytes.", rebuilt.size(), getSizeInBytes());
+    }
+
+    public boolean isVisible(long userId, long todoId) {
+        Roaring64Bitmap todos = index().get(userId);
+        return todos != null && todos.contains(todoId);
+    }
+
+    /**
+     * Ids of the To-Dos the user owns or collaborates on, in ascending order.
+     */
+    public long[] getVisibleIds(long userId) {
+        Roaring64Bitmap todos = index().get(userId);
+        return todos == null ? NONE : todos.toArray();
+    }
+
+    public long getSizeInBytes() {
+        Map<Long, Roaring64Bitmap> current = visible;
+        if (current == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (Roaring64Bitmap todos : current.values()) {
+            bytes += todos.getLongSizeInBytes();
+        }
+        return bytes;
+    }
+
+    public void grant(long userId, long todoId) {
+        afterCommit(index -> index.compute(userId, (user, todos) -> {
+            Roaring64Bitmap copy = todos == null ? new Roaring64Bitmap() : todos.clone();
+            copy.addLong(todoId);
+            return copy;
+        }));
+    }
+
+    public void revoke(long userId, long todoId) {
+        afterCommit(index -> index.computeIfPresent(userId, (user, todos) ->
+                without(todos, Collections.singletonList(todoId))));
+    }
+
+    /**
+     * Removes the To-Dos listed for each user from that user's bitmap; other users are not visited.
+     */
+    public void revoke(Map<Long, ? extends Collection<Long>> todosByUser) {
+        if (todosByUser.isEmpty()) {
+            return;
+        }
+        afterCommit(index -> todosByUser.forEach((userId, todoIds) ->
+                index.computeIfPresent(userId, (user, todos) -> without(todos, todoIds))));
+    }
+
+    /**
+     * Removes the To-Dos from their owners and collaborators as they are stored now, for writes
+     * that remove To-Dos without knowing who could see them. Has to be called before the rows
+     * are deleted, in the transaction that deletes them.
+     */
+    public void revokeStored(Collection<Long> todoIds) {
+        if (todoIds.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> todosByUser = new HashMap<>();
+        namedJdbcTemplate.query(TODOS_USERS_SQL, new MapSqlParameterSource("ids", todoIds), rs -> {
+            todosByUser.computeIfAbsent(rs.getLong(1), user -> new ArrayList<>()).add(rs.getLong(2));
+        });
+        revoke(todosByUser);
+    }
+
+    /**
+     * Grants the To-Do to its owner and collaborators as they are stored now, for writes that
+     * bring a To-Do back without knowing who could see it.
+     */
+    public void grantStored(long todoId) {
+        List<Long> users = jdbcTemplate.queryForList(TODO_USERS_SQL, Long.class, todoId, todoId);
+        users.forEach(userId -> grant(userId, todoId));
+    }
+
+    /**
+     * Makes the To-Do visible to exactly its owner and collaborators as stored now, for changes
+     * committed on another node. Every user's bitmap is checked for the To-Do, which is cheap
+     * enough for membership changes.
+     */
+    public void refresh(long todoId) {
+        Set<Long> users = new HashSet<>(ShardDirectory.onShardOf(shardDirectory, EntityKind.TODO, todoId,
+                () -> jdbcTemplate.queryForList(TODO_USERS_SQL, Long.class, todoId, todoId)));
+        apply(index -> {
+            for (Map.Entry<Long, Roaring64Bitmap> entry : index.entrySet()) {
+                if (!users.contains(entry.getKey()) && entry.getValue().contains(todoId)) {
+                    index.computeIfPresent(entry.getKey(), (user, todos) ->
+                            without(todos, Collections.singletonList(todoId)));
+                }
+            }
+            for (Long userId : users) {
+                index.compute(userId, (user, todos) -> {
+                    if (todos != null && todos.contains(todoId)) {
+                        return todos;
+                    }
+                    Roaring64Bitmap copy = todos == null ? new Roaring64Bitmap() : todos.clone();
+                    copy.addLong(todoId);
+                    return copy;
+                });
+            }
+        });
+    }
+
+    public void removeUser(long userId) {
+        afterCommit(index -> index.remove(userId));
+    }
+
+    private Map<Long, Roaring64Bitmap> index() {
+        Map<Long, Roaring64Bitmap> current = visible;
+        if (current == null) {
+            synchronized (rebuildLock) {
+                if (visible == null) {
+                    load();
+                }
+                current = visible;
+            }
+        }
+        return current;
+    }
+
+    private static Roaring64Bitmap without(Roaring64Bitmap todos, Collection<Long> todoIds) {
+        Roaring64Bitmap copy = null;
+        for (long todoId : todoIds) {
+            if (todos.contains(todoId)) {
+                if (copy == null) {
+                    copy = todos.clone();
+                }
+                copy.removeLong(todoId);
+            }
+        }
+        if (copy == null) {
+            return todos;
+        }
+        return copy.isEmpty() ? null : copy;
+    }
+
+    private void afterCommit(Consumer<Map<Long, Roaring64Bitmap>> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private synchronized void apply(Consumer<Map<Long, Roaring64Bitmap>> update) {
+        if (visible != null) {
+            update.accept(visible);
+        }
+        if (pending != null) {
+            pending.add(update);
+        }
+    }
+}
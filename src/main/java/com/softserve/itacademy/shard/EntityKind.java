@@ -0,0 +1,23 @@
+package com.softserve.itacademy.shard;
+
+/**
+ * Sharded entities that can be looked up by id, with the query that finds their owner on the
+ * shard that holds them.
+ */
+public enum EntityKind {
+    TODO("select owner_id from todos where id = ?"),
+    TASK("select d.owner_id from tasks t join todos d on d.id = t.todo_id where t.id = ?"),
+    RECURRING_TASK("select d.owner_id from recurring_tasks r join todos d on d.id = r.todo_id where r.id = ?"),
+    ARCHIVED_TODO("select owner_id from todos_archive where id = ?"),
+    ARCHIVED_TASK("select d.owner_id from tasks_archive t join todos_archive d on d.id = t.todo_id where t.id = ?");
+
+    private final String ownerSql;
+
+    EntityKind(String ownerSql) {
+        this.ownerSql = ownerSql;
+    }
+
+    String getOwnerSql() {
+        return ownerSql;
+    }
+}
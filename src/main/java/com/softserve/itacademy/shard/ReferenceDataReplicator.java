@@ -0,0 +1,98 @@
+package com.softserve.itacademy.shard;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps copies of users, roles and states on every shard, because sharded rows join them.
+ * Changes made through the services are applied after commit; rows inserted around them, such
+ * as the seed data or a bulk user import, are picked up by {@link #catchUp()} by id.
+ */
+public class ReferenceDataReplicator {
+    private static final String[] TABLES = {"roles", "states", "users"};
+
+    private final ShardDirectory directory;
+    private final Logger logger = LoggerFactory.getLogger(ReferenceDataReplicator.class);
+
+    public ReferenceDataReplicator(ShardDirectory directory) {
+        this.directory = directory;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(EntityChangedEvent event) {
+        String table = tableOf(event.getEntityType());
+        if (table == null) {
+            return;
+        }
+        Shard source = directory.getDirectory();
+        for (Shard shard : directory.getShards()) {
+            if (shard == source) {
+                continue;
+            }
+            try {
+                shard.getTransactionTemplate().executeWithoutResult(status -> {
+                    if (event.getChangeType() == ChangeType.DELETED && event.getEntityType() == EntityType.USER) {
+                        deleteUserData(shard, event.getEntityId());
+                    }
+                    shard.getJdbcTemplate().update("delete from " + table + " where id = ?", event.getEntityId());
+                    if (event.getChangeType() != ChangeType.DELETED) {
+                        TableCopier.copy(source, shard, table, "select * from " + table + " where id = ?",
+                                event.getEntityId());
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.error("Replicating {} {} to '{}' failed: {}", table, event.getEntityId(), shard.getName(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.shards.replicate-interval-ms:10000}")
+    public void catchUp() {
+        Shard source = directory.getDirectory();
+        for (Shard shard : directory.getShards()) {
+            if (shard == source) {
+                continue;
+            }
+            for (String table : TABLES) {
+                try {
+                    Long last = shard.getJdbcTemplate().queryForObject("select max(id) from " + table, Long.class);
+                    int copied = TableCopier.copy(source, shard, table,
+                            "select * from " + table + " where id > ? order by id", last == null ? 0 : last);
+                    if (copied > 0) {
+                        logger.info("Copied {} new row(s) of {} to '{}'.", copied, table, shard.getName());
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Catching up {} on '{}' failed: {}", table, shard.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void deleteUserData(Shard shard, long userId) {
+        String owned = "(select id from todos where owner_id = ?)";
+        shard.getJdbcTemplate().update("delete from tasks where todo_id in " + owned, userId);
+        shard.getJdbcTemplate().update("delete from recurring_tasks where todo_id in " + owned, userId);
+        shard.getJdbcTemplate().update("delete from todo_collaborator where collaborator_id = ? or todo_id in " +
+                owned, userId, userId);
+        shard.getJdbcTemplate().update("delete from todos where owner_id = ?", userId);
+    }
+
+    private static String tableOf(EntityType type) {
+        switch (type) {
+            case USER:
+                return "users";
+            case ROLE:
+                return "roles";
+            case STATE:
+                return "states";
+            default:
+                return null;
+        }
+    }
+}
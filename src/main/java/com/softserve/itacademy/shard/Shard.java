@@ -0,0 +1,56 @@
+package com.softserve.itacademy.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+public class Shard {
+    private final String name;
+    private final int index;
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public Shard(String name, int index, DataSource dataSource) {
+        this.name = name;
+        this.index = index;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Works on the shard's own pool, outside of any transaction bound to the routing data source.
+     */
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate.getJdbcTemplate();
+    }
+
+    public NamedParameterJdbcTemplate getNamedJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * Transaction on the shard's own pool, for statements run through {@link #getJdbcTemplate()}.
+     */
+    public TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+}
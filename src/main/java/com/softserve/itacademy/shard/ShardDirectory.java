@@ -0,0 +1,240 @@
+package com.softserve.itacademy.shard;
+
+import com.softserve.itacademy.dto.ShardStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Places users on shards. A user falls into bucket {@code id mod datasource.shards.buckets};
+ * buckets are assigned to shards in {@code shard_buckets} on the directory shard (the first
+ * one), and an unassigned bucket lives on the directory shard. Everything a user owns - their
+ * To-Dos with tasks, collaborators, recurring rules and archive - is stored on the user's shard.
+ * <p>
+ * Lookups by To-Do or task id go through the owner: the id is searched on every shard once and
+ * the owner is cached, which stays valid because the owner of a row never changes, even when
+ * its bucket moves.
+ */
+public class ShardDirectory implements SmartInitializingSingleton {
+    private final List<Shard> shards;
+    private final Map<String, Shard> shardsByName = new HashMap<>();
+    private final int buckets;
+    private final Map<Integer, String> assignments = new ConcurrentHashMap<>();
+    private final Set<Integer> moving = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> owners;
+    private final Logger logger = LoggerFactory.getLogger(ShardDirectory.class);
+
+    public ShardDirectory(List<Shard> shards, int buckets, int cacheSize) {
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+        for (Shard shard : shards) {
+            shardsByName.put(shard.getName(), shard);
+        }
+        this.buckets = buckets;
+        this.owners = Collections.synchronizedMap(new LinkedHashMap<String, Long>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.shards.refresh-interval-ms:5000}")
+    public void refresh() {
+        Map<Integer, String> loaded = new HashMap<>();
+        Set<Integer> loadedMoving = new HashSet<>();
+        try {
+            getDirectory().getJdbcTemplate().query("select bucket, shard, moving from shard_buckets", rs -> {
+                loaded.put(rs.getInt("bucket"), rs.getString("shard"));
+                if (rs.getBoolean("moving")) {
+                    loadedMoving.add(rs.getInt("bucket"));
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Shard assignments could not be loaded: {}", e.getMessage());
+            return;
+        }
+        assignments.keySet().retainAll(loaded.keySet());
+        assignments.putAll(loaded);
+        moving.retainAll(loadedMoving);
+        moving.addAll(loadedMoving);
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public Shard getDirectory() {
+        return shards.get(0);
+    }
+
+    public Shard getShard(String name) {
+        Shard shard = shardsByName.get(name);
+        if (shard == null) {
+            throw new IllegalArgumentException("Unknown shard '" + name + "'");
+        }
+        return shard;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public int bucketOf(long userId) {
+        return (int) Math.floorMod(userId, (long) buckets);
+    }
+
+    public String shardOfBucket(int bucket) {
+        return assignments.getOrDefault(bucket, getDirectory().getName());
+    }
+
+    public String shardOfUser(long userId) {
+        return shardOfBucket(bucketOf(userId));
+    }
+
+    public boolean isMoving(long userId) {
+        return moving.contains(bucketOf(userId));
+    }
+
+    /**
+     * A predicate matching rows whose owner (in {@code ownerColumn}) is in a bucket being moved,
+     * or {@code null} if no bucket is. Jobs that write with plain JDBC bypass the routing advice
+     * and exclude these rows in the query that picks their work.
+     */
+    public String movingPredicate(String ownerColumn) {
+        List<Integer> buckets = new ArrayList<>(moving);
+        if (buckets.isEmpty()) {
+            return null;
+        }
+        Collections.sort(buckets);
+        StringBuilder predicate = new StringBuilder("mod(").append(ownerColumn).append(", ")
+                .append(this.buckets).append(") in (");
+        for (int i = 0; i < buckets.size(); i++) {
+            predicate.append(i == 0 ? "" : ", ").append(buckets.get(i));
+        }
+        return predicate.append(")").toString();
+    }
+
+    public List<ShardStatus> getStatus() {
+        List<ShardStatus> status = new ArrayList<>();
+        for (Shard shard : shards) {
+            int assigned = 0;
+            List<Integer> movingBuckets = new ArrayList<>();
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                if (shard.getName().equals(shardOfBucket(bucket))) {
+                    assigned++;
+                    if (moving.contains(bucket)) {
+                        movingBuckets.add(bucket);
+                    }
+                }
+            }
+            Long todos = shard.getJdbcTemplate().queryForObject("select count(*) from todos", Long.class);
+            Long tasks = shard.getJdbcTemplate().queryForObject("select count(*) from tasks", Long.class);
+            status.add(new ShardStatus(shard.getName(), assigned, movingBuckets,
+                    todos == null ? 0 : todos, tasks == null ? 0 : tasks));
+        }
+        return status;
+    }
+
+    /**
+     * Owner of the entity, or {@code null} if no shard has it.
+     */
+    public Long ownerOf(EntityKind kind, long id) {
+        String key = kind.name() + ":" + id;
+        Long owner = owners.get(key);
+        if (owner != null) {
+            return owner;
+        }
+        for (Shard shard : shards) {
+            List<Long> found = shard.getJdbcTemplate().queryForList(kind.getOwnerSql(), Long.class, id);
+            if (!found.isEmpty() && found.get(0) != null) {
+                owners.put(key, found.get(0));
+                return found.get(0);
+            }
+        }
+        return null;
+    }
+
+    void assign(int bucket, String shard, boolean isMoving) {
+        getShard(shard);
+        Shard directory = getDirectory();
+        directory.getTransactionTemplate().executeWithoutResult(status -> {
+            directory.getJdbcTemplate().update("delete from shard_buckets where bucket = ?", bucket);
+            directory.getJdbcTemplate().update("insert into shard_buckets (bucket, shard, moving) values (?, ?, ?)",
+                    bucket, shard, isMoving);
+        });
+        assignments.put(bucket, shard);
+        if (isMoving) {
+            moving.add(bucket);
+        } else {
+            moving.remove(bucket);
+        }
+    }
+
+    public void forEachShard(Runnable action) {
+        for (Shard shard : shards) {
+            String previous = ShardContext.set(shard.getName());
+            try {
+                action.run();
+            } finally {
+                ShardContext.restore(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code action} once per shard, or once if sharding is off.
+     */
+    public static void forEachShard(ObjectProvider<ShardDirectory> directory, Runnable action) {
+        ShardDirectory shardDirectory = directory.getIfAvailable();
+        if (shardDirectory == null) {
+            action.run();
+        } else {
+            shardDirectory.forEachShard(action);
+        }
+    }
+
+    /**
+     * {@link #movingPredicate(String)}, or {@code null} if sharding is off.
+     */
+    public static String movingPredicate(ObjectProvider<ShardDirectory> directory, String ownerColumn) {
+        ShardDirectory shardDirectory = directory.getIfAvailable();
+        return shardDirectory == null ? null : shardDirectory.movingPredicate(ownerColumn);
+    }
+
+    /**
+     * Runs {@code action} on the shard that holds the entity, or as is if sharding is off.
+     */
+    public static <T> T onShardOf(ObjectProvider<ShardDirectory> directory, EntityKind kind, long id,
+                                  Supplier<T> action) {
+        ShardDirectory shardDirectory = directory.getIfAvailable();
+        if (shardDirectory == null) {
+            return action.get();
+        }
+        Long owner = shardDirectory.ownerOf(kind, id);
+        String shard = owner == null ? shardDirectory.getDirectory().getName() : shardDirectory.shardOfUser(owner);
+        String previous = ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+}
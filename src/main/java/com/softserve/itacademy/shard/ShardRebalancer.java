@@ -0,0 +1,114 @@
+package com.softserve.itacademy.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Moves a bucket of users to another shard while the application keeps running:
+ * <ol>
+ *     <li>the bucket is marked moving, which rejects writes to its rows;</li>
+ *     <li>its To-Dos with everything hanging off them are copied in chunks;</li>
+ *     <li>the bucket is assigned to the target shard, which redirects reads and writes;</li>
+ *     <li>the rows are deleted from the source shard.</li>
+ * </ol>
+ * After each flip the rebalancer waits {@code datasource.shards.move-wait-ms}, which has to be
+ * longer than the directory refresh interval so that every instance sees the new state before
+ * the next step. A failed copy is rolled back by deleting what reached the target.
+ */
+public class ShardRebalancer {
+    private static final String[][] OWNED_TABLES = {
+            {"todos", "tasks", "recurring_tasks", "todo_collaborator"},
+            {"todos_archive", "tasks_archive", "todo_collaborator_archive"}};
+
+    private final ShardDirectory directory;
+    private final int chunkSize;
+    private final long moveWaitMs;
+    private final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    public ShardRebalancer(ShardDirectory directory, int chunkSize, long moveWaitMs) {
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.moveWaitMs = moveWaitMs;
+    }
+
+    public synchronized void moveBucket(int bucket, String targetName) {
+        if (bucket < 0 || bucket >= directory.getBuckets()) {
+            throw new IllegalArgumentException("Bucket " + bucket + " does not exist");
+        }
+        Shard target = directory.getShard(targetName);
+        Shard source = directory.getShard(directory.shardOfBucket(bucket));
+        if (source == target) {
+            return;
+        }
+        logger.info("Moving bucket {} from '{}' to '{}'.", bucket, source.getName(), target.getName());
+        directory.assign(bucket, source.getName(), true);
+        pause();
+        try {
+            for (String[] tables : OWNED_TABLES) {
+                int copied = forEachChunk(source, tables[0], bucket, ids -> copy(source, target, tables, ids));
+                logger.info("Copied {} row(s) of {} in bucket {}.", copied, tables[0], bucket);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Moving bucket {} failed, rolling back: {}", bucket, e.getMessage());
+            for (String[] tables : OWNED_TABLES) {
+                forEachChunk(target, tables[0], bucket, ids -> delete(target, tables, ids));
+            }
+            directory.assign(bucket, source.getName(), false);
+            throw e;
+        }
+        directory.assign(bucket, target.getName(), false);
+        pause();
+        for (String[] tables : OWNED_TABLES) {
+            forEachChunk(source, tables[0], bucket, ids -> delete(source, tables, ids));
+        }
+        logger.info("Bucket {} is now on '{}'.", bucket, target.getName());
+    }
+
+    private int forEachChunk(Shard shard, String table, int bucket, Consumer<String> action) {
+        int total = 0;
+        long last = 0;
+        while (true) {
+            List<Long> ids = shard.getJdbcTemplate().queryForList("select id from " + table +
+                    " where mod(owner_id, ?) = ? and id > ? order by id limit ?",
+                    Long.class, directory.getBuckets(), bucket, last, chunkSize);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            action.accept(ids.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+            total += ids.size();
+            last = ids.get(ids.size() - 1);
+        }
+    }
+
+    private static void copy(Shard source, Shard target, String[] tables, String ids) {
+        target.getTransactionTemplate().executeWithoutResult(status -> {
+            TableCopier.copy(source, target, tables[0], "select * from " + tables[0] + " where id in (" + ids + ")");
+            for (int i = 1; i < tables.length; i++) {
+                TableCopier.copy(source, target, tables[i],
+                        "select * from " + tables[i] + " where todo_id in (" + ids + ")");
+            }
+        });
+    }
+
+    private static void delete(Shard shard, String[] tables, String ids) {
+        shard.getTransactionTemplate().executeWithoutResult(status -> {
+            for (int i = tables.length - 1; i > 0; i--) {
+                shard.getJdbcTemplate().update("delete from " + tables[i] + " where todo_id in (" + ids + ")");
+            }
+            shard.getJdbcTemplate().update("delete from " + tables[0] + " where id in (" + ids + ")");
+        });
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(moveWaitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving a bucket", e);
+        }
+    }
+}
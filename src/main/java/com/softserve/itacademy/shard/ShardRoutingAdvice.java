@@ -0,0 +1,158 @@
+package com.softserve.itacademy.shard;
+
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.model.ArchivedTask;
+import com.softserve.itacademy.model.ArchivedToDo;
+import com.softserve.itacademy.model.RecurringTask;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Routes a repository call to the shard of the owner it works on. The owner comes from the
+ * entity argument, or from the id argument: the To-Do id for {@code *ByTodoId} methods and the
+ * repository's own entity id otherwise. Per-user and unrestricted reads ({@code *ByUserId},
+ * {@code findAll()}) are scattered over all shards and the results concatenated.
+ */
+class ShardRoutingAdvice implements MethodInterceptor {
+    private final Supplier<ShardDirectory> directory;
+    private final ExecutorService scatterExecutor;
+    private final EntityKind ownKind;
+    private final EntityKind todoKind;
+
+    ShardRoutingAdvice(Supplier<ShardDirectory> directory, ExecutorService scatterExecutor,
+                       EntityKind ownKind, EntityKind todoKind) {
+        this.directory = directory;
+        this.scatterExecutor = scatterExecutor;
+        this.ownKind = ownKind;
+        this.todoKind = todoKind;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        String name = method.getName();
+        if (name.endsWith("ByUserId") || name.equals("findAll") && invocation.getArguments().length == 0) {
+            return scatter((ProxyMethodInvocation) invocation);
+        }
+        ShardDirectory shards = directory.get();
+        Long owner = ownerOf(shards, name, invocation.getArguments());
+        if (owner == null) {
+            return invocation.proceed();
+        }
+        if (isWrite(method) && shards.isMoving(owner)) {
+            throw new IllegalStateException("The data of user " + owner + " is being moved to another shard, " +
+                    "try again later");
+        }
+        String shard = shards.shardOfUser(owner);
+        if (ShardContext.canBindToTransaction()) {
+            String bound = ShardContext.current();
+            if (bound == null) {
+                ShardContext.bindToTransaction(shard);
+            } else if (!bound.equals(shard)) {
+                throw new IllegalStateException("Transaction on '" + bound + "' cannot access the data of user " +
+                        owner + " on '" + shard + "'");
+            }
+            return invocation.proceed();
+        }
+        String previous = ShardContext.set(shard);
+        try {
+            return invocation.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private Object scatter(ProxyMethodInvocation invocation) throws Throwable {
+        List<Future<Object>> results = new ArrayList<>();
+        for (Shard shard : directory.get().getShards()) {
+            MethodInvocation clone = invocation.invocableClone();
+            results.add(scatterExecutor.submit(() -> {
+                String previous = ShardContext.set(shard.getName());
+                try {
+                    return clone.proceed();
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    ShardContext.restore(previous);
+                }
+            }));
+        }
+        List<Object> merged = new ArrayList<>();
+        for (Future<Object> result : results) {
+            try {
+                for (Object element : (Iterable<?>) result.get()) {
+                    merged.add(element);
+                }
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        if (!merged.isEmpty() && merged.get(0) instanceof TodoView) {
+            merged.sort(Comparator.comparingLong(view -> ((TodoView) view).getId()));
+        }
+        return merged;
+    }
+
+    private Long ownerOf(ShardDirectory shards, String method, Object[] arguments) {
+        if (arguments.length == 0) {
+            return null;
+        }
+        Object argument = arguments[0];
+        if (argument instanceof Iterable) {
+            Iterator<?> iterator = ((Iterable<?>) argument).iterator();
+            argument = iterator.hasNext() ? iterator.next() : null;
+        }
+        if (argument instanceof ToDo) {
+            return ownerOf(shards, (ToDo) argument);
+        }
+        if (argument instanceof Task) {
+            return ownerOf(shards, ((Task) argument).getTodo());
+        }
+        if (argument instanceof RecurringTask) {
+            return ownerOf(shards, ((RecurringTask) argument).getTodo());
+        }
+        if (argument instanceof ArchivedToDo) {
+            return ((ArchivedToDo) argument).getOwnerId();
+        }
+        if (argument instanceof ArchivedTask) {
+            return shards.ownerOf(EntityKind.ARCHIVED_TODO, ((ArchivedTask) argument).getTodoId());
+        }
+        if (argument instanceof Long) {
+            EntityKind kind = method.endsWith("ByTodoId") ? todoKind : ownKind;
+            return shards.ownerOf(kind, (Long) argument);
+        }
+        return null;
+    }
+
+    private static Long ownerOf(ShardDirectory shards, ToDo todo) {
+        if (todo == null) {
+            return null;
+        }
+        if (todo.getOwner() != null) {
+            return todo.getOwner().getId();
+        }
+        return shards.ownerOf(EntityKind.TODO, todo.getId());
+    }
+
+    private static boolean isWrite(Method method) {
+        String name = method.getName();
+        return name.startsWith("save") || name.startsWith("delete") || name.startsWith("update")
+                || method.isAnnotationPresent(Modifying.class);
+    }
+}
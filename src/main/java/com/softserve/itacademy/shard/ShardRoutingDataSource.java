@@ -0,0 +1,40 @@
+package com.softserve.itacademy.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out connections of the shard in {@link ShardContext}, or of the directory shard when
+ * none is set. A transaction that starts on the directory shard stays bound to it, so a later
+ * routed call to another shard fails instead of silently reading the wrong database. Must be
+ * wrapped in a LazyConnectionDataSourceProxy so the connection is fetched only once the first
+ * statement, and with it the shard, is known.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    private final String directory;
+
+    public ShardRoutingDataSource(List<Shard> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (Shard shard : shards) {
+            targets.put(shard.getName(), shard.getDataSource());
+        }
+        this.directory = shards.get(0).getName();
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0).getDataSource());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = ShardContext.current();
+        if (shard != null) {
+            return shard;
+        }
+        if (ShardContext.canBindToTransaction()) {
+            ShardContext.bindToTransaction(directory);
+        }
+        return directory;
+    }
+}
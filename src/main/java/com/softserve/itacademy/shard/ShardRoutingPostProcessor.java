@@ -0,0 +1,62 @@
+package com.softserve.itacademy.shard;
+
+import com.softserve.itacademy.repository.ArchivedTaskRepository;
+import com.softserve.itacademy.repository.ArchivedToDoRepository;
+import com.softserve.itacademy.repository.RecurringTaskRepository;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Adds a {@link ShardRoutingAdvice} to the repositories of sharded entities. The directory is
+ * looked up on first use, because post-processors are created before the data source.
+ */
+public class ShardRoutingPostProcessor implements BeanPostProcessor, BeanFactoryAware, DisposableBean {
+    private final ExecutorService scatterExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "shard-scatter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Supplier<ShardDirectory> directory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.directory = () -> beanFactory.getBean(ShardDirectory.class);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof Advised) || ((Advised) bean).isFrozen()) {
+            return bean;
+        }
+        if (bean instanceof ToDoRepository) {
+            advise(bean, EntityKind.TODO, EntityKind.TODO);
+        } else if (bean instanceof TaskRepository) {
+            advise(bean, EntityKind.TASK, EntityKind.TODO);
+        } else if (bean instanceof RecurringTaskRepository) {
+            advise(bean, EntityKind.RECURRING_TASK, EntityKind.TODO);
+        } else if (bean instanceof ArchivedToDoRepository) {
+            advise(bean, EntityKind.ARCHIVED_TODO, EntityKind.ARCHIVED_TODO);
+        } else if (bean instanceof ArchivedTaskRepository) {
+            advise(bean, EntityKind.ARCHIVED_TASK, EntityKind.ARCHIVED_TODO);
+        }
+        return bean;
+    }
+
+    private void advise(Object bean, EntityKind ownKind, EntityKind todoKind) {
+        ((Advised) bean).addAdvice(0, new ShardRoutingAdvice(directory, scatterExecutor, ownKind, todoKind));
+    }
+
+    @Override
+    public void destroy() {
+        scatterExecutor.shutdownNow();
+    }
+}
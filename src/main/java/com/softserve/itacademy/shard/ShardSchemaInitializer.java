@@ -0,0 +1,106 @@
+package com.softserve.itacademy.shard;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the schema Hibernate generates for the directory shard on the other shards too, and
+ * moves their id sequences into disjoint ranges, so a To-Do or task id stays unique across
+ * shards and can be moved between them unchanged. Foreign keys to the replicated reference
+ * tables are left out, since {@link ReferenceDataReplicator} rewrites their rows. The shards'
+ * tables are only recreated when {@code ddl-auto} recreates the directory's, otherwise their
+ * schema is managed like the directory's.
+ */
+public class ShardSchemaInitializer implements HibernatePropertiesCustomizer, SmartInitializingSingleton {
+    private static final Pattern REFERENCE_FOREIGN_KEY = Pattern.compile("(?i).*\\breferences (users|roles|states)\\b.*");
+    private static final String[] SEQUENCED_TABLES = {"todos", "tasks", "recurring_tasks"};
+
+    private final ShardDirectory directory;
+    private final ReferenceDataReplicator replicator;
+    private final long idRange;
+    private final StringWriter createScript = new StringWriter();
+    private final StringWriter dropScript = new StringWriter();
+    private final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    public ShardSchemaInitializer(ShardDirectory directory, ReferenceDataReplicator replicator, long idRange) {
+        this.directory = directory;
+        this.replicator = replicator;
+        this.idRange = idRange;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        Object ddlAuto = hibernateProperties.get(AvailableSettings.HBM2DDL_AUTO);
+        if (!"create".equals(ddlAuto) && !"create-drop".equals(ddlAuto)) {
+            return;
+        }
+        // hbm2ddl.auto is ignored as soon as any JPA schema action is set
+        hibernateProperties.put(AvailableSettings.HBM2DDL_DATABASE_ACTION, "drop-and-create");
+        hibernateProperties.put(AvailableSettings.HBM2DDL_SCRIPTS_ACTION, "drop-and-create");
+        hibernateProperties.put(AvailableSettings.HBM2DDL_SCRIPTS_CREATE_TARGET, createScript);
+        hibernateProperties.put(AvailableSettings.HBM2DDL_SCRIPTS_DROP_TARGET, dropScript);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Shard shard : directory.getShards()) {
+            if (createScript.getBuffer().length() > 0 && shard != directory.getDirectory()) {
+                createSchema(shard);
+            }
+            restartSequences(shard);
+        }
+        replicator.catchUp();
+    }
+
+    private void createSchema(Shard shard) {
+        for (String statement : dropScript.toString().split("\\R")) {
+            if (!statement.trim().isEmpty()) {
+                try {
+                    shard.getJdbcTemplate().execute(statement);
+                } catch (DataAccessException e) {
+                    logger.debug("Ignoring failed drop on '{}': {}", shard.getName(), e.getMessage());
+                }
+            }
+        }
+        for (String statement : createScript.toString().split("\\R")) {
+            if (!statement.trim().isEmpty() && !REFERENCE_FOREIGN_KEY.matcher(statement).matches()) {
+                shard.getJdbcTemplate().execute(statement);
+            }
+        }
+        logger.info("Schema created on shard '{}'.", shard.getName());
+    }
+
+    private void restartSequences(Shard shard) {
+        if (shard.getIndex() == 0) {
+            return;
+        }
+        boolean postgres;
+        try {
+            postgres = JdbcUtils.extractDatabaseMetaData(shard.getDataSource(), "getDatabaseProductName")
+                    .toString().toLowerCase().contains("postgres");
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Cannot detect the database of shard '" + shard.getName() + "'", e);
+        }
+        long start = shard.getIndex() * idRange;
+        for (String table : SEQUENCED_TABLES) {
+            Long max = shard.getJdbcTemplate().queryForObject("select max(id) from " + table, Long.class);
+            long next = Math.max(start, max == null ? 0 : max + 1);
+            if (postgres) {
+                shard.getJdbcTemplate().queryForObject("select setval(pg_get_serial_sequence(?, 'id'), ?, false)",
+                        Long.class, table, next);
+            } else {
+                shard.getJdbcTemplate().execute("alter table " + table + " alter column id restart with " + next);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.softserve.itacademy.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the rows of a query into a table of the same shape on another shard. Rows that are
+ * already there are skipped, so an interrupted copy can simply be repeated.
+ */
+final class TableCopier {
+
+    private TableCopier() {
+    }
+
+    static int copy(Shard from, Shard to, String table, String selectSql, Object... args) {
+        List<String> columns = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        from.getJdbcTemplate().query(selectSql, rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            if (columns.isEmpty()) {
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.add(metaData.getColumnLabel(i).toLowerCase());
+                }
+            }
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            rows.add(row);
+        }, args);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String insertSql = "insert into " + table + " (" + String.join(", ", columns) + ") values (" +
+                placeholders + ") on conflict do nothing";
+        JdbcTemplate target = to.getJdbcTemplate();
+        target.batchUpdate(insertSql, rows);
+        return rows.size();
+    }
+}
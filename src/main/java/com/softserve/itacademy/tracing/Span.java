@@ -0,0 +1,74 @@
+package com.softserve.itacademy.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation of a trace. Times are in microseconds, as Zipkin expects them.
+ */
+public class Span {
+    private final String traceId;
+    private final String id;
+    private final String parentId;
+    private final long startNanos;
+    private final long timestamp;
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private String name;
+    private long duration = -1;
+
+    Span(String traceId, String id, String parentId, String name, long startNanos, long timestamp) {
+        this.traceId = traceId;
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.startNanos = startNanos;
+        this.timestamp = timestamp;
+    }
+
+    public Span tag(String key, String value) {
+        if (value != null) {
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    void setDuration(long duration) {
+        this.duration = duration;
+    }
+}
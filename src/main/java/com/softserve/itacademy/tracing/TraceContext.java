@@ -0,0 +1,136 @@
+package com.softserve.itacademy.tracing;
+
+import org.slf4j.MDC;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The trace of the request running on this thread. Spans opened while no trace is active are
+ * {@code null} and cost one thread-local lookup, so background jobs pass through the same advice
+ * untraced. The current trace and span ids are kept in the MDC as {@code traceId} and
+ * {@code spanId} for the log pattern.
+ */
+public final class TraceContext {
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    public static Span start(String name) {
+        Trace trace = CURRENT.get();
+        if (trace == null) {
+            return null;
+        }
+        Span parent = trace.open.peek();
+        Span span = newSpan(trace.traceId, parent == null ? null : parent.getId(), name);
+        trace.open.push(span);
+        MDC.put("spanId", span.getId());
+        return span;
+    }
+
+    public static void finish(Span span) {
+        Trace trace = CURRENT.get();
+        if (span == null || trace == null) {
+            return;
+        }
+        span.setDuration(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - span.getStartNanos()));
+        while (!trace.open.isEmpty()) {
+            if (trace.open.pop() == span) {
+                break;
+            }
+        }
+        trace.add(span);
+        Span parent = trace.open.peek();
+        if (parent != null) {
+            MDC.put("spanId", parent.getId());
+        }
+    }
+
+    /**
+     * Records an operation that has just ended and took {@code elapsedNanos}, as a child of the
+     * current span.
+     */
+    public static void record(String name, long elapsedNanos, String tagKey, String tagValue) {
+        Trace trace = CURRENT.get();
+        if (trace == null) {
+            return;
+        }
+        Span parent = trace.open.peek();
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        Span span = new Span(trace.traceId, randomId(), parent == null ? null : parent.getId(), name,
+                System.nanoTime() - elapsedNanos, nowMicros() - micros);
+        span.setDuration(micros);
+        span.tag(tagKey, tagValue);
+        trace.add(span);
+    }
+
+    public static String currentTraceId() {
+        Trace trace = CURRENT.get();
+        return trace == null ? null : trace.traceId;
+    }
+
+    static Span begin(String name, int maxSpans) {
+        Trace trace = new Trace(randomId() + randomId(), maxSpans);
+        CURRENT.set(trace);
+        Span root = newSpan(trace.traceId, null, name);
+        trace.open.push(root);
+        MDC.put("traceId", trace.traceId);
+        MDC.put("spanId", root.getId());
+        return root;
+    }
+
+    static Trace end(Span root) {
+        finish(root);
+        Trace trace = CURRENT.get();
+        CURRENT.remove();
+        MDC.remove("traceId");
+        MDC.remove("spanId");
+        return trace;
+    }
+
+    private static Span newSpan(String traceId, String parentId, String name) {
+        return new Span(traceId, randomId(), parentId, name, System.nanoTime(), nowMicros());
+    }
+
+    private static long nowMicros() {
+        return TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    }
+
+    private static String randomId() {
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+
+    static final class Trace {
+        private final String traceId;
+        private final int maxSpans;
+        private final Deque<Span> open = new ArrayDeque<>();
+        private final List<Span> spans = new ArrayList<>();
+        private int dropped;
+
+        private Trace(String traceId, int maxSpans) {
+            this.traceId = traceId;
+            this.maxSpans = maxSpans;
+        }
+
+        private void add(Span span) {
+            if (spans.size() < maxSpans || span.getParentId() == null) {
+                spans.add(span);
+            } else {
+                dropped++;
+            }
+        }
+
+        List<Span> getSpans() {
+            return spans;
+        }
+
+        int getDropped() {
+            return dropped;
+        }
+    }
+}
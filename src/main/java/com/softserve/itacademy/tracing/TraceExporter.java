@@ -0,0 +1,133 @@
+package com.softserve.itacademy.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends sampled traces to a file, one trace per line as a Zipkin v2 JSON span array, which is
+ * what a Zipkin collector accepts on {@code POST /api/v2/spans}. Traces are written by a single
+ * background thread; when its queue is full new traces are dropped and counted rather than
+ * slowing requests down.
+ */
+public class TraceExporter {
+    private final Path file;
+    private final String serviceName;
+    private final BlockingQueue<List<Span>> queue;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Counter exported;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private final Logger logger = LoggerFactory.getLogger(TraceExporter.class);
+
+    public TraceExporter(Path file, String serviceName, int queueCapacity, MeterRegistry meterRegistry) {
+        this.file = file;
+        this.serviceName = serviceName;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.exported = Counter.builder("tracing.traces.exported").register(meterRegistry);
+        this.dropped = Counter.builder("tracing.traces.dropped").register(meterRegistry);
+        this.writer = new Thread(this::writeLoop, "trace-exporter");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join();
+        List<List<Span>> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        write(rest);
+    }
+
+    public void export(List<Span> spans) {
+        if (!queue.offer(spans)) {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        List<List<Span>> batch = new ArrayList<>();
+        while (running) {
+            try {
+                List<Span> first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<List<Span>> traces) {
+        if (traces.isEmpty()) {
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (List<Span> trace : traces) {
+                List<Map<String, Object>> spans = new ArrayList<>(trace.size());
+                for (Span span : trace) {
+                    spans.add(toZipkin(span));
+                }
+                out.write(objectMapper.writeValueAsString(spans));
+                out.write('\n');
+            }
+            exported.increment(traces.size());
+        } catch (IOException e) {
+            dropped.increment(traces.size());
+            logger.error("Writing {} traces to '{}' failed: {}", traces.size(), file, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toZipkin(Span span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.getTraceId());
+        json.put("id", span.getId());
+        if (span.getParentId() != null) {
+            json.put("parentId", span.getParentId());
+        } else {
+            json.put("kind", "SERVER");
+        }
+        json.put("name", span.getName());
+        json.put("timestamp", span.getTimestamp());
+        json.put("duration", Math.max(span.getDuration(), 1));
+        json.put("localEndpoint", Collections.singletonMap("serviceName", serviceName));
+        if (!span.getTags().isEmpty()) {
+            json.put("tags", span.getTags());
+        }
+        return json;
+    }
+}
@@ -0,0 +1,44 @@
+package com.softserve.itacademy.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts and ends the trace of a request. Whether a trace is kept is decided when it ends: every
+ * trace slower than {@code tracing.slow-threshold-ms} is exported, the others with probability
+ * {@code tracing.sample-rate}. A trace keeps at most {@code tracing.max-spans} spans; the number
+ * left out is tagged on its root span.
+ */
+public class Tracer {
+    private final TraceExporter exporter;
+    private final double sampleRate;
+    private final long slowThresholdMicros;
+    private final int maxSpans;
+
+    public Tracer(TraceExporter exporter, double sampleRate, long slowThresholdMs, int maxSpans) {
+        this.exporter = exporter;
+        this.sampleRate = sampleRate;
+        this.slowThresholdMicros = TimeUnit.MILLISECONDS.toMicros(slowThresholdMs);
+        this.maxSpans = maxSpans;
+    }
+
+    public Span startTrace(String name) {
+        return TraceContext.begin(name, maxSpans);
+    }
+
+    public void endTrace(Span root) {
+        TraceContext.Trace trace = TraceContext.end(root);
+        if (trace == null) {
+            return;
+        }
+        boolean slow = root.getDuration() >= slowThresholdMicros;
+        if (!slow && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (trace.getDropped() > 0) {
+            root.tag("spans.dropped", String.valueOf(trace.getDropped()));
+        }
+        root.tag("sampled.by", slow ? "slow" : "rate");
+        exporter.export(trace.getSpans());
+    }
+}
@@ -0,0 +1,43 @@
+package com.softserve.itacademy.tracing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens the root span of every request, so it covers handler and rendering alike. The span is
+ * named after the matched route, e.g. {@code GET /todos/{id}/tasks}, once it is known.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span root = tracer.startTrace(request.getMethod() + " " + request.getRequestURI());
+        root.tag("http.method", request.getMethod()).tag("http.path", request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null) {
+                root.setName(request.getMethod() + " " + route);
+                root.tag("http.route", route.toString());
+            }
+            root.tag("http.status_code", String.valueOf(response.getStatus()));
+            if (request.isAsyncStarted()) {
+                root.tag("async", "true");
+            }
+            tracer.endTrace(root);
+        }
+    }
+}
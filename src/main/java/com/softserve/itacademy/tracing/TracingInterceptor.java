@@ -0,0 +1,57 @@
+package com.softserve.itacademy.tracing;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Times the controller method and then the rendering of its view as two sibling spans. Lazy
+ * loads that happen while rendering show up under the render span.
+ */
+public class TracingInterceptor implements AsyncHandlerInterceptor {
+    private static final String HANDLER_SPAN = TracingInterceptor.class.getName() + ".handler";
+    private static final String RENDER_SPAN = TracingInterceptor.class.getName() + ".render";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            request.setAttribute(HANDLER_SPAN, TraceContext.start(
+                    method.getBeanType().getSimpleName() + "." + method.getMethod().getName()));
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        finish(request, HANDLER_SPAN);
+        if (modelAndView != null && modelAndView.getViewName() != null) {
+            request.setAttribute(RENDER_SPAN, TraceContext.start("render " + modelAndView.getViewName()));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        finish(request, RENDER_SPAN);
+        finish(request, HANDLER_SPAN);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        finish(request, HANDLER_SPAN);
+    }
+
+    private static void finish(HttpServletRequest request, String attribute) {
+        Object span = request.getAttribute(attribute);
+        if (span != null) {
+            request.removeAttribute(attribute);
+            TraceContext.finish((Span) span);
+        }
+    }
+}
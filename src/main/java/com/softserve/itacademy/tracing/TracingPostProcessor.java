@@ -0,0 +1,69 @@
+package com.softserve.itacademy.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Opens a span around every call into a Spring Data repository or into a bean of the
+ * {@code service.impl} package. The advice goes first in the chain, so a service span includes
+ * its transaction. Beans that are not proxied yet get a class-based proxy of their own.
+ */
+public class TracingPostProcessor implements BeanPostProcessor {
+    private static final String SERVICE_PACKAGE = "com.softserve.itacademy.service.impl";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository) {
+            if (bean instanceof Advised && !((Advised) bean).isFrozen()) {
+                ((Advised) bean).addAdvice(0, advice(repositoryName((Advised) bean, beanName)));
+            }
+            return bean;
+        }
+        Class<?> type = AopUtils.getTargetClass(bean);
+        if (type.getPackage() == null || !SERVICE_PACKAGE.equals(type.getPackage().getName())) {
+            return bean;
+        }
+        if (bean instanceof Advised) {
+            if (!((Advised) bean).isFrozen()) {
+                ((Advised) bean).addAdvice(0, advice(type.getSimpleName()));
+            }
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(advice(type.getSimpleName()));
+        return proxyFactory.getProxy(type.getClassLoader());
+    }
+
+    private static MethodInterceptor advice(String owner) {
+        return invocation -> {
+            if (invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            Span span = TraceContext.start(owner + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                if (span != null) {
+                    span.tag("error", e.getClass().getSimpleName());
+                }
+                throw e;
+            } finally {
+                TraceContext.finish(span);
+            }
+        };
+    }
+
+    private static String repositoryName(Advised advised, String beanName) {
+        for (Class<?> type : advised.getProxiedInterfaces()) {
+            if (Repository.class.isAssignableFrom(type)) {
+                return type.getSimpleName();
+            }
+        }
+        return beanName;
+    }
+}
@@ -0,0 +1,107 @@
+package com.softserve.itacademy.util;
+
+/**
+ * Lexicographic rank keys over the alphabet [0-9a-z]. Keys never end with '0',
+ * so there is always room to generate a key between any two distinct keys.
+ */
+public final class LexoRank {
+    public static final int MAX_LENGTH = 12;
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private LexoRank() {
+    }
+
+    public static String first() {
+        return between(null, null);
+    }
+
+    public static String after(String key) {
+        if (key == null || key.isEmpty()) {
+            return first();
+        }
+        char[] chars = key.toCharArray();
+        do {
+            int i = chars.length - 1;
+            while (i >= 0 && chars[i] == DIGITS.charAt(BASE - 1)) {
+                chars[i--] = DIGITS.charAt(0);
+            }
+            if (i < 0) {
+                return key + DIGITS.charAt(BASE / 2);
+            }
+            chars[i] = DIGITS.charAt(digit(chars[i]) + 1);
+        } while (chars[chars.length - 1] == DIGITS.charAt(0));
+        return new String(chars);
+    }
+
+    public static String between(String previous, String next) {
+        String low = previous == null ? "" : previous;
+        String high = next;
+        if (high != null && low.compareTo(high) >= 0) {
+            throw new IllegalArgumentException("Rank '" + low + "' must be lower than '" + high + "'");
+        }
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int lo = i < low.length() ? digit(low.charAt(i)) : 0;
+            int hi = BASE;
+            if (high != null) {
+                if (i >= high.length()) {
+                    throw new IllegalArgumentException("Rank '" + high + "' leaves no room below it");
+                }
+                hi = digit(high.charAt(i));
+            }
+            if (lo == hi) {
+                key.append(DIGITS.charAt(lo));
+                continue;
+            }
+            int mid = (lo + hi) / 2;
+            if (mid > lo) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            key.append(DIGITS.charAt(lo));
+            high = null;
+        }
+    }
+
+    /**
+     * Returns {@code count} ascending keys of equal width spread over the lower half of
+     * the key space, leaving the upper half free for appends.
+     */
+    public static String[] evenlySpaced(int count) {
+        int width = 1;
+        long space = BASE;
+        while (space < (long) count * BASE * 2) {
+            width++;
+            space *= BASE;
+        }
+        long gap = space / 2 / (count + 1);
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            long value = gap * (i + 1);
+            keys[i] = toKey(value % BASE == 0 ? value + 1 : value, width);
+        }
+        return keys;
+    }
+
+    public static boolean needsRebalance(String key) {
+        return key != null && key.length() > MAX_LENGTH;
+    }
+
+    private static String toKey(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(chars);
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Illegal rank character '" + c + "'");
+        }
+        return digit;
+    }
+}
@@ -18,9 +18,9 @@ INSERT INTO todos (id, title, created_at, owner_id) VALUES (11, 'Nick''s To-Do #
 INSERT INTO todos (id, title, created_at, owner_id) VALUES (12, 'Nora''s To-Do #1', '2020-09-16 14:15:32.464391', 6);
 INSERT INTO todos (id, title, created_at, owner_id) VALUES (13, 'Nora''s To-Do #2', '2020-09-16 14:15:39.16246', 6);
 
-INSERT INTO tasks (id, name, priority, todo_id, state_id) VALUES (6, 'Task #2', 'LOW', 7, 5);
-INSERT INTO tasks (id, name, priority, todo_id, state_id) VALUES (5, 'Task #1', 'HIGH', 7, 8);
-INSERT INTO tasks (id, name, priority, todo_id, state_id) VALUES (7, 'Task #3', 'MEDIUM', 7, 6);
+INSERT INTO tasks (id, name, priority, rank, todo_id, state_id) VALUES (6, 'Task #2', 'LOW', 'j', 7, 5);
+INSERT INTO tasks (id, name, priority, rank, todo_id, state_id) VALUES (5, 'Task #1', 'HIGH', 'i', 7, 8);
+INSERT INTO tasks (id, name, priority, rank, todo_id, state_id) VALUES (7, 'Task #3', 'MEDIUM', 'k', 7, 6);
 
 INSERT INTO todo_collaborator (todo_id, collaborator_id) VALUES (7, 5);
 INSERT INTO todo_collaborator (todo_id, collaborator_id) VALUES (7, 6);
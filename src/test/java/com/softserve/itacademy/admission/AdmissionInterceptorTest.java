@@ -0,0 +1,112 @@
+package com.softserve.itacademy.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.DispatcherType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionInterceptorTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    private AdmissionController admissionController;
+    private AdmissionInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() {
+        Map<EndpointClass, AdmissionController.Limit> limits = new EnumMap<>(EndpointClass.class);
+        limits.put(EndpointClass.READ, new AdmissionController.Limit(100, 100));
+        limits.put(EndpointClass.WRITE, new AdmissionController.Limit(1, 2));
+        limits.put(EndpointClass.BULK, new AdmissionController.Limit(1, 1));
+        admissionController = new AdmissionController(limits, 0, new SimpleMeterRegistry());
+        interceptor = new AdmissionInterceptor(admissionController,
+                Arrays.asList("/**/create/**", "/todos/*/add"), Collections.singletonList("/import/**"));
+    }
+
+    @Test
+    @DisplayName("Token bucket should admit a burst of 'capacity' requests and then refill at 'rate'")
+    public void tokenBucketTest() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND / 2, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+        assertFalse(bucket.isIdle(SECOND, SECOND));
+        assertTrue(bucket.isIdle(10 * SECOND, SECOND));
+    }
+
+    @Test
+    @DisplayName("A limit without a positive rate or a capacity should be rejected")
+    public void invalidLimitTest() {
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController.Limit(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController.Limit(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController.Limit(Double.NaN, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController.Limit(1, 0));
+    }
+
+    @Test
+    @DisplayName("Mutating GET endpoints should be classified by path, others by HTTP method")
+    public void classifyTest() {
+        assertEquals(EndpointClass.WRITE, interceptor.classify(new MockHttpServletRequest("GET", "/todos/1/add")));
+        assertEquals(EndpointClass.WRITE, interceptor.classify(new MockHttpServletRequest("POST", "/tasks/create/todos/1")));
+        assertEquals(EndpointClass.WRITE, interceptor.classify(new MockHttpServletRequest("POST", "/users/1/other")));
+        assertEquals(EndpointClass.BULK, interceptor.classify(new MockHttpServletRequest("POST", "/import/tasks")));
+        assertEquals(EndpointClass.READ, interceptor.classify(new MockHttpServletRequest("GET", "/import/tasks")));
+        assertEquals(EndpointClass.READ, interceptor.classify(new MockHttpServletRequest("GET", "/todos/1/tasks")));
+    }
+
+    @Test
+    @DisplayName("When a client runs out of write tokens it should get 429 with Retry-After, other clients should not")
+    public void rejectTest() throws Exception {
+        assertTrue(interceptor.preHandle(write("10.0.0.1"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(write("10.0.0.1"), new MockHttpServletResponse(), null));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(write("10.0.0.1"), rejected, null));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        assertTrue(interceptor.preHandle(write("10.0.0.2"), new MockHttpServletResponse(), null));
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/todos/1/tasks");
+        read.setRemoteAddr("10.0.0.1");
+        assertTrue(interceptor.preHandle(read, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("The async dispatch of a request should not be charged again")
+    public void asyncDispatchTest() throws Exception {
+        assertTrue(interceptor.preHandle(write("10.0.0.1"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(write("10.0.0.1"), new MockHttpServletResponse(), null));
+
+        MockHttpServletRequest dispatch = write("10.0.0.1");
+        dispatch.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(dispatch, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("Idle buckets should be evicted")
+    public void evictIdleTest() throws Exception {
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/todos/1/tasks"), new MockHttpServletResponse(), null);
+        assertEquals(1, admissionController.getBucketCount(EndpointClass.READ));
+        Thread.sleep(20);
+        admissionController.evictIdle();
+        assertEquals(0, admissionController.getBucketCount(EndpointClass.READ));
+    }
+
+    private static MockHttpServletRequest write(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks/create/todos/1");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
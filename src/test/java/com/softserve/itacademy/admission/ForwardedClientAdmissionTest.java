@@ -0,0 +1,37 @@
+package com.softserve.itacademy.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "admission.enabled=true", "admission.read.rate=0.01", "admission.read.capacity=1"})
+@ActiveProfiles("h2")
+public class ForwardedClientAdmissionTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Clients behind the same proxy should be throttled by their forwarded address, not the proxy's")
+    public void forwardedClientsTest() {
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, read("203.0.113.1"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, read("203.0.113.1"));
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, read("203.0.113.2"));
+    }
+
+    private HttpStatus read(String client) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", client);
+        return restTemplate.exchange("/api/todos/7/users", HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getStatusCode();
+    }
+}
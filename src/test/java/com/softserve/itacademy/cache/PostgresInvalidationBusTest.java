@@ -0,0 +1,97 @@
+package com.softserve.itacademy.cache;
+
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.service.impl.VisibilityIndex;
+import com.softserve.itacademy.shard.Shard;
+import com.softserve.itacademy.shard.ShardDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class PostgresInvalidationBusTest {
+    private static final String SHARD_0 = "jdbc:postgresql://db0/todo";
+    private static final String SHARD_1 = "jdbc:postgresql://db1/todo";
+
+    @Test
+    @DisplayName("With two shards a node should listen on both, with each shard's credentials")
+    public void listensOnEveryShardTest() {
+        ShardDirectory directory = new ShardDirectory(Arrays.asList(
+                new Shard("shard-0", 0, dataSource(SHARD_0, "directory")),
+                new Shard("shard-1", 1, dataSource(SHARD_1, "shard"))), 16, 16);
+
+        List<PostgresInvalidationBus.Endpoint> endpoints = bus(directory, new DataSourceProperties(),
+                mock(CacheInvalidator.class), mock(VisibilityIndex.class)).endpoints();
+
+        assertEquals(Arrays.asList("shard-0", "shard-1"),
+                endpoints.stream().map(endpoint -> endpoint.name).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(SHARD_0, SHARD_1),
+                endpoints.stream().map(endpoint -> endpoint.url).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("directory", "shard"),
+                endpoints.stream().map(endpoint -> endpoint.username).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Without sharding a node should listen on spring.datasource")
+    public void listensOnDataSourceTest() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(SHARD_0);
+
+        List<PostgresInvalidationBus.Endpoint> endpoints = bus(null, properties, mock(CacheInvalidator.class),
+                mock(VisibilityIndex.class)).endpoints();
+
+        assertEquals(1, endpoints.size());
+        assertEquals(SHARD_0, endpoints.get(0).url);
+    }
+
+    @Test
+    @DisplayName("A collaborator change from another node should update the visibility index of this one")
+    public void handleTest() {
+        CacheInvalidator cacheInvalidator = mock(CacheInvalidator.class);
+        VisibilityIndex visibilityIndex = mock(VisibilityIndex.class);
+        PostgresInvalidationBus bus = bus(null, new DataSourceProperties(), cacheInvalidator, visibilityIndex);
+
+        bus.handle("remote:TASK");
+        verify(cacheInvalidator).evict(EntityType.TASK);
+        verifyNoInteractions(visibilityIndex);
+
+        bus.handle("remote:COLLABORATOR:10");
+        verify(cacheInvalidator).evict(EntityType.COLLABORATOR);
+        verify(visibilityIndex).refresh(10);
+        verify(visibilityIndex, never()).rebuild();
+
+        bus.handle("remote:USER:970");
+        verify(visibilityIndex).rebuild();
+
+        bus.handle("remote:TODO:ten");
+        verify(cacheInvalidator).evictAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PostgresInvalidationBus bus(ShardDirectory directory, DataSourceProperties properties,
+                                               CacheInvalidator cacheInvalidator, VisibilityIndex visibilityIndex) {
+        ObjectProvider<ShardDirectory> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(directory);
+        return new PostgresInvalidationBus(null, properties, provider, cacheInvalidator, visibilityIndex,
+                "cache_invalidation", 1000, 5000);
+    }
+
+    private static HikariDataSource dataSource(String url, String username) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        return dataSource;
+    }
+}
@@ -0,0 +1,52 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.model.ActivityLog;
+import com.softserve.itacademy.service.ActivityService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ActivityController.class)
+public class ActivityControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ActivityService activityService;
+
+    @Test
+    @DisplayName("When GET '/activity' should return activity-log view with recent entries")
+    public void getRecentActivityTest() throws Exception {
+        when(activityService.getRecent(100)).thenReturn(new ArrayList<>());
+
+        mockMvc.perform(get("/activity"))
+                .andExpect(model().attribute("entries", new ArrayList<ActivityLog>()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("activity-log"))
+                .andDo(print());
+
+        verify(activityService).getRecent(100);
+    }
+
+    @Test
+    @DisplayName("When GET '/activity' with too large limit should cap the number of entries")
+    public void getRecentActivityWithLargeLimitTest() throws Exception {
+        mockMvc.perform(get("/activity").param("limit", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("activity-log"))
+                .andDo(print());
+
+        verify(activityService).getRecent(1000);
+    }
+}
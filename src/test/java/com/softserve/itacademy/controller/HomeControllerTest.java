@@ -1,6 +1,9 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.UserPage;
+import com.softserve.itacademy.dto.UserSort;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.service.RoleService;
 import com.softserve.itacademy.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,9 +11,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -24,10 +32,13 @@ public class HomeControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private RoleService roleService;
+
     @Test
-    @DisplayName("When GET '/home' should return home view with all users")
+    @DisplayName("When GET '/home' should return home view with the first page of users")
     public void getHomeTest() throws Exception {
-        when(userService.getAll()).thenReturn(new ArrayList<>());
+        when(userService.getPage(UserSort.NAME, null, null, 50)).thenReturn(new UserPage(new ArrayList<>(), null, 0));
 
         mockMvc.perform(get("/home"))
                 .andExpect(model().attributeExists("users"))
@@ -36,4 +47,34 @@ public class HomeControllerTest {
                 .andExpect(view().name("home"))
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Pages should link fingerprinted local Bootstrap, served with immutable caching")
+    public void getStaticResourcesTest() throws Exception {
+        when(userService.getPage(UserSort.NAME, null, null, 50)).thenReturn(new UserPage(new ArrayList<>(), null, 0));
+
+        MvcResult page = mockMvc.perform(get("/home"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Matcher link = Pattern.compile("/vendor/bootstrap/css/bootstrap\\.min-[0-9a-f]{32}\\.css")
+                .matcher(page.getResponse().getContentAsString());
+        assertTrue(link.find(), "fingerprinted Bootstrap link");
+
+        MvcResult css = mockMvc.perform(get(link.group()).header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andReturn();
+        Matcher font = Pattern.compile("/vendor/bootstrap/fonts/glyphicons-halflings-regular-[0-9a-f]{32}\\.svg")
+                .matcher(css.getResponse().getContentAsString());
+        assertTrue(font.find(), "fingerprinted font link in the stylesheet sent to a gzip client");
+
+        mockMvc.perform(get(font.group()).header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Cache-Control", containsString("immutable")));
+
+        mockMvc.perform(get("/css/main.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+}
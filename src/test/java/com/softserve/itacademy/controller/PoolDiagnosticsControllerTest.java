@@ -0,0 +1,66 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.datasource.PoolMonitor;
+import com.softserve.itacademy.dto.EndpointPoolStats;
+import com.softserve.itacademy.dto.LeakSuspect;
+import com.softserve.itacademy.dto.PoolStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PoolDiagnosticsController.class)
+public class PoolDiagnosticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PoolMonitor poolMonitor;
+
+    @Test
+    @DisplayName("When GET '/diagnostics/pool' should return pool-diagnostics view with pool usage")
+    public void getPoolTest() throws Exception {
+        PoolStatus pool = new PoolStatus("primary", 3, 7, 10, 0, 10, 2);
+        List<EndpointPoolStats> endpoints = Collections.singletonList(
+                new EndpointPoolStats("ToDoController.read", 12, 0.4, 1.5, 8.2, 30, 1));
+        List<LeakSuspect> suspects = Collections.singletonList(
+                new LeakSuspect(LocalDateTime.now(), "ToDoController.read", "/todos/1/tasks", 1));
+        when(poolMonitor.getPoolStatus()).thenReturn(pool);
+        when(poolMonitor.getEndpointStats()).thenReturn(endpoints);
+        when(poolMonitor.getLeakSuspects()).thenReturn(suspects);
+
+        mockMvc.perform(get("/diagnostics/pool"))
+                .andExpect(model().attribute("pool", pool))
+                .andExpect(model().attribute("endpoints", endpoints))
+                .andExpect(model().attribute("suspects", suspects))
+                .andExpect(status().isOk())
+                .andExpect(view().name("pool-diagnostics"))
+                .andExpect(content().string(containsString("/todos/1/tasks")))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When GET '/diagnostics/pool' without a Hikari pool should still render endpoint statistics")
+    public void getPoolWithoutHikariTest() throws Exception {
+        when(poolMonitor.getEndpointStats()).thenReturn(Collections.emptyList());
+        when(poolMonitor.getLeakSuspects()).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/diagnostics/pool"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("pool-diagnostics"))
+                .andExpect(content().string(containsString("No Hikari connection pool found.")))
+                .andDo(print());
+    }
+}
@@ -0,0 +1,56 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.datasource.SlowQueryLog;
+import com.softserve.itacademy.dto.SlowQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(QueryDiagnosticsController.class)
+public class QueryDiagnosticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SlowQueryLog slowQueryLog;
+
+    @Test
+    @DisplayName("When GET '/diagnostics/queries' should return slow-queries view with the slowest queries")
+    public void getSlowestTest() throws Exception {
+        List<SlowQuery> queries = Collections.singletonList(new SlowQuery("select * from todos where id = ?",
+                10, 1, 12.5, 250.0, "ToDoRepository.findById", "ToDoController.read", "[Long]"));
+        when(slowQueryLog.getSlowest()).thenReturn(queries);
+
+        mockMvc.perform(get("/diagnostics/queries"))
+                .andExpect(model().attribute("queries", queries))
+                .andExpect(status().isOk())
+                .andExpect(view().name("slow-queries"))
+                .andExpect(content().string(containsString("ToDoRepository.findById")))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When POST '/diagnostics/queries/reset' should clear the table and redirect")
+    public void resetTest() throws Exception {
+        mockMvc.perform(post("/diagnostics/queries/reset"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/diagnostics/queries"))
+                .andDo(print());
+
+        verify(slowQueryLog).reset();
+    }
+}
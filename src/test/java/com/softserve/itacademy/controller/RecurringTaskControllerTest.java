@@ -0,0 +1,95 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.dto.RecurringTaskDto;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.RecurringTask;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.service.RecurringTaskService;
+import com.softserve.itacademy.service.ToDoService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RecurringTaskController.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RecurringTaskControllerTest {
+
+    @MockBean
+    private RecurringTaskService recurringTaskService;
+
+    @MockBean
+    private ToDoService toDoService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ToDo testToDo = new ToDo();
+
+    @BeforeAll
+    public void setUp() {
+        testToDo.setTitle("Test ToDo");
+        testToDo.setId(1L);
+    }
+
+    @Test
+    @DisplayName("When GET /recurring-tasks/all/todos/{todo_id} should return `recurring-tasks` view")
+    public void getAllRecurringTasksTest() throws Exception {
+        when(toDoService.readById(1L)).thenReturn(testToDo);
+        when(recurringTaskService.getByTodoId(1L)).thenReturn(new ArrayList<>());
+        mockMvc.perform(get("/recurring-tasks/all/todos/{todo_id}", 1L))
+                .andExpect(model().attribute("recurringTask", new RecurringTaskDto()))
+                .andExpect(model().attribute("recurringTasks", new ArrayList<>()))
+                .andExpect(model().attribute("todo", testToDo))
+                .andExpect(status().isOk())
+                .andExpect(view().name("recurring-tasks"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When POST /recurring-tasks/create/todos/{todo_id} should save the rule and redirect to the list")
+    public void postCreateRecurringTaskTest() throws Exception {
+        when(toDoService.readById(1L)).thenReturn(testToDo);
+        mockMvc.perform(post("/recurring-tasks/create/todos/{todo_id}", 1L)
+                        .param("name", "Weekly report")
+                        .param("priority", "HIGH")
+                        .param("startsAt", "2026-11-02T09:00")
+                        .param("periodDays", "7"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/recurring-tasks/all/todos/1"))
+                .andDo(print());
+        verify(recurringTaskService).create(argThat(rule -> rule.getPriority() == Priority.HIGH
+                && rule.getPeriodDays() == 7 && rule.getNextAt().equals(LocalDateTime.of(2026, 11, 2, 9, 0))
+                && rule.getTodo() == testToDo));
+    }
+
+    @Test
+    @DisplayName("When POST /recurring-tasks/create/todos/{todo_id} without a first due date should show the form again")
+    public void postCreateInvalidRecurringTaskTest() throws Exception {
+        when(toDoService.readById(1L)).thenReturn(testToDo);
+        mockMvc.perform(post("/recurring-tasks/create/todos/{todo_id}", 1L)
+                        .param("name", "Weekly report")
+                        .param("priority", "HIGH")
+                        .param("periodDays", "0"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeHasFieldErrors("recurringTask", "startsAt", "periodDays"))
+                .andExpect(view().name("recurring-tasks"))
+                .andDo(print());
+        verify(recurringTaskService, never()).create(any(RecurringTask.class));
+    }
+}
@@ -0,0 +1,107 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.cache.CacheInvalidator;
+import com.softserve.itacademy.support.StatementBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs pages against the real repositories on an in-memory database seeded from data.sql and
+ * checks how many statements each one executes. Caches are flushed first, so the budgets hold
+ * for a cold request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class StatementBudgetTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    private StatementBudget statementBudget;
+
+    @BeforeEach
+    public void setUp() {
+        cacheInvalidator.evictAll();
+        statementBudget = new StatementBudget(entityManagerFactory);
+        statementBudget.reset();
+    }
+
+    @Test
+    @DisplayName("GET '/todos/{id}/tasks' should execute at most 3 statements")
+    public void readTodoTest() throws Exception {
+        mockMvc.perform(get("/todos/7/tasks")).andExpect(status().isOk());
+
+        statementBudget.assertAtMost(3, "GET /todos/7/tasks");
+    }
+
+    @Test
+    @DisplayName("GET '/todos/{id}/tasks' should execute the same number of statements regardless of task count")
+    public void readTodoWithManyTasksTest() throws Exception {
+        mockMvc.perform(get("/todos/7/tasks")).andExpect(status().isOk());
+        long fewTasks = statementBudget.getCount();
+
+        for (int i = 0; i < 50; i++) {
+            jdbcTemplate.update("insert into tasks (id, name, priority, rank, todo_id, state_id) values (?, ?, ?, ?, ?, ?)",
+                    1000 + i, "Task #" + i, "LOW", String.format("b%03d", i), 12, 5 + i % 4);
+        }
+        statementBudget.reset();
+        mockMvc.perform(get("/todos/12/tasks")).andExpect(status().isOk());
+
+        statementBudget.assertAtMost(3, "GET /todos/12/tasks");
+        assertEquals(fewTasks, statementBudget.getCount());
+    }
+
+    @Test
+    @DisplayName("GET '/todos/all/users/{id}' should execute at most 3 statements")
+    public void getAllTodosTest() throws Exception {
+        mockMvc.perform(get("/todos/all/users/4")).andExpect(status().isOk());
+
+        statementBudget.assertAtMost(3, "GET /todos/all/users/4");
+    }
+
+    @Test
+    @DisplayName("GET '/users/all' should execute at most 3 statements")
+    public void getAllUsersTest() throws Exception {
+        mockMvc.perform(get("/users/all")).andExpect(status().isOk());
+
+        statementBudget.assertAtMost(3, "GET /users/all");
+    }
+
+    @Test
+    @DisplayName("GET '/users/{id}/read' should execute at most 2 statements")
+    public void readUserTest() throws Exception {
+        mockMvc.perform(get("/users/4/read")).andExpect(status().isOk());
+
+        statementBudget.assertAtMost(2, "GET /users/4/read");
+    }
+
+    @Test
+    @DisplayName("GET '/tasks/{id}/update/todos/{todo_id}' should execute at most 3 statements")
+    public void updateTaskFormTest() throws Exception {
+        mockMvc.perform(get("/tasks/5/update/todos/7")).andExpect(status().isOk());
+
+        statementBudget.assertAtMost(3, "GET /tasks/5/update/todos/7");
+    }
+}
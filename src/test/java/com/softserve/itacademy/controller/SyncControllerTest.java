@@ -0,0 +1,46 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.dto.SyncChange;
+import com.softserve.itacademy.dto.SyncPage;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.service.SyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SyncController.class)
+public class SyncControllerTest {
+
+    @MockBean
+    private SyncService syncService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("When GET /api/sync should return the changes since the watermark as JSON")
+    public void syncTest() throws Exception {
+        SyncChange tombstone = new SyncChange(43, EntityType.TASK, ChangeType.DELETED, 5, 7L, null, null, null, null);
+        when(syncService.getChanges(4, "42", 500))
+                .thenReturn(new SyncPage(Collections.singletonList(tombstone), "43", false));
+
+        mockMvc.perform(get("/api/sync").param("user_id", "4").param("since", "42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").value("43"))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.changes[0].changeType").value("DELETED"))
+                .andExpect(jsonPath("$.changes[0].entityId").value(5))
+                .andDo(print());
+    }
+}
@@ -2,6 +2,7 @@ package com.softserve.itacademy.controller;
 
 import com.softserve.itacademy.dto.TaskDto;
 import com.softserve.itacademy.dto.TaskTransformer;
+import com.softserve.itacademy.exception.InvalidMoveException;
 import com.softserve.itacademy.model.*;
 import com.softserve.itacademy.service.StateService;
 import com.softserve.itacademy.service.TaskService;
@@ -239,4 +240,51 @@ public class TaskControllerTest {
                 .andExpect(view().name("error"))
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("When GET /tasks/{task_id}/move/todos/{todo_id} should move task between its neighbours and redirect")
+    public void getMoveTaskTest() throws Exception {
+        long taskId = 1L;
+        long todoId = 2L;
+
+        mockMvc.perform(get("/tasks/{task_id}/move/todos/{todo_id}", taskId, todoId)
+                        .param("previous_id", "3")
+                        .param("next_id", "4"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(view().name("redirect:/todos/" + todoId + "/tasks"))
+                .andDo(print());
+
+        verify(taskService).move(todoId, taskId, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("When GET /tasks/{task_id}/move/todos/{todo_id} without next_id should move task to the end")
+    public void getMoveTaskToEndTest() throws Exception {
+        long taskId = 1L;
+        long todoId = 2L;
+
+        mockMvc.perform(get("/tasks/{task_id}/move/todos/{todo_id}", taskId, todoId)
+                        .param("previous_id", "3"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(view().name("redirect:/todos/" + todoId + "/tasks"))
+                .andDo(print());
+
+        verify(taskService).move(todoId, taskId, 3L, null);
+    }
+
+    @Test
+    @DisplayName("When GET /tasks/{task_id}/move/todos/{todo_id} with swapped neighbours should return 400")
+    public void getMoveTaskInvalidNeighboursTest() throws Exception {
+        long taskId = 1L;
+        long todoId = 2L;
+        when(taskService.move(todoId, taskId, 4L, 3L))
+                .thenThrow(new InvalidMoveException("Task with id 4 must come before task with id 3"));
+
+        mockMvc.perform(get("/tasks/{task_id}/move/todos/{todo_id}", taskId, todoId)
+                        .param("previous_id", "4")
+                        .param("next_id", "3"))
+                .andExpect(status().isBadRequest())
+                .andExpect(view().name("error"))
+                .andDo(print());
+    }
+}
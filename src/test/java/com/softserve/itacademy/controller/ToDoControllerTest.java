@@ -1,5 +1,8 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.dto.UserView;
 import com.softserve.itacademy.model.*;
 import com.softserve.itacademy.service.TaskService;
 import com.softserve.itacademy.service.ToDoService;
@@ -14,6 +17,9 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -94,14 +100,20 @@ public class ToDoControllerTest {
     public void getReadToDoTest() throws Exception {
         long todoId = 1L;
         long ownerId = 1L;
-        when(toDoService.readById(todoId)).thenReturn(testTodo);
-        when(userService.readById(ownerId)).thenReturn(testUser);
-
-        mockMvc.perform(get("/todos/{id}/tasks", todoId,ownerId))
-                .andExpect(model().attributeExists("todo"))
-                .andExpect(model().attributeExists("tasks"))
-                .andExpect(model().attributeExists("users"))
-                .andExpect(model().attribute("todo", testTodo))
+        TodoView todoView = new TodoView(todoId, "Todo", LocalDateTime.now(), ownerId, "First", "Last");
+        UserView owner = new UserView(ownerId, "First", "Last", false);
+        UserView collaborator = new UserView(2L, "Second", "Last", true);
+        UserView candidate = new UserView(3L, "Third", "Last", false);
+        List<TaskView> tasks = Collections.singletonList(new TaskView(1L, "Task", Priority.LOW, "New", null));
+        when(toDoService.readViewById(todoId)).thenReturn(todoView);
+        when(taskService.getViewsByTodoId(todoId)).thenReturn(tasks);
+        when(userService.getViewsByTodoId(todoId)).thenReturn(Arrays.asList(owner, collaborator, candidate));
+
+        mockMvc.perform(get("/todos/{id}/tasks", todoId))
+                .andExpect(model().attribute("todo", todoView))
+                .andExpect(model().attribute("tasks", tasks))
+                .andExpect(model().attribute("collaborators", Collections.singletonList(collaborator)))
+                .andExpect(model().attribute("users", Collections.singletonList(candidate)))
                 .andExpect(status().isOk())
                 .andExpect(view().name("todo-tasks"))
                 .andDo(print());
@@ -158,17 +170,17 @@ public class ToDoControllerTest {
     public void getAllToDoTest() throws Exception {
         long ownerId = 1L;
         when(userService.readById(ownerId)).thenReturn(testUser);
-        when(toDoService.getByUserId(ownerId)).thenReturn(new ArrayList<>());
+        when(toDoService.getViewsByUserId(ownerId)).thenReturn(new ArrayList<>());
 
         mockMvc.perform(get("/todos/all/users/{user_id}", ownerId))
                 .andExpect(model().size(2))
-                .andExpect(model().attribute("todos", new ArrayList<ToDo>()))
+                .andExpect(model().attribute("todos", new ArrayList<TodoView>()))
                 .andExpect(model().attribute("user", testUser))
                 .andExpect(status().isOk())
                 .andExpect(view().name("todos-user"))
                 .andDo(print());
 
-        verify(toDoService).getByUserId(ownerId);
+        verify(toDoService).getViewsByUserId(ownerId);
     }
 
     @Test
@@ -192,6 +204,8 @@ public class ToDoControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/todos/" + todoId + "/tasks"))
                 .andDo(print());
+
+        verify(toDoService).addCollaborator(todoId, newUser);
     }
 
     @Test
@@ -210,12 +224,58 @@ public class ToDoControllerTest {
         when(toDoService.readById(todoId)).thenReturn(testTodo);
         when(userService.readById(userId)).thenReturn(newUser);
 
-        mockMvc.perform(get("/todos/{id}/add", todoId)
+        mockMvc.perform(get("/todos/{id}/remove", todoId)
                         .param("user_id", String.valueOf(userId)))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/todos/" + todoId + "/tasks"))
                 .andDo(print());
+
+        verify(toDoService).removeCollaborator(todoId, newUser);
     }
 
-}
+    @Test
+    public void getArchivedTodosTest() throws Exception {
+        long userId = 1L;
+        List<TodoView> todos = Collections.singletonList(
+                new TodoView(1L, "Todo", LocalDateTime.now(), userId, "First", "Last"));
+        when(toDoService.getArchivedViewsByUserId(userId)).thenReturn(todos);
+        when(userService.readById(userId)).thenReturn(testUser);
+
+        mockMvc.perform(get("/todos/archived/users/{user_id}", userId))
+                .andExpect(model().attribute("todos", todos))
+                .andExpect(model().attribute("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(view().name("archived-todos"))
+                .andDo(print());
+    }
 
+    @Test
+    public void getArchivedTodoTasksTest() throws Exception {
+        long todoId = 1L;
+        TodoView todoView = new TodoView(todoId, "Todo", LocalDateTime.now(), 1L, "First", "Last");
+        List<TaskView> tasks = Collections.singletonList(new TaskView(1L, "Task", Priority.LOW, "Done", null));
+        when(toDoService.readArchivedViewById(todoId)).thenReturn(todoView);
+        when(toDoService.getArchivedTaskViews(todoId)).thenReturn(tasks);
+
+        mockMvc.perform(get("/todos/archived/{id}/tasks", todoId))
+                .andExpect(model().attribute("todo", todoView))
+                .andExpect(model().attribute("tasks", tasks))
+                .andExpect(status().isOk())
+                .andExpect(view().name("archived-todo-tasks"))
+                .andDo(print());
+    }
+
+    @Test
+    public void restoreTodoTest() throws Exception {
+        long todoId = 1L;
+        long userId = 1L;
+
+        mockMvc.perform(post("/todos/{todo_id}/restore/users/{user_id}", todoId, userId))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/todos/all/users/" + userId))
+                .andDo(print());
+
+        verify(toDoService).restore(todoId);
+    }
+
+}
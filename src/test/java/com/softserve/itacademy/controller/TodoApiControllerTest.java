@@ -0,0 +1,157 @@
+package com.softserve.itacademy.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.softserve.itacademy.dto.BatchMode;
+import com.softserve.itacademy.dto.TaskOperation;
+import com.softserve.itacademy.dto.TaskOperationResult;
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.dto.UserView;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TodoApiController.class)
+public class TodoApiControllerTest {
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+    @MockBean
+    private ToDoService todoService;
+
+    @MockBean
+    private TaskService taskService;
+
+    @MockBean
+    private UserService userService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("When GET /api/todos/{todo_id}/tasks should return the tasks as JSON by default")
+    public void getTasksAsJsonTest() throws Exception {
+        when(taskService.getByTodoId(7)).thenReturn(Collections.singletonList(task()));
+
+        mockMvc.perform(get("/api/todos/7/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value("Task #1"))
+                .andExpect(jsonPath("$[0].dueAt").value("2020-09-20T10:00:00"))
+                .andExpect(jsonPath("$[0].todoId").value(7))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When GET /api/todos/{todo_id}/tasks accepting CBOR should return the same tasks as CBOR")
+    public void getTasksAsCborTest() throws Exception {
+        when(taskService.getByTodoId(7)).thenReturn(Collections.singletonList(task()));
+
+        byte[] body = mockMvc.perform(get("/api/todos/7/tasks").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andDo(print())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode tasks = new CBORMapper().readTree(body);
+        assertEquals("Task #1", tasks.get(0).get("name").asText());
+        assertEquals("2020-09-20T10:00:00", tasks.get(0).get("dueAt").asText());
+        assertEquals(7, tasks.get(0).get("todoId").asLong());
+    }
+
+    @Test
+    @DisplayName("When GET /api/users/{user_id}/todos accepting CBOR should return the visible To-Dos as CBOR")
+    public void getTodosAsCborTest() throws Exception {
+        when(todoService.getViewsByUserId(4)).thenReturn(Collections.singletonList(
+                new TodoView(7, "Mike's To-Do #1", LocalDateTime.of(2020, 9, 16, 14, 0), 4L, "Mike", "Brown")));
+
+        byte[] body = mockMvc.perform(get("/api/users/4/todos").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("Mike's To-Do #1", new CBORMapper().readTree(body).get(0).get("title").asText());
+    }
+
+    @Test
+    @DisplayName("When GET /api/users/{user_id}/todo-ids should return the ids of the visible To-Dos")
+    public void getTodoIdsTest() throws Exception {
+        when(todoService.getVisibleIds(4)).thenReturn(new long[]{7, 8, 9, 10, 12});
+
+        mockMvc.perform(get("/api/users/4/todo-ids"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[7, 8, 9, 10, 12]"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When GET /api/todos/{todo_id}/users should return the users as JSON")
+    public void getUsersTest() throws Exception {
+        when(userService.getViewsByTodoId(7)).thenReturn(Collections.singletonList(
+                new UserView(5, "Nick", "Green", true)));
+
+        mockMvc.perform(get("/api/todos/7/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName").value("Nick"))
+                .andExpect(jsonPath("$[0].collaborator").value(true))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When POST /api/todos/{todo_id}/tasks/batch should return a result per operation")
+    public void applyTaskBatchTest() throws Exception {
+        when(taskService.applyBatch(eq(7L), anyList(), eq(BatchMode.BEST_EFFORT))).thenReturn(Arrays.asList(
+                new TaskOperationResult(0, TaskOperation.Type.CREATE, 21L, TaskOperationResult.Status.APPLIED, null),
+                new TaskOperationResult(1, TaskOperation.Type.DELETE, 404L, TaskOperationResult.Status.FAILED,
+                        "Task with id 404 not found in To-Do with id 7")));
+
+        mockMvc.perform(post("/api/todos/7/tasks/batch")
+                .param("mode", "BEST_EFFORT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"type\": \"CREATE\", \"name\": \"Task #2\", \"priority\": \"LOW\"," +
+                        " \"dueAt\": \"2020-09-21T10:00:00\"}, {\"type\": \"DELETE\", \"id\": 404}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(21))
+                .andExpect(jsonPath("$[0].status").value("APPLIED"))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andDo(print());
+    }
+
+    private static Task task() {
+        ToDo todo = new ToDo();
+        todo.setId(7);
+        State state = new State();
+        state.setName("New");
+        Task task = new Task();
+        task.setId(5);
+        task.setName("Task #1");
+        task.setPriority(Priority.HIGH);
+        task.setDueAt(LocalDateTime.of(2020, 9, 20, 10, 0));
+        task.setTodo(todo);
+        task.setState(state);
+        return task;
+    }
+}
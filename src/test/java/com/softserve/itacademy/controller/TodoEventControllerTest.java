@@ -0,0 +1,41 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.service.TodoEventStreamService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoEventController.class)
+public class TodoEventControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoEventStreamService eventStreamService;
+
+    @Test
+    @DisplayName("When GET /todos/{id}/events should open an event stream for the to-do")
+    public void subscribeTest() throws Exception {
+        long todoId = 1L;
+        when(eventStreamService.subscribe(todoId)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/todos/{id}/events", todoId).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andDo(print());
+
+        verify(eventStreamService).subscribe(todoId);
+    }
+}
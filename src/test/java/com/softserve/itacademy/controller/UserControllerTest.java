@@ -1,7 +1,11 @@
 package com.softserve.itacademy.controller;
 
+import com.softserve.itacademy.dto.UserPage;
+import com.softserve.itacademy.dto.UserSort;
+import com.softserve.itacademy.exception.InvalidCursorException;
 import com.softserve.itacademy.model.Role;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.service.PasswordHashingService;
 import com.softserve.itacademy.service.RoleService;
 import com.softserve.itacademy.service.UserService;
 import org.junit.jupiter.api.BeforeAll;
@@ -13,13 +17,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 
 import javax.persistence.EntityNotFoundException;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -35,6 +44,9 @@ public class UserControllerTest {
     @MockBean
     private RoleService roleService;
 
+    @MockBean
+    private PasswordHashingService passwordHashingService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -71,14 +83,20 @@ public class UserControllerTest {
         BeanUtils.copyProperties(testUser1, newUser);
         newUser.setId(0);
         newUser.setRole(null);
+        newUser.setPassword("hashed");
 
+        when(passwordHashingService.encode(testUser1.getPassword())).thenReturn(CompletableFuture.completedFuture("hashed"));
         when(userService.create(newUser)).thenReturn(testUser1);
 
-        mockMvc.perform(post("/users/create")
+        MvcResult result = mockMvc.perform(post("/users/create")
                         .param("firstName", newUser.getFirstName())
                         .param("lastName", newUser.getLastName())
-                        .param("password", newUser.getPassword())
+                        .param("password", testUser1.getPassword())
                         .param("email", newUser.getEmail()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(view().name("redirect:/todos/all/users/" + testUser1.getId()))
                 .andDo(print());
@@ -95,11 +113,15 @@ public class UserControllerTest {
         newUser.setEmail("invalid_email");
         when(userService.create(newUser)).thenReturn(testUser1);
 
-        mockMvc.perform(post("/users/create")
+        MvcResult result = mockMvc.perform(post("/users/create")
                         .param("firstName", newUser.getFirstName())
                         .param("lastName", newUser.getLastName())
                         .param("password", newUser.getPassword())
                         .param("email", newUser.getEmail()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(model().errorCount(1))
                 .andExpect(model().attributeHasFieldErrorCode("user", "email", "Pattern"))
@@ -107,6 +129,7 @@ public class UserControllerTest {
                 .andDo(print());
 
         verify(userService, never()).create(newUser);
+        verify(passwordHashingService, never()).encode(newUser.getPassword());
     }
 
     @Test
@@ -154,7 +177,7 @@ public class UserControllerTest {
     public void postUpdateUserTest() throws Exception {
         User newUser = new User();
         newUser.setEmail("newEmail@gmail.com");
-        newUser.setPassword("newPass");
+        newUser.setPassword("hashed");
         newUser.setFirstName("Test");
         newUser.setLastName("Name");
         newUser.setRole(testRole1);
@@ -162,14 +185,19 @@ public class UserControllerTest {
 
         when(userService.readById(newUser.getId())).thenReturn(testUser1);
         when(roleService.readById(2)).thenReturn(testRole1);
+        when(passwordHashingService.encode("newPass")).thenReturn(CompletableFuture.completedFuture("hashed"));
 
-        mockMvc.perform(post("/users/{id}/update", testUser1.getId())
+        MvcResult result = mockMvc.perform(post("/users/{id}/update", testUser1.getId())
                         .param("firstName", newUser.getFirstName())
                         .param("id", String.valueOf(newUser.getId()))
                         .param("roleId", String.valueOf(newUser.getRole().getId()))
                         .param("lastName", newUser.getLastName())
-                        .param("password", newUser.getPassword())
+                        .param("password", "newPass")
                         .param("email", newUser.getEmail()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(view().name("redirect:/users/" + testUser1.getId() + "/read"))
                 .andDo(print());
@@ -191,13 +219,17 @@ public class UserControllerTest {
         when(userService.readById(newUser.getId())).thenReturn(testUser1);
         when(roleService.readById(2)).thenReturn(testRole1);
 
-        mockMvc.perform(post("/users/{id}/update", testUser1.getId())
+        MvcResult result = mockMvc.perform(post("/users/{id}/update", testUser1.getId())
                         .param("firstName", newUser.getFirstName())
                         .param("id", String.valueOf(newUser.getId()))
                         .param("roleId", String.valueOf(newUser.getRole().getId()))
                         .param("lastName", newUser.getLastName())
                         .param("password", newUser.getPassword())
                         .param("email", "invalid_email"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(model().attributeExists("roles"))
                 .andExpect(model().errorCount(1))
@@ -274,18 +306,45 @@ public class UserControllerTest {
     }
 
     @Test
-    @DisplayName("When GET /users/all should return users-user view List of all users")
+    @DisplayName("When GET /users/all should return users-list view with the first page of users")
     public void getAllUsersTest() throws Exception {
-        when(userService.getAll()).thenReturn(new ArrayList<>());
+        when(userService.getPage(UserSort.NAME, null, null, 50)).thenReturn(new UserPage(new ArrayList<>(), null, 0));
 
         mockMvc.perform(get("/users/all"))
-                .andExpect(model().size(1))
                 .andExpect(model().attribute("users", new ArrayList<User>()))
+                .andExpect(model().attribute("sort", UserSort.NAME))
                 .andExpect(status().isOk())
                 .andExpect(view().name("users-list"))
                 .andDo(print());
 
-        verify(userService).getAll();
+        verify(userService).getPage(UserSort.NAME, null, null, 50);
+    }
+
+    @Test
+    @DisplayName("When GET /users/all with a cursor should return that page and link the next one")
+    public void getAllUsersNextPageTest() throws Exception {
+        when(roleService.getAll()).thenReturn(Collections.singletonList(testRole1));
+        when(userService.getPage(UserSort.EMAIL, 2L, "bmlja0BtYWlsLmNvbQ", 50))
+                .thenReturn(new UserPage(Collections.singletonList(testUser1), "dGVzdEBnbWFpbC5jb20", 3));
+
+        mockMvc.perform(get("/users/all").param("sort", "EMAIL").param("role", "2")
+                .param("after", "bmlja0BtYWlsLmNvbQ"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("About 3 users")))
+                .andExpect(content().string(containsString("after=dGVzdEBnbWFpbC5jb20")))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When GET /users/all with a cursor that is not valid should return 400")
+    public void getAllUsersInvalidCursorTest() throws Exception {
+        when(userService.getPage(UserSort.NAME, null, "%%", 50))
+                .thenThrow(new InvalidCursorException("Cursor '%%' is not valid"));
+
+        mockMvc.perform(get("/users/all").param("after", "%%"))
+                .andExpect(status().isBadRequest())
+                .andExpect(view().name("error"))
+                .andDo(print());
     }
 
 }
\ No newline at end of file
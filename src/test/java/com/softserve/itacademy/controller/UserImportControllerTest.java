@@ -0,0 +1,119 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.dto.ImportFormat;
+import com.softserve.itacademy.dto.ImportResult;
+import com.softserve.itacademy.service.UserImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityNotFoundException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserImportController.class)
+public class UserImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @Test
+    @DisplayName("When GET /users/import should return import-users view")
+    public void getImportTest() throws Exception {
+        mockMvc.perform(get("/users/import"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("import-users"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When POST /users/import with .ndjson file should start an NDJSON import and redirect to its status")
+    public void postImportTest() throws Exception {
+        ImportResult result = new ImportResult("id", ImportResult.Status.RUNNING, 0, 0, 0);
+        when(userImportService.startImport(any(InputStream.class), eq(ImportFormat.NDJSON))).thenReturn(result);
+
+        MockMultipartFile file = new MockMultipartFile("file", "users.ndjson", "application/x-ndjson",
+                "{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"ann@mail.com\",\"password\":\"1234\"}"
+                        .getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/users/import").file(file))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/users/import/id"))
+                .andDo(print());
+
+        verify(userImportService).startImport(any(InputStream.class), eq(ImportFormat.NDJSON));
+    }
+
+    @Test
+    @DisplayName("When GET /users/import/{id} should show the import status")
+    public void getStatusTest() throws Exception {
+        ImportResult result = new ImportResult("id", ImportResult.Status.FINISHED, 3, 2, 1);
+        when(userImportService.getResult("id")).thenReturn(result);
+
+        mockMvc.perform(get("/users/import/{import_id}", "id"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("result", result))
+                .andExpect(view().name("import-users"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When POST /users/import while the import queue is full should return 503")
+    public void postImportRejectedTest() throws Exception {
+        when(userImportService.startImport(any(InputStream.class), eq(ImportFormat.CSV)))
+                .thenThrow(new TaskRejectedException("full"));
+
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv",
+                "first_name,last_name,email,password\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/users/import").file(file))
+                .andExpect(status().isServiceUnavailable())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("When GET /users/import/{id}/report should download the error report")
+    public void getReportTest() throws Exception {
+        Path report = Files.createTempFile("import", ".csv");
+        Files.write(report, Collections.singletonList("row,email,error"));
+        when(userImportService.getReport("id")).thenReturn(report);
+
+        mockMvc.perform(get("/users/import/{import_id}/report", "id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"import-id-errors.csv\""))
+                .andExpect(content().string("row,email,error\n"))
+                .andDo(print());
+        Files.delete(report);
+    }
+
+    @Test
+    @DisplayName("When GET /users/import/{id}/report with unknown id should return error view")
+    public void getReportNotFoundTest() throws Exception {
+        when(userImportService.getReport("unknown")).thenThrow(new EntityNotFoundException("not found"));
+
+        mockMvc.perform(get("/users/import/{import_id}/report", "unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(view().name("error"))
+                .andDo(print());
+    }
+}
@@ -0,0 +1,126 @@
+package com.softserve.itacademy.dataset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetGeneratorTest {
+    private static final Map<String, Long> ROLES = new HashMap<>();
+    private static final Map<String, Long> STATES = new HashMap<>();
+
+    static {
+        ROLES.put("ADMIN", 1L);
+        ROLES.put("USER", 2L);
+        STATES.put("New", 5L);
+        STATES.put("Doing", 6L);
+        STATES.put("Verify", 7L);
+        STATES.put("Done", 8L);
+    }
+
+    @Test
+    @DisplayName("Rows should not depend on how the users are split into chunks")
+    public void chunkIndependenceTest() throws SQLException {
+        DatasetSpec spec = spec(2_000);
+
+        List<DatasetGenerator.Chunk> whole = generator(spec).chunks(1);
+        List<DatasetGenerator.Chunk> split = generator(spec).chunks(7);
+
+        assertEquals(7, split.size());
+        assertEquals(whole.get(0).getTodos(), split.stream().mapToLong(DatasetGenerator.Chunk::getTodos).sum());
+        assertEquals(whole.get(0).getTasks(), split.stream().mapToLong(DatasetGenerator.Chunk::getTasks).sum());
+        assertEquals(rows(spec, 1), rows(spec, 7));
+    }
+
+    @Test
+    @DisplayName("To-Dos per user should have the configured mean and a heavy tail")
+    public void todoSkewTest() throws SQLException {
+        DatasetSpec spec = spec(20_000);
+        long[] todosPerUser = new long[(int) spec.getUsers()];
+        DatasetGenerator generator = generator(spec);
+        for (DatasetGenerator.Chunk chunk : generator.chunks(4)) {
+            generator.writeTodos(chunk, values -> todosPerUser[(int) ((long) values[3] - 100)]++);
+        }
+
+        long total = Arrays.stream(todosPerUser).sum();
+        assertEquals(spec.getTodosPerUser(), (double) total / spec.getUsers(), 1);
+        Arrays.sort(todosPerUser);
+        long top = Arrays.stream(todosPerUser, todosPerUser.length * 9 / 10, todosPerUser.length).sum();
+        assertTrue(top > total * 0.45, "top 10% of users own " + top + " of " + total);
+        assertTrue(todosPerUser[todosPerUser.length / 2] < spec.getTodosPerUser());
+    }
+
+    @Test
+    @DisplayName("Collaborators should exist, never be the owner and never repeat on one To-Do")
+    public void collaboratorTest() throws SQLException {
+        DatasetSpec spec = spec(5_000);
+        DatasetGenerator generator = generator(spec);
+        Map<Long, Long> owners = new HashMap<>();
+        Set<String> pairs = new HashSet<>();
+        long[] shared = new long[1];
+        for (DatasetGenerator.Chunk chunk : generator.chunks(3)) {
+            generator.writeTodos(chunk, values -> owners.put((Long) values[0], (Long) values[3]));
+            generator.writeCollaborators(chunk, values -> {
+                long todo = (Long) values[0];
+                long user = (Long) values[1];
+                assertTrue(user >= 100 && user < 100 + spec.getUsers());
+                assertNotEquals(owners.get(todo), user);
+                assertTrue(pairs.add(todo + ":" + user));
+            });
+        }
+        pairs.stream().map(pair -> pair.substring(0, pair.indexOf(':'))).distinct().forEach(todo -> shared[0]++);
+
+        assertEquals(spec.getSharedTodoShare(), (double) shared[0] / owners.size(), 0.03);
+    }
+
+    @Test
+    @DisplayName("Task states should follow the configured weights")
+    public void stateWeightsTest() throws SQLException {
+        DatasetSpec spec = spec(2_000);
+        DatasetGenerator generator = generator(spec);
+        Map<Long, Long> states = new HashMap<>();
+        long[] tasks = new long[1];
+        for (DatasetGenerator.Chunk chunk : generator.chunks(2)) {
+            generator.writeTasks(chunk, values -> {
+                states.merge((Long) values[6], 1L, Long::sum);
+                tasks[0]++;
+            });
+        }
+
+        assertEquals(0.5, (double) states.get(8L) / tasks[0], 0.02);
+        assertEquals(0.05, (double) states.get(7L) / tasks[0], 0.02);
+    }
+
+    private static DatasetSpec spec(long users) {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setUsers(users);
+        return spec;
+    }
+
+    private static DatasetGenerator generator(DatasetSpec spec) {
+        return new DatasetGenerator(spec, ROLES, STATES, "hash", LocalDateTime.of(2020, 9, 16, 14, 0), 100, 1_000, 10_000);
+    }
+
+    private static List<String> rows(DatasetSpec spec, int chunkCount) throws SQLException {
+        DatasetGenerator generator = generator(spec);
+        List<String> rows = new ArrayList<>();
+        for (DatasetGenerator.Chunk chunk : generator.chunks(chunkCount)) {
+            generator.writeUsers(chunk, values -> rows.add(Arrays.toString(values)));
+            generator.writeTodos(chunk, values -> rows.add(Arrays.toString(values)));
+            generator.writeTasks(chunk, values -> rows.add(Arrays.toString(values)));
+            generator.writeCollaborators(chunk, values -> rows.add(Arrays.toString(values)));
+        }
+        rows.sort(null);
+        return rows;
+    }
+}
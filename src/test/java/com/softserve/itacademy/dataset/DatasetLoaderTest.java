@@ -0,0 +1,77 @@
+package com.softserve.itacademy.dataset;
+
+import com.softserve.itacademy.service.impl.UserCounter;
+import com.softserve.itacademy.service.impl.VisibilityIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class DatasetLoaderTest {
+    @Autowired
+    private DatasetLoader datasetLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserCounter userCounter;
+
+    @Autowired
+    private VisibilityIndex visibilityIndex;
+
+    private DatasetSummary summary;
+
+    @AfterEach
+    public void cleanUp() {
+        if (summary != null) {
+            jdbcTemplate.update("delete from todo_collaborator where todo_id >= ?", summary.getFirstTodoId());
+            jdbcTemplate.update("delete from tasks where id >= ?", summary.getFirstTaskId());
+            jdbcTemplate.update("delete from todos where id >= ?", summary.getFirstTodoId());
+            jdbcTemplate.update("delete from users where id >= ?", summary.getFirstUserId());
+            userCounter.refresh();
+            visibilityIndex.rebuild();
+        }
+    }
+
+    @Test
+    @DisplayName("load() should add the generated rows after the existing ones and keep ids usable")
+    public void loadTest() {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setUsers(300);
+        spec.setThreads(2);
+        long lastUserId = count("select max(id) from users where id > ?", 0L);
+        long lastTodoId = count("select max(id) from todos where id > ?", 0L);
+        long users = userCounter.count(null);
+
+        summary = datasetLoader.load(spec);
+
+        assertEquals(lastUserId + 1, summary.getFirstUserId());
+        assertEquals(lastTodoId + 1, summary.getFirstTodoId());
+        assertEquals(300, summary.getUsers());
+        assertTrue(summary.getTodos() > 0 && summary.getTasks() > 0 && summary.getCollaborators() > 0);
+        assertEquals(summary.getTodos(), count("select count(*) from todos where id >= ?", summary.getFirstTodoId()));
+        assertEquals(summary.getTasks(), count("select count(*) from tasks t join todos td on td.id = t.todo_id " +
+                "where t.id >= ? and td.id >= " + summary.getFirstTodoId(), summary.getFirstTaskId()));
+        assertEquals(users + 300, userCounter.count(null));
+
+        long owner = count("select min(owner_id) from todos where id >= ?", summary.getFirstTodoId());
+        assertTrue(visibilityIndex.getVisibleIds(owner).length > 0);
+
+        jdbcTemplate.update("insert into users (first_name, last_name, email, password, role_id) " +
+                "values ('Late', 'Comer', 'late@mail.com', 'password', 2)");
+        assertEquals(summary.getFirstUserId() + summary.getUsers(),
+                count("select id from users where email = ?", "late@mail.com"));
+    }
+
+    private long count(String sql, Object arg) {
+        return jdbcTemplate.queryForObject(sql, Long.class, arg);
+    }
+}
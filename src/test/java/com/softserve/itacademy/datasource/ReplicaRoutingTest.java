@@ -0,0 +1,101 @@
+package com.softserve.itacademy.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.servlet.http.Cookie;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplicaRoutingTest {
+    private final Replica replica = new Replica("replica-1", new DriverManagerDataSource());
+    private final ReplicaRoutingDataSource routing =
+            new ReplicaRoutingDataSource(new DriverManagerDataSource(), Arrays.asList(replica));
+    private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(new DriverManagerDataSource(),
+            Arrays.asList(replica), 1024);
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    @DisplayName("An instance that is not in recovery should be kept out of rotation")
+    public void notStandbyTest() {
+        monitor.update(replica, 0L);
+        assertTrue(replica.isHealthy());
+
+        monitor.update(replica, null);
+        assertFalse(replica.isHealthy());
+        assertEquals(-1, replica.getLagBytes());
+    }
+
+    @Test
+    @DisplayName("A replica lagging more than the limit should be kept out of rotation")
+    public void laggingTest() {
+        monitor.update(replica, 4096L);
+        assertFalse(replica.isHealthy());
+        assertEquals(4096, replica.getLagBytes());
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should go to a healthy replica, others to the primary")
+    public void routingTest() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        monitor.update(replica, 0L);
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+
+        ReadYourWritesContext.stickToPrimaryUntil(System.currentTimeMillis() + 60_000);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("The cookie should be set when a write commits, even if the response is committed later")
+    public void cookieOnCommitTest() throws Exception {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(5000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest(), response, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        assertNull(response.getCookie(ReadYourWritesInterceptor.COOKIE_NAME));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        response.setCommitted(true);
+        interceptor.postHandle(new MockHttpServletRequest(), response, null, null);
+
+        Cookie cookie = response.getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals("/", cookie.getPath());
+    }
+
+    @Test
+    @DisplayName("No cookie should be set for a request that did not write")
+    public void noCookieTest() throws Exception {
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(5000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest(), response, null);
+        interceptor.afterCompletion(new MockHttpServletRequest(), response, null, null);
+
+        assertNull(response.getCookie(ReadYourWritesInterceptor.COOKIE_NAME));
+    }
+}
@@ -0,0 +1,44 @@
+package com.softserve.itacademy.datasource;
+
+import com.softserve.itacademy.dto.SlowQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class SlowQueryLogTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    public void setUp() {
+        slowQueryLog.reset();
+    }
+
+    @Test
+    @DisplayName("Statements run by Hibernate should be recorded with their repository method and endpoint")
+    public void recordsOriginTest() throws Exception {
+        mockMvc.perform(get("/todos/7/tasks")).andExpect(status().isOk());
+
+        List<SlowQuery> queries = slowQueryLog.getSlowest();
+        assertTrue(queries.stream().anyMatch(query -> "TaskRepository.getViewsByTodoId".equals(query.getOrigin())
+                && "ToDoController.read".equals(query.getEndpoint())
+                && "[Long]".equals(query.getBinds())), queries::toString);
+    }
+}
@@ -0,0 +1,44 @@
+package com.softserve.itacademy.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqlFingerprintTest {
+
+    @Test
+    @DisplayName("Literals should be replaced by placeholders")
+    public void literalsTest() {
+        assertEquals("select * from users where email = ? and id > ?",
+                SqlFingerprint.of("select * from users where email = 'o''neil@mail.com' and id > 42"));
+    }
+
+    @Test
+    @DisplayName("Whitespace should be collapsed")
+    public void whitespaceTest() {
+        assertEquals("select t.id from todos t where t.id = ?",
+                SqlFingerprint.of("select t.id\n  from todos t\twhere t.id = ?  "));
+    }
+
+    @Test
+    @DisplayName("IN lists of any length should share one fingerprint")
+    public void inListTest() {
+        assertEquals(SqlFingerprint.of("select email from users where email in (?, ?, ?)"),
+                SqlFingerprint.of("select email from users where email in (?,?)"));
+    }
+
+    @Test
+    @DisplayName("Multi-row inserts should share one fingerprint")
+    public void valuesListTest() {
+        assertEquals("insert into roles (id, name) values (?, ?), ...",
+                SqlFingerprint.of("insert into roles (id, name) values (1, 'ADMIN'), (2, 'USER')"));
+    }
+
+    @Test
+    @DisplayName("Digits in identifiers should be kept")
+    public void identifiersTest() {
+        assertEquals("select todo0_.id as id1_3_ from todos todo0_ where todo0_.id = ?",
+                SqlFingerprint.of("select todo0_.id as id1_3_ from todos todo0_ where todo0_.id = 7"));
+    }
+}
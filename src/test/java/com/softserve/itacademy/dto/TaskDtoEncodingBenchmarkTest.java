@@ -0,0 +1,118 @@
+package com.softserve.itacademy.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares JSON and CBOR for task lists of the sizes the API serves, with both mappers set up
+ * like the application's. Prints size (raw and gzipped) and mean encode/decode time per list;
+ * run with {@code ENCODING_BENCHMARK=true mvn test -Dtest=TaskDtoEncodingBenchmarkTest}.
+ */
+@EnabledIfEnvironmentVariable(named = "ENCODING_BENCHMARK", matches = "true")
+public class TaskDtoEncodingBenchmarkTest {
+    private static final int[] SIZES = {10, 100, 1_000, 10_000};
+    private static final String[] NAMES = {"Prepare the quarterly report", "Call the supplier", "Review pull request",
+            "Buy groceries", "Book flights to Lviv", "Renew the car insurance", "Fix the kitchen tap",
+            "Write release notes for 2.4", "Plan the team offsite", "Pay the electricity bill"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final TypeReference<List<TaskDto>> TASK_LIST = new TypeReference<List<TaskDto>>() {
+    };
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).factory(new CBORFactory()).build();
+
+    @Test
+    @DisplayName("CBOR should encode task lists into fewer bytes than JSON")
+    public void compareEncodings() throws IOException {
+        System.out.printf("%7s %6s %10s %10s %12s %12s%n", "tasks", "format", "bytes", "gzipped", "encode, us", "decode, us");
+        for (int size : SIZES) {
+            List<TaskDto> tasks = tasks(size);
+            Result jsonResult = measure(json, tasks);
+            Result cborResult = measure(cbor, tasks);
+            print(size, "json", jsonResult);
+            print(size, "cbor", cborResult);
+            assertTrue(cborResult.bytes < jsonResult.bytes);
+        }
+    }
+
+    private Result measure(ObjectMapper mapper, List<TaskDto> tasks) throws IOException {
+        int iterations = Math.max(20, 200_000 / tasks.size());
+        byte[] encoded = mapper.writeValueAsBytes(tasks);
+        for (int i = 0; i < iterations; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(tasks), TASK_LIST);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            encoded = mapper.writeValueAsBytes(tasks);
+        }
+        long encodeNanos = System.nanoTime() - start;
+        List<TaskDto> decoded = null;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decoded = mapper.readValue(encoded, TASK_LIST);
+        }
+        long decodeNanos = System.nanoTime() - start;
+        assertEquals(tasks.size(), decoded.size());
+        assertEquals(tasks.get(tasks.size() - 1).getDueAt(), decoded.get(decoded.size() - 1).getDueAt());
+        return new Result(encoded.length, gzipped(encoded), encodeNanos / 1000.0 / iterations,
+                decodeNanos / 1000.0 / iterations);
+    }
+
+    private static List<TaskDto> tasks(int size) {
+        Random random = new Random(size);
+        LocalDateTime now = LocalDateTime.of(2020, 9, 16, 14, 0);
+        List<TaskDto> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime dueAt = random.nextInt(3) == 0 ? null : now.plusMinutes(random.nextInt(60 * 24 * 60));
+            tasks.add(new TaskDto(100_000 + i, NAMES[random.nextInt(NAMES.length)] + " #" + (i + 1),
+                    PRIORITIES[random.nextInt(PRIORITIES.length)], dueAt, 7 + i / 50, 5 + random.nextInt(4)));
+        }
+        return tasks;
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    private static void print(int size, String format, Result result) {
+        System.out.printf("%7d %6s %10d %10d %12.1f %12.1f%n", size, format, result.bytes, result.gzipped,
+                result.encodeMicros, result.decodeMicros);
+    }
+
+    private static final class Result {
+        private final int bytes;
+        private final int gzipped;
+        private final double encodeMicros;
+        private final double decodeMicros;
+
+        private Result(int bytes, int gzipped, double encodeMicros, double decodeMicros) {
+            this.bytes = bytes;
+            this.gzipped = gzipped;
+            this.encodeMicros = encodeMicros;
+            this.decodeMicros = decodeMicros;
+        }
+    }
+}
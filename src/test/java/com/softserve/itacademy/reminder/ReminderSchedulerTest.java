@@ -0,0 +1,80 @@
+package com.softserve.itacademy.reminder;
+
+import com.softserve.itacademy.shard.ShardDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class ReminderSchedulerTest {
+    private static final long TASK_ID = 950;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectProvider<ShardDirectory> shardDirectory;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from tasks where id = ?", TASK_ID);
+    }
+
+    @Test
+    @DisplayName("A reminder that came due while the node was down should be sent right after start")
+    public void missedReminderTest() throws Exception {
+        jdbcTemplate.update("insert into tasks (id, name, priority, rank, due_at, todo_id, state_id) " +
+                "values (?, 'Due soon', 'LOW', 'z', ?, 11, 5)", TASK_ID, Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)));
+        BlockingQueue<Reminder> sent = new LinkedBlockingQueue<>();
+        ReminderScheduler scheduler = new ReminderScheduler(jdbcTemplate, sent::add, new SimpleMeterRegistry(),
+                shardDirectory, 50, 20, 60_000, 15, "Done");
+
+        scheduler.start();
+        try {
+            Reminder reminder = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(reminder);
+            assertEquals(TASK_ID, reminder.getTaskId());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("A reminder armed on two nodes should be sent by only one of them")
+    public void twoNodesTest() throws Exception {
+        jdbcTemplate.update("insert into tasks (id, name, priority, rank, due_at, todo_id, state_id) " +
+                "values (?, 'Due soon', 'LOW', 'z', ?, 11, 5)", TASK_ID, Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)));
+        BlockingQueue<Reminder> sent = new LinkedBlockingQueue<>();
+        ReminderScheduler first = new ReminderScheduler(jdbcTemplate, sent::add, new SimpleMeterRegistry(),
+                shardDirectory, 50, 20, 60_000, 15, "Done");
+        ReminderScheduler second = new ReminderScheduler(jdbcTemplate, sent::add, new SimpleMeterRegistry(),
+                shardDirectory, 50, 20, 60_000, 15, "Done");
+
+        first.start();
+        second.start();
+        try {
+            assertNotNull(sent.poll(5, TimeUnit.SECONDS));
+            assertNull(sent.poll(1, TimeUnit.SECONDS));
+        } finally {
+            first.stop();
+            second.stop();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.softserve.itacademy.reminder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    @DisplayName("advance() should fire entries in deadline order, including ones held by overflow wheels")
+    public void advanceTest() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        assertTrue(wheel.add(new TimingWheel.Entry<>(5_000, "overflow-2")));
+        assertTrue(wheel.add(new TimingWheel.Entry<>(35, "inner")));
+        assertTrue(wheel.add(new TimingWheel.Entry<>(300, "overflow-1")));
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(29, entry -> fired.add(entry.getValue()));
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(30, entry -> fired.add(entry.getValue()));
+        assertEquals(Arrays.asList("inner"), fired);
+
+        wheel.advance(299, entry -> fired.add(entry.getValue()));
+        assertEquals(Arrays.asList("inner"), fired);
+
+        wheel.advance(300, entry -> fired.add(entry.getValue()));
+        wheel.advance(10_000, entry -> fired.add(entry.getValue()));
+        assertEquals(Arrays.asList("inner", "overflow-1", "overflow-2"), fired);
+    }
+
+    @Test
+    @DisplayName("Cancelled entries should not fire and due entries should be rejected by add()")
+    public void cancelTest() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        TimingWheel.Entry<String> cancelled = new TimingWheel.Entry<>(500, "cancelled");
+        assertTrue(wheel.add(cancelled));
+        assertTrue(wheel.add(new TimingWheel.Entry<>(510, "kept")));
+        cancelled.cancel();
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(1_000, entry -> fired.add(entry.getValue()));
+        assertEquals(Arrays.asList("kept"), fired);
+
+        assertFalse(wheel.add(new TimingWheel.Entry<>(1_005, "due")));
+    }
+}
@@ -0,0 +1,68 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dataset.DatasetLoader;
+import com.softserve.itacademy.dataset.DatasetSpec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks the plans of the To-Do visibility queries on a PostgreSQL database filled with a few
+ * hundred thousand generated rows. The schema is recreated, so point {@code EXPLAIN_DB_URL} at a scratch
+ * database, e.g. {@code EXPLAIN_DB_URL=jdbc:postgresql://localhost:5432/explain mvn test}; credentials
+ * come from {@code DB_USERNAME}/{@code DB_PASSWORD} as for the application.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.initialization-mode=never",
+        "invalidation.enabled=false"})
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ToDoRepositoryExplainTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatasetLoader datasetLoader;
+
+    @BeforeAll
+    public void seed() {
+        jdbcTemplate.execute("insert into roles (id, name) values (1, 'USER')");
+        jdbcTemplate.execute("insert into states (id, name) values (1, 'New'), (2, 'Doing'), (3, 'Verify'), (4, 'Done')");
+        DatasetSpec spec = new DatasetSpec();
+        spec.setUsers(20_000);
+        spec.setTasksPerTodo(1);
+        spec.setSharedTodoShare(1);
+        datasetLoader.load(spec);
+    }
+
+    @Test
+    @DisplayName("getByUserId should not scan whole tables")
+    public void getByUserIdPlanTest() throws NoSuchMethodException {
+        String sql = ToDoRepository.class.getMethod("getByUserId", long.class).getAnnotation(Query.class).value();
+
+        assertNoSeqScan(sql);
+    }
+
+    @Test
+    @DisplayName("getViewsByUserId should not scan whole tables")
+    public void getViewsByUserIdPlanTest() {
+        assertNoSeqScan(ToDoRepositoryImpl.VIEWS_BY_USER_ID_SQL);
+    }
+
+    private void assertNoSeqScan(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("explain " + sql.replace("?1", "42"), String.class);
+        String text = String.join("\n", plan);
+        assertFalse(text.contains("Seq Scan"), text);
+    }
+}
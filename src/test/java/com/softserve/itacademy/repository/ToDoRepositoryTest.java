@@ -0,0 +1,36 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.model.ToDo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class ToDoRepositoryTest {
+    @Autowired
+    private ToDoRepository todoRepository;
+
+    @Test
+    @DisplayName("getByUserId should return owned and shared To-Dos once each")
+    public void getByUserIdTest() {
+        assertEquals(Arrays.asList(7L, 8L, 9L, 10L, 12L), todoRepository.getByUserId(4).stream()
+                .map(ToDo::getId).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("getViewsByUserId should return owned and shared To-Dos once each, ordered by id")
+    public void getViewsByUserIdTest() {
+        assertEquals(Arrays.asList(7L, 10L, 11L, 12L), todoRepository.getViewsByUserId(5).stream()
+                .map(TodoView::getId).collect(Collectors.toList()));
+        assertEquals("Mike Brown", todoRepository.getViewsByUserId(5).get(0).getOwnerName());
+    }
+}
@@ -0,0 +1,165 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class ChangeLogWriterTest {
+    private static final long ENTITY_ID = 990;
+    private static final long MIKE_TODO = 8;
+    private static final long NICK_TODO = 11;
+    private static final long NORA_TODO = 13;
+    private static final long SHARED_TODO = 7;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from change_log where entity_id = ?", ENTITY_ID);
+        jdbcTemplate.update("delete from todo_collaborator where todo_id = ? and collaborator_id = ?", MIKE_TODO, 5L);
+    }
+
+    @Test
+    @DisplayName("A writer should not wait for an uncommitted writer whose changes reach other users")
+    public void disjointWritersTest() throws Exception {
+        CountDownLatch headsTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> held = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                publish(MIKE_TODO);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        headsTaken.countDown();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }));
+            assertTrue(headsTaken.await(5, TimeUnit.SECONDS));
+
+            transactionTemplate.executeWithoutResult(status -> publish(NICK_TODO));
+            assertEquals(1, count(5), "Committed while the other writer still holds its heads");
+            assertEquals(0, count(4));
+
+            release.countDown();
+            held.get(5, TimeUnit.SECONDS);
+            assertEquals(1, count(4));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A transaction should take consecutive sequence numbers per recipient and follow collaborator changes")
+    public void batchTest() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 50; i++) {
+                publish(SHARED_TODO);
+            }
+            publish(MIKE_TODO);
+            jdbcTemplate.update("insert into todo_collaborator (todo_id, collaborator_id) values (?, ?)", MIKE_TODO, 5L);
+            eventPublisher.publishEvent(new EntityChangedEvent(EntityType.COLLABORATOR, ChangeType.CREATED,
+                    ENTITY_ID, MIKE_TODO, 5L));
+            publish(MIKE_TODO);
+        });
+
+        assertEquals(52, count(4));
+        assertEquals(51, count(5));
+        assertEquals(50, count(6));
+        for (long recipientId : new long[]{4, 5, 6}) {
+            Integer span = jdbcTemplate.queryForObject("select max(seq) - min(seq) + 1 from change_log " +
+                    "where entity_id = ? and recipient_id = ?", Integer.class, ENTITY_ID, recipientId);
+            assertEquals(jdbcTemplate.queryForObject("select count(*) from change_log where entity_id = ? " +
+                    "and recipient_id = ?", Integer.class, ENTITY_ID, recipientId), span);
+        }
+    }
+
+    /**
+     * Commits per second of writers on To-Dos of different users against writers that all
+     * reach the same three users; run with
+     * {@code CHANGE_LOG_BENCHMARK=true mvn test -Dtest=ChangeLogWriterTest}.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "CHANGE_LOG_BENCHMARK", matches = "true")
+    @DisplayName("Benchmark of concurrent change log writers")
+    public void benchmark() throws Exception {
+        long[] disjoint = {MIKE_TODO, NICK_TODO, NORA_TODO};
+        long[] shared = {SHARED_TODO, SHARED_TODO, SHARED_TODO};
+        System.out.printf("%8s %10s %12s%n", "writers", "todos", "commits/s");
+        for (int writers = 1; writers <= 3; writers++) {
+            System.out.printf("%8d %10s %12.0f%n", writers, "disjoint", measure(writers, disjoint));
+            System.out.printf("%8d %10s %12.0f%n", writers, "shared", measure(writers, shared));
+        }
+    }
+
+    private double measure(int writers, long[] todos) throws Exception {
+        int commits = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                long todoId = todos[i];
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < commits; j++) {
+                        transactionTemplate.executeWithoutResult(status -> publish(todoId));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return writers * commits / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdown();
+            tearDown();
+        }
+    }
+
+    private void publish(long todoId) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.TASK, ChangeType.UPDATED, ENTITY_ID, todoId, null));
+    }
+
+    private int count(long recipientId) {
+        return jdbcTemplate.queryForObject("select count(*) from change_log where entity_type = 'TASK' " +
+                "and entity_id = ? and recipient_id = ?", Integer.class, ENTITY_ID, recipientId);
+    }
+}
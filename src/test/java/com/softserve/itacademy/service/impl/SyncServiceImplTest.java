@@ -0,0 +1,156 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.SyncChange;
+import com.softserve.itacademy.dto.SyncPage;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.exception.InvalidCursorException;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.SyncService;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class SyncServiceImplTest {
+    private static final long TODO_ID = 11;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ToDoService todoService;
+
+    @Autowired
+    private StateService stateService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private VisibilityIndex visibilityIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Timestamp since;
+    private String mikeWatermark;
+    private String nickWatermark;
+
+    @BeforeEach
+    public void setUp() {
+        since = Timestamp.valueOf(LocalDateTime.now());
+        mikeWatermark = watermark(4);
+        nickWatermark = watermark(5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from todo_collaborator where todo_id = ? and collaborator_id = 4", TODO_ID);
+        jdbcTemplate.update("delete from tasks where todo_id = ? and name = 'Synced'", TODO_ID);
+        jdbcTemplate.update("delete from change_log where changed_at >= ?", since);
+    }
+
+    @Test
+    @DisplayName("A sync should return only changes after the watermark, collapsed and with current data")
+    public void syncTaskChangesTest() {
+        SyncPage empty = syncService.getChanges(5, nickWatermark, 100);
+        assertTrue(empty.getChanges().isEmpty());
+        assertEquals(nickWatermark, empty.getNext());
+
+        Task task = createTask();
+        task.setPriority(Priority.HIGH);
+        taskService.update(task);
+
+        SyncPage page = syncService.getChanges(5, nickWatermark, 100);
+        assertEquals(1, page.getChanges().size());
+        SyncChange change = page.getChanges().get(0);
+        assertEquals(EntityType.TASK, change.getEntityType());
+        assertEquals(ChangeType.UPDATED, change.getChangeType());
+        assertEquals(Priority.HIGH, change.getTask().getPriority());
+        assertFalse(page.isHasMore());
+        assertTrue(syncService.getChanges(4, mikeWatermark, 100).getChanges().isEmpty(), "To-Do 11 is not shared with user 4");
+        assertTrue(syncService.getChanges(5, page.getNext(), 100).getChanges().isEmpty());
+
+        taskService.delete(task.getId());
+        SyncPage tombstone = syncService.getChanges(5, page.getNext(), 100);
+        assertEquals(ChangeType.DELETED, tombstone.getChanges().get(0).getChangeType());
+        assertNull(tombstone.getChanges().get(0).getTask());
+        assertTrue(syncService.getChanges(4, mikeWatermark, 100).getChanges().isEmpty(),
+                "Tombstones must not reach users who could not see the task");
+    }
+
+    @Test
+    @DisplayName("A user added as collaborator should get the whole To-Do, and a tombstone when removed")
+    public void syncMembershipTest() {
+        createTask();
+        todoService.addCollaborator(TODO_ID, userService.readById(4));
+
+        SyncPage added = syncService.getChanges(4, mikeWatermark, 100);
+        assertEquals(1, added.getChanges().size(), "The task was created before user 4 could see the To-Do");
+        SyncChange change = added.getChanges().get(0);
+        assertEquals(EntityType.COLLABORATOR, change.getEntityType());
+        assertEquals(TODO_ID, change.getTodo().getId());
+        assertEquals(1, change.getTasks().size());
+
+        todoService.removeCollaborator(TODO_ID, userService.readById(4));
+        SyncPage removed = syncService.getChanges(4, added.getNext(), 100);
+        assertEquals(1, removed.getChanges().size());
+        assertEquals(ChangeType.DELETED, removed.getChanges().get(0).getChangeType());
+    }
+
+    @Test
+    @DisplayName("A To-Do the user lost access to should not be synced, even if this node's index missed it")
+    public void syncAfterRevokeElsewhereTest() {
+        todoService.addCollaborator(TODO_ID, userService.readById(4));
+        jdbcTemplate.update("delete from todo_collaborator where todo_id = ? and collaborator_id = 4", TODO_ID);
+        try {
+            assertTrue(todoService.isVisible(4, TODO_ID), "The index of this node was not told");
+
+            assertTrue(syncService.getChanges(4, mikeWatermark, 100).getChanges().isEmpty());
+        } finally {
+            visibilityIndex.revoke(4, TODO_ID);
+        }
+    }
+
+    @Test
+    @DisplayName("A watermark that is not a number per shard should be rejected")
+    public void invalidCursorTest() {
+        assertThrows(InvalidCursorException.class, () -> syncService.getChanges(5, "12.7", 100));
+        assertThrows(InvalidCursorException.class, () -> syncService.getChanges(5, "abc", 100));
+        assertThrows(InvalidCursorException.class, () -> syncService.getChanges(5, "-1", 100));
+    }
+
+    private String watermark(long userId) {
+        return String.valueOf(jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from change_log " +
+                "where recipient_id = ?", Long.class, userId));
+    }
+
+    private Task createTask() {
+        Task task = new Task();
+        task.setName("Synced");
+        task.setPriority(Priority.LOW);
+        task.setTodo(todoService.readById(TODO_ID));
+        task.setState(stateService.getByName("New"));
+        return taskService.create(task);
+    }
+}
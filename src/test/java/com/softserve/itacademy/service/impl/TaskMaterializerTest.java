@@ -0,0 +1,82 @@
+package com.softserve.itacademy.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class TaskMaterializerTest {
+    private static final long RULE_ID = 950;
+    private static final long TODO_ID = 8;
+
+    @Autowired
+    private TaskMaterializer taskMaterializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from change_log where entity_type = 'TASK' and entity_id in " +
+                "(select id from tasks where recurrence_id = ?)", RULE_ID);
+        jdbcTemplate.update("delete from tasks where recurrence_id = ?", RULE_ID);
+        jdbcTemplate.update("delete from recurring_tasks where id = ?", RULE_ID);
+    }
+
+    @Test
+    @DisplayName("Weekly rules should get one task per week up to the horizon, and only once")
+    public void materializeTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MINUTES);
+        insertRule(start);
+
+        taskMaterializer.materialize();
+        taskMaterializer.materialize();
+        jdbcTemplate.update("update recurring_tasks set next_at = ? where id = ?", Timestamp.valueOf(start), RULE_ID);
+        taskMaterializer.materialize();
+
+        List<Timestamp> dueAts = jdbcTemplate.queryForList("select due_at from tasks where recurrence_id = ? " +
+                "order by due_at", Timestamp.class, RULE_ID);
+        assertEquals(4, dueAts.size());
+        assertEquals(start, dueAts.get(0).toLocalDateTime());
+        assertEquals(start.plusWeeks(3), dueAts.get(3).toLocalDateTime());
+        assertEquals(start.plusWeeks(4), jdbcTemplate.queryForObject("select next_at from recurring_tasks " +
+                "where id = ?", Timestamp.class, RULE_ID).toLocalDateTime());
+        List<String> ranks = jdbcTemplate.queryForList("select rank from tasks where todo_id = ? order by rank",
+                String.class, TODO_ID);
+        assertEquals(ranks.size(), ranks.stream().distinct().count(), "Ranks must stay unique");
+        assertEquals(4, jdbcTemplate.queryForObject("select count(*) from change_log where entity_type = 'TASK' " +
+                "and change_type = 'CREATED' and entity_id in (select id from tasks where recurrence_id = ?)",
+                Integer.class, RULE_ID), "One TASK CREATED event per new task, none for repeated runs");
+    }
+
+    @Test
+    @DisplayName("Rules that fell behind should skip occurrences in the past")
+    public void materializeMissedTest() {
+        insertRule(LocalDateTime.now().minusDays(30));
+
+        taskMaterializer.materialize();
+
+        List<Timestamp> dueAts = jdbcTemplate.queryForList("select due_at from tasks where recurrence_id = ?",
+                Timestamp.class, RULE_ID);
+        assertEquals(4, dueAts.size());
+        assertTrue(dueAts.stream().allMatch(dueAt -> dueAt.toLocalDateTime().isAfter(LocalDateTime.now().minusMinutes(1))));
+    }
+
+    private void insertRule(LocalDateTime nextAt) {
+        jdbcTemplate.update("insert into recurring_tasks (id, name, priority, period_days, next_at, todo_id) " +
+                "values (?, 'Weekly report', 'MEDIUM', 7, ?, ?)", RULE_ID, Timestamp.valueOf(nextAt), TODO_ID);
+    }
+}
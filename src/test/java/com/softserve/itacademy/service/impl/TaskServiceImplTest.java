@@ -0,0 +1,185 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.BatchMode;
+import com.softserve.itacademy.dto.TaskOperation;
+import com.softserve.itacademy.dto.TaskOperationResult;
+import com.softserve.itacademy.exception.InvalidMoveException;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityNotFoundException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class TaskServiceImplTest {
+    private static final long TODO_ID = 11;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ToDoService todoService;
+
+    @Autowired
+    private StateService stateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Timestamp since;
+
+    @BeforeEach
+    public void setUp() {
+        since = Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from tasks where todo_id = ?", TODO_ID);
+        jdbcTemplate.update("delete from change_log where changed_at >= ?", since);
+    }
+
+    @Test
+    @DisplayName("When a batch creates, updates and deletes tasks should apply them in order with ranks and ids")
+    public void applyBatchTest() {
+        List<TaskOperationResult> created = taskService.applyBatch(TODO_ID, Arrays.asList(
+                create("Batch #1", "LOW", null),
+                create("Batch #2", "HIGH", 6L),
+                create("Batch #3", null, null)), BatchMode.ALL_OR_NOTHING);
+
+        assertTrue(created.stream().allMatch(result -> result.getStatus() == TaskOperationResult.Status.APPLIED));
+        List<Task> tasks = taskService.getByTodoId(TODO_ID);
+        assertEquals(3, tasks.size());
+        assertEquals("Batch #1", tasks.get(0).getName());
+        assertEquals(created.get(0).getId(), tasks.get(0).getId());
+        assertEquals("New", tasks.get(0).getState().getName());
+        assertEquals("Doing", tasks.get(1).getState().getName());
+        assertEquals("Batch #3", tasks.get(2).getName());
+
+        LocalDateTime dueAt = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<TaskOperationResult> changed = taskService.applyBatch(TODO_ID, Arrays.asList(
+                new TaskOperation(TaskOperation.Type.UPDATE, tasks.get(1).getId(), "Renamed", "MEDIUM", dueAt, null),
+                new TaskOperation(TaskOperation.Type.DELETE, tasks.get(2).getId(), null, null, null, null),
+                create("Batch #4", "LOW", null)), BatchMode.ALL_OR_NOTHING);
+
+        assertTrue(changed.stream().allMatch(result -> result.getStatus() == TaskOperationResult.Status.APPLIED));
+        tasks = taskService.getByTodoId(TODO_ID);
+        assertEquals(3, tasks.size());
+        assertEquals("Renamed", tasks.get(1).getName());
+        assertEquals(dueAt, tasks.get(1).getDueAt());
+        assertEquals("Doing", tasks.get(1).getState().getName());
+        assertEquals("Batch #4", tasks.get(2).getName());
+    }
+
+    @Test
+    @DisplayName("When tasks are created concurrently in one To-Do should give each a distinct rank")
+    public void concurrentCreateTest() throws Exception {
+        ToDo todo = todoService.readById(TODO_ID);
+        State state = stateService.getByName("New");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Task>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Task task = new Task();
+                task.setName("Concurrent #" + i);
+                task.setPriority(Priority.LOW);
+                task.setTodo(todo);
+                task.setState(state);
+                futures.add(executor.submit(() -> taskService.create(task)));
+            }
+            for (Future<Task> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Task> tasks = taskService.getByTodoId(TODO_ID);
+        assertEquals(20, tasks.stream().map(Task::getRank).distinct().count());
+    }
+
+    @Test
+    @DisplayName("When an all-or-nothing batch has an invalid operation should apply none of them")
+    public void applyBatchAllOrNothingTest() {
+        List<TaskOperationResult> results = taskService.applyBatch(TODO_ID, Arrays.asList(
+                create("Batch #1", "LOW", null),
+                create(" ", "LOW", null),
+                new TaskOperation(TaskOperation.Type.DELETE, 5L, null, null, null, null)), BatchMode.ALL_OR_NOTHING);
+
+        assertEquals(TaskOperationResult.Status.SKIPPED, results.get(0).getStatus());
+        assertEquals(TaskOperationResult.Status.FAILED, results.get(1).getStatus());
+        assertEquals("The 'name' cannot be empty", results.get(1).getMessage());
+        assertEquals(TaskOperationResult.Status.FAILED, results.get(2).getStatus());
+        assertTrue(taskService.getByTodoId(TODO_ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("When a best-effort batch has invalid operations should apply the valid ones")
+    public void applyBatchBestEffortTest() {
+        List<TaskOperationResult> results = taskService.applyBatch(TODO_ID, Arrays.asList(
+                create("Batch #1", "URGENT", null),
+                create("Batch #2", "LOW", 404L),
+                create("Batch #3", "LOW", null)), BatchMode.BEST_EFFORT);
+
+        assertEquals("Priority 'URGENT' does not exist", results.get(0).getMessage());
+        assertEquals("State with id 404 not found", results.get(1).getMessage());
+        assertEquals(TaskOperationResult.Status.APPLIED, results.get(2).getStatus());
+        List<Task> tasks = taskService.getByTodoId(TODO_ID);
+        assertEquals(1, tasks.size());
+        assertEquals(results.get(2).getId(), tasks.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("When a batch targets a missing To-Do should throw EntityNotFoundException")
+    public void applyBatchMissingTodoTest() {
+        assertThrows(EntityNotFoundException.class, () -> taskService.applyBatch(404,
+                Collections.singletonList(create("Batch #1", "LOW", null)), BatchMode.BEST_EFFORT));
+    }
+
+    @Test
+    @DisplayName("When a move names another To-Do or swapped neighbours should reject it")
+    public void moveInvalidTest() {
+        List<TaskOperationResult> created = taskService.applyBatch(TODO_ID, Arrays.asList(
+                create("Move #1", "LOW", null),
+                create("Move #2", "LOW", null),
+                create("Move #3", "LOW", null)), BatchMode.ALL_OR_NOTHING);
+        long first = created.get(0).getId();
+        long second = created.get(1).getId();
+        long third = created.get(2).getId();
+
+        assertThrows(EntityNotFoundException.class, () -> taskService.move(TODO_ID + 1, third, first, second));
+        assertThrows(InvalidMoveException.class, () -> taskService.move(TODO_ID, third, second, first));
+        assertEquals(third, taskService.move(TODO_ID, third, first, second).getId());
+        assertEquals(Arrays.asList(first, third, second), taskService.getByTodoId(TODO_ID).stream()
+                .map(Task::getId).collect(Collectors.toList()));
+    }
+
+    private static TaskOperation create(String name, String priority, Long stateId) {
+        return new TaskOperation(TaskOperation.Type.CREATE, null, name, priority, null, stateId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.open-in-view=false")
+@ActiveProfiles("h2")
+public class ToDoServiceImplTest {
+    @Autowired
+    private ToDoService todoService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Timestamp since;
+
+    @BeforeEach
+    public void setUp() {
+        since = Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from change_log where changed_at >= ?", since);
+    }
+
+    @Test
+    @DisplayName("Removing a user who is not a collaborator should change nothing and publish no event")
+    public void removeMissingCollaboratorTest() {
+        todoService.removeCollaborator(10, userService.readById(5));
+
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from change_log where changed_at >= ?",
+                Long.class, since));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from todo_collaborator where todo_id = 10",
+                Long.class));
+    }
+
+    @Test
+    @DisplayName("A collaborator read in another session should be removed with open-in-view off")
+    public void removeDetachedCollaboratorTest() {
+        User collaborator = userService.readById(5);
+        try {
+            todoService.removeCollaborator(7, collaborator);
+
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "select count(*) from todo_collaborator where todo_id = 7 and collaborator_id = 5", Long.class));
+            assertEquals(1, jdbcTemplate.queryForObject("select count(*) from change_log where changed_at >= ? " +
+                    "and recipient_id = 5", Long.class, since));
+        } finally {
+            todoService.addCollaborator(7, userService.readById(5));
+        }
+    }
+
+    @Test
+    @DisplayName("readViewById should be served from the 'todos' cache until the To-Do changes")
+    public void readViewByIdCacheTest() {
+        cacheManager.getCache("todos").clear();
+        assertEquals("Nick's To-Do #2", todoService.readViewById(11).getTitle());
+        jdbcTemplate.update("update todos set title = 'Renamed behind the cache' where id = 11");
+        try {
+            assertEquals("Nick's To-Do #2", todoService.readViewById(11).getTitle());
+
+            ToDo todo = todoService.readById(11);
+            todo.setTitle("Renamed");
+            todoService.update(todo);
+            assertEquals("Renamed", todoService.readViewById(11).getTitle());
+        } finally {
+            jdbcTemplate.update("update todos set title = 'Nick''s To-Do #2' where id = 11");
+            cacheManager.getCache("todos").clear();
+        }
+    }
+}
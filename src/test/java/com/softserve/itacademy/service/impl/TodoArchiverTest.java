@@ -0,0 +1,145 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.service.ToDoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class TodoArchiverTest {
+    private static final long TODO_ID = 900;
+    private static final long USER_ID = 950;
+
+    @Autowired
+    private TodoArchiver todoArchiver;
+
+    @Autowired
+    private ToDoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("insert into todos (id, title, created_at, owner_id) " +
+                "values (?, 'Finished To-Do', timestamp '2019-01-01 10:00:00', 4)", TODO_ID);
+        jdbcTemplate.update("insert into tasks (id, name, priority, rank, todo_id, state_id) values " +
+                "(901, 'First', 'LOW', 'i', ?, 8), (902, 'Second', 'HIGH', 'j', ?, 8)", TODO_ID, TODO_ID);
+        jdbcTemplate.update("insert into users (id, first_name, last_name, email, password, role_id) " +
+                "values (?, 'Archie', 'Vist', 'archie@mail.com', '1111', 2)", USER_ID);
+        jdbcTemplate.update("insert into todo_collaborator (todo_id, collaborator_id) values (?, 5), (?, ?)",
+                TODO_ID, TODO_ID, USER_ID);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (String table : new String[]{"todo_collaborator_archive", "tasks_archive"}) {
+            jdbcTemplate.update("delete from " + table + " where todo_id = ?", TODO_ID);
+        }
+        jdbcTemplate.update("delete from todos_archive where id = ?", TODO_ID);
+        for (String table : new String[]{"todo_collaborator", "tasks"}) {
+            jdbcTemplate.update("delete from " + table + " where todo_id = ?", TODO_ID);
+        }
+        jdbcTemplate.update("delete from todos where id = ?", TODO_ID);
+        jdbcTemplate.update("delete from users where id = ?", USER_ID);
+        jdbcTemplate.update("delete from change_log where todo_id = ?", TODO_ID);
+    }
+
+    @Test
+    @DisplayName("Old To-Dos with only done tasks should move to the archive and stay readable")
+    public void archiveCompletedTest() {
+        todoArchiver.archiveCompleted();
+
+        assertFalse(ids(todoService.getViewsByUserId(5)).contains(TODO_ID));
+        assertTrue(ids(todoService.getViewsByUserId(4)).contains(7L), "To-Do with open tasks must stay");
+        assertEquals("Finished To-Do", todoService.readArchivedViewById(TODO_ID).getTitle());
+        assertTrue(ids(todoService.getArchivedViewsByUserId(4)).contains(TODO_ID));
+        assertTrue(ids(todoService.getArchivedViewsByUserId(5)).contains(TODO_ID));
+        assertEquals(2, todoService.getArchivedTaskViews(TODO_ID).size());
+    }
+
+    @Test
+    @DisplayName("A restored To-Do should be back with its tasks and collaborators and not be archived again")
+    public void restoreTest() {
+        todoArchiver.archiveCompleted();
+
+        todoService.restore(TODO_ID);
+        todoArchiver.archiveCompleted();
+
+        assertTrue(ids(todoService.getViewsByUserId(5)).contains(TODO_ID));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from tasks where todo_id = ?",
+                Integer.class, TODO_ID));
+        assertFalse(ids(todoService.getArchivedViewsByUserId(4)).contains(TODO_ID));
+    }
+
+    @Test
+    @DisplayName("Archiving and restoring should be recorded in the change log for the owner and collaborators")
+    public void changeLogTest() {
+        todoArchiver.archiveCompleted();
+        todoService.restore(TODO_ID);
+
+        assertEquals(Arrays.asList("DELETED", "CREATED"), jdbcTemplate.queryForList("select change_type from change_log " +
+                "where entity_type = 'TODO' and todo_id = ? and user_id = 4 and recipient_id = 4 order by seq",
+                String.class, TODO_ID));
+        assertEquals(Arrays.asList(4L, 5L, USER_ID), jdbcTemplate.queryForList("select recipient_id from change_log " +
+                "where todo_id = ? and change_type = 'DELETED' order by recipient_id", Long.class, TODO_ID));
+    }
+
+    @Test
+    @DisplayName("Collaborators deleted while the To-Do was archived should be left out of the restore")
+    public void restoreWithoutDeletedCollaboratorTest() {
+        todoArchiver.archiveCompleted();
+        jdbcTemplate.update("delete from users where id = ?", USER_ID);
+
+        todoService.restore(TODO_ID);
+
+        assertEquals(Collections.singletonList(5L), jdbcTemplate.queryForList(
+                "select collaborator_id from todo_collaborator where todo_id = ?", Long.class, TODO_ID));
+    }
+
+    @Test
+    @DisplayName("Restoring a To-Do whose owner was deleted should fail and keep it archived")
+    public void restoreWithoutOwnerTest() {
+        todoArchiver.archiveCompleted();
+        jdbcTemplate.update("update todos_archive set owner_id = ? where id = ?", USER_ID + 1, TODO_ID);
+
+        assertThrows(EntityNotFoundException.class, () -> todoService.restore(TODO_ID));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from todos_archive where id = ?",
+                Integer.class, TODO_ID));
+    }
+
+    @Test
+    @DisplayName("An archived To-Do whose owner was deleted should still be listed for its collaborators")
+    public void archivedWithoutOwnerTest() {
+        todoArchiver.archiveCompleted();
+        jdbcTemplate.update("update todos_archive set owner_id = ? where id = ?", USER_ID + 1, TODO_ID);
+
+        assertTrue(ids(todoService.getArchivedViewsByUserId(5)).contains(TODO_ID));
+        TodoView todo = todoService.readArchivedViewById(TODO_ID);
+        assertNull(todo.getOwnerId());
+        assertNull(todo.getOwnerName());
+    }
+
+    private static List<Long> ids(List<TodoView> todos) {
+        return todos.stream().map(TodoView::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,81 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.BatchMode;
+import com.softserve.itacademy.dto.TaskOperation;
+import com.softserve.itacademy.dto.TaskOperationResult;
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.TodoEventStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class TodoEventStreamListenerTest {
+    private static final long TODO_ID = 12;
+
+    @MockBean
+    private TodoEventStreamService eventStreamService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from tasks where todo_id = ?", TODO_ID);
+    }
+
+    @Test
+    @DisplayName("When a task of a watched To-Do is moved should push the row and its new neighbour")
+    @SuppressWarnings("unchecked")
+    public void pushesMovedTaskTest() {
+        when(eventStreamService.hasSubscribers(TODO_ID)).thenReturn(true);
+        List<TaskOperationResult> created = taskService.applyBatch(TODO_ID, Arrays.asList(
+                new TaskOperation(TaskOperation.Type.CREATE, null, "Push #1", "LOW", null, null),
+                new TaskOperation(TaskOperation.Type.CREATE, null, "Push #2", "HIGH", null, null)),
+                BatchMode.ALL_OR_NOTHING);
+        long first = created.get(0).getId();
+        long second = created.get(1).getId();
+        reset(eventStreamService);
+        when(eventStreamService.hasSubscribers(TODO_ID)).thenReturn(true);
+
+        taskService.move(TODO_ID, first, second, null);
+
+        ArgumentCaptor<Map<String, Object>> details = ArgumentCaptor.forClass(Map.class);
+        verify(eventStreamService).publish(any(EntityChangedEvent.class), details.capture());
+        TaskView task = (TaskView) details.getValue().get("task");
+        assertEquals(first, task.getId());
+        assertEquals("Push #1", task.getName());
+        assertEquals("New", task.getStateName());
+        assertEquals(second, details.getValue().get("previousId"));
+    }
+
+    @Test
+    @DisplayName("When nobody watches the To-Do should not read or push anything")
+    public void skipsUnwatchedTodoTest() {
+        taskService.applyBatch(TODO_ID, Arrays.asList(
+                new TaskOperation(TaskOperation.Type.CREATE, null, "Quiet", "LOW", null, null)),
+                BatchMode.ALL_OR_NOTHING);
+
+        verify(eventStreamService, never()).publish(any(), any());
+    }
+}
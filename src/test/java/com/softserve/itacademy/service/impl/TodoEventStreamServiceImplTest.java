@@ -0,0 +1,73 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TodoEventStreamServiceImplTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch slowSending = new CountDownLatch(1);
+    private final CountDownLatch fastReceived = new CountDownLatch(1);
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+    private final TodoEventStreamServiceImpl service = new TodoEventStreamServiceImpl(1, 60_000, 32, 50, 4) {
+        @Override
+        SseEmitter newEmitter(long timeoutMs) {
+            return emitters.removeFirst();
+        }
+    };
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("A subscriber stuck in a send should be disconnected without delaying the others")
+    public void stalledSubscriberTest() throws Exception {
+        emitters.add(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                slowSending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        emitters.add(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                fastReceived.countDown();
+            }
+        });
+        service.subscribe(7);
+        service.publish(new EntityChangedEvent(EntityType.TASK, ChangeType.CREATED, 5, 7L, null),
+                Collections.emptyMap());
+        assertTrue(slowSending.await(5, TimeUnit.SECONDS));
+
+        service.subscribe(7);
+        service.publish(new EntityChangedEvent(EntityType.TASK, ChangeType.UPDATED, 5, 7L, null),
+                Collections.emptyMap());
+        assertFalse(fastReceived.await(100, TimeUnit.MILLISECONDS));
+
+        service.disconnectStalled();
+
+        assertTrue(fastReceived.await(5, TimeUnit.SECONDS));
+        assertEquals(1, service.getSubscriberCount());
+    }
+}
@@ -0,0 +1,58 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.ImportFormat;
+import com.softserve.itacademy.dto.ImportResult;
+import com.softserve.itacademy.service.UserImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class UserImportServiceImplTest {
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from users where email like 'imported%'");
+    }
+
+    @Test
+    @DisplayName("When an import is started should return at once and finish in the background")
+    public void startImportTest() throws Exception {
+        String input = "first_name,last_name,email,password\n" +
+                "Ann,Lee,imported1@mail.com,Qwerty12\n" +
+                "Ann,Lee,imported1@mail.com,Qwerty12\n" +
+                "Bob,Ray,imported2@mail.com,Qwerty12\n";
+
+        ImportResult started = userImportService.startImport(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+        assertEquals(ImportResult.Status.RUNNING, started.getStatus());
+
+        ImportResult result = started;
+        for (int i = 0; i < 100 && result.getStatus() == ImportResult.Status.RUNNING; i++) {
+            Thread.sleep(100);
+            result = userImportService.getResult(started.getImportId());
+        }
+        assertEquals(ImportResult.Status.FINISHED, result.getStatus());
+        assertEquals(3, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertNotNull(userImportService.getReport(started.getImportId()));
+        assertThrows(EntityNotFoundException.class, () -> userImportService.getResult("unknown"));
+    }
+}
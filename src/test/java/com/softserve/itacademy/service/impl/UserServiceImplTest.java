@@ -0,0 +1,105 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.dto.UserPage;
+import com.softserve.itacademy.dto.UserSort;
+import com.softserve.itacademy.event.ChangeType;
+import com.softserve.itacademy.event.EntityChangedEvent;
+import com.softserve.itacademy.event.EntityType;
+import com.softserve.itacademy.exception.InvalidCursorException;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class UserServiceImplTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCounter userCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("When paging users by name should walk every user once, in name order")
+    public void getPageByNameTest() {
+        UserPage first = userService.getPage(UserSort.NAME, null, null, 2);
+        assertEquals("Brown Mike, Green Nick", names(first.getUsers()));
+        assertNotNull(first.getNext());
+
+        UserPage second = userService.getPage(UserSort.NAME, null, first.getNext(), 2);
+        assertEquals("White Nora", names(second.getUsers()));
+        assertNull(second.getNext());
+    }
+
+    @Test
+    @DisplayName("When paging users by e-mail with a role filter should return only that role")
+    public void getPageByEmailTest() {
+        UserPage users = userService.getPage(UserSort.EMAIL, 2L, null, 10);
+
+        assertEquals("Green Nick, White Nora", names(users.getUsers()));
+        assertNull(users.getNext());
+        assertEquals(2, users.getApproximateTotal());
+    }
+
+    @Test
+    @DisplayName("When counting users should add users created since the last refresh to the total")
+    public void countTest() {
+        userCounter.refresh();
+        long total = jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+        assertEquals(total, userCounter.count(null));
+
+        userCounter.onEntityChanged(new EntityChangedEvent(EntityType.USER, ChangeType.CREATED, 404, null, 404L));
+        assertEquals(total + 1, userCounter.count(null));
+        assertEquals(1, userCounter.count(1L));
+
+        userCounter.refresh();
+        assertEquals(total, userCounter.count(null));
+    }
+
+    @Test
+    @DisplayName("When the cursor is not valid or belongs to another order should throw InvalidCursorException")
+    public void getPageWithInvalidCursorTest() {
+        assertThrows(InvalidCursorException.class, () -> userService.getPage(UserSort.NAME, null, "%%", 2));
+        String emailCursor = userService.getPage(UserSort.EMAIL, null, null, 1).getNext();
+        assertThrows(InvalidCursorException.class, () -> userService.getPage(UserSort.NAME, null, emailCursor, 1));
+    }
+
+    @Test
+    @DisplayName("When a password hashed with a lower strength matches should re-encode it at the calibrated strength")
+    public void checkPasswordUpgradesHashTest() throws Exception {
+        String stored = jdbcTemplate.queryForObject("select password from users where id = 6", String.class);
+        String cheap = new BCryptPasswordEncoder(4).encode("secret");
+        jdbcTemplate.update("update users set password = ? where id = 6", cheap);
+        try {
+            assertFalse(userService.checkPassword(6, "wrong").get());
+            assertEquals(cheap, jdbcTemplate.queryForObject("select password from users where id = 6", String.class));
+
+            assertTrue(userService.checkPassword(6, "secret").get());
+            String upgraded = jdbcTemplate.queryForObject("select password from users where id = 6", String.class);
+            assertTrue(upgraded.startsWith("$2a$05$"));
+            assertTrue(new BCryptPasswordEncoder().matches("secret", upgraded));
+            assertTrue(userService.checkPassword(6, "secret").get());
+        } finally {
+            jdbcTemplate.update("update users set password = ? where id = 6", stored);
+        }
+    }
+
+    private static String names(List<User> users) {
+        return users.stream().map(user -> user.getLastName() + " " + user.getFirstName())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,116 @@
+package com.softserve.itacademy.service.impl;
+
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class VisibilityIndexTest {
+    @Autowired
+    private VisibilityIndex visibilityIndex;
+
+    @Autowired
+    private ToDoService todoService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCounter userCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("The index should list owned and shared To-Dos, the same after a rebuild")
+    public void getVisibleIdsTest() {
+        assertArrayEquals(new long[]{7, 8, 9, 10, 12}, visibilityIndex.getVisibleIds(4));
+        assertArrayEquals(new long[]{7, 10, 11, 12}, visibilityIndex.getVisibleIds(5));
+        assertArrayEquals(new long[0], visibilityIndex.getVisibleIds(404));
+
+        visibilityIndex.rebuild();
+
+        assertArrayEquals(new long[]{7, 8, 9, 10, 12}, visibilityIndex.getVisibleIds(4));
+        assertTrue(visibilityIndex.getSizeInBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Adding and removing a collaborator should update the index once committed")
+    public void collaboratorTest() {
+        assertFalse(todoService.isVisible(4, 11));
+
+        todoService.addCollaborator(11, userService.readById(4));
+        assertTrue(todoService.isVisible(4, 11));
+
+        todoService.removeCollaborator(11, userService.readById(4));
+        assertFalse(todoService.isVisible(4, 11));
+        assertTrue(todoService.isVisible(5, 11));
+    }
+
+    @Test
+    @DisplayName("A refresh should apply a collaborator change committed on another node")
+    public void refreshTest() {
+        jdbcTemplate.update("insert into todo_collaborator (todo_id, collaborator_id) values (11, 4)");
+        try {
+            assertFalse(todoService.isVisible(4, 11));
+            visibilityIndex.refresh(11);
+            assertTrue(todoService.isVisible(4, 11));
+        } finally {
+            jdbcTemplate.update("delete from todo_collaborator where todo_id = 11 and collaborator_id = 4");
+        }
+
+        visibilityIndex.refresh(11);
+        assertFalse(todoService.isVisible(4, 11));
+        assertTrue(todoService.isVisible(5, 11));
+    }
+
+    @Test
+    @DisplayName("Creating and deleting a To-Do should update the index for everyone who can see it")
+    public void createAndDeleteTest() {
+        ToDo todo = new ToDo();
+        todo.setTitle("Visible To-Do");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(userService.readById(6));
+        ToDo created = todoService.create(todo);
+        todoService.addCollaborator(created.getId(), userService.readById(5));
+        assertTrue(todoService.isVisible(6, created.getId()));
+        assertTrue(todoService.isVisible(5, created.getId()));
+
+        todoService.delete(created.getId());
+
+        assertFalse(todoService.isVisible(6, created.getId()));
+        assertFalse(todoService.isVisible(5, created.getId()));
+    }
+
+    @Test
+    @DisplayName("Deleting a user should remove their shared To-Dos from the collaborators")
+    public void deleteOwnerTest() {
+        jdbcTemplate.update("insert into users (id, first_name, last_name, email, password, role_id) " +
+                "values (970, 'Owen', 'Gone', 'owen@mail.com', '1111', 2)");
+        userCounter.refresh();
+        ToDo todo = new ToDo();
+        todo.setTitle("Orphaned To-Do");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(userService.readById(970));
+        ToDo created = todoService.create(todo);
+        todoService.addCollaborator(created.getId(), userService.readById(5));
+        assertTrue(todoService.isVisible(5, created.getId()));
+
+        userService.delete(970);
+
+        assertFalse(todoService.isVisible(5, created.getId()));
+        assertFalse(todoService.isVisible(970, created.getId()));
+        assertTrue(todoService.isVisible(5, 7));
+    }
+}
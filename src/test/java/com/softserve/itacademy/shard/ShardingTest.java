@@ -0,0 +1,197 @@
+package com.softserve.itacademy.shard;
+
+import com.softserve.itacademy.dto.SyncChange;
+import com.softserve.itacademy.dto.SyncPage;
+import com.softserve.itacademy.dto.TaskView;
+import com.softserve.itacademy.dto.TodoView;
+import com.softserve.itacademy.model.Priority;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.SyncService;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.impl.TaskMaterializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.shards.urls=jdbc:h2:mem:shard1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.shards.move-wait-ms=0",
+        "datasource.shards.refresh-interval-ms=600000"})
+@ActiveProfiles("h2")
+public class ShardingTest {
+    private static final long MIKE = 4;
+    private static final long NICK = 5;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ToDoService todoService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private StateService stateService;
+
+    @Autowired
+    private TaskMaterializer taskMaterializer;
+
+    @Autowired
+    private SyncService syncService;
+
+    @AfterEach
+    public void tearDown() {
+        shardRebalancer.moveBucket(shardDirectory.bucketOf(NICK), "shard-0");
+    }
+
+    @Test
+    @DisplayName("Moving a bucket copies the owners' To-Dos to the target shard and removes them from the source")
+    public void moveBucketRelocatesOwnedTodos() {
+        shardRebalancer.moveBucket(shardDirectory.bucketOf(NICK), "shard-1");
+
+        assertEquals("shard-1", shardDirectory.shardOfUser(NICK));
+        assertEquals(Arrays.asList(10L, 11L), ownedTodoIds("shard-1"));
+        assertTrue(ownedTodoIds("shard-0").isEmpty());
+        assertEquals(Long.valueOf(NICK), shardDirectory.ownerOf(EntityKind.TODO, 10));
+
+        shardRebalancer.moveBucket(shardDirectory.bucketOf(NICK), "shard-0");
+
+        assertEquals(Arrays.asList(10L, 11L), ownedTodoIds("shard-0"));
+        assertTrue(ownedTodoIds("shard-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Visible To-Dos are gathered from every shard")
+    public void viewsByUserIdAreGatheredFromAllShards() {
+        shardRebalancer.moveBucket(shardDirectory.bucketOf(NICK), "shard-1");
+
+        assertEquals(Arrays.asList(7L, 8L, 9L, 10L, 12L), ids(todoService.getViewsByUserId(4)));
+        assertEquals(Arrays.asList(7L, 10L, 11L, 12L), ids(todoService.getViewsByUserId(NICK)));
+    }
+
+    @Test
+    @DisplayName("Reads and writes by id are routed to the owner's shard")
+    public void readsAndWritesAreRoutedToOwnersShard() {
+        shardRebalancer.moveBucket(shardDirectory.bucketOf(NICK), "shard-1");
+
+        assertEquals("Nick's To-Do #1", todoService.readViewById(10).getTitle());
+        int before = taskService.getViewsByTodoId(10).size();
+
+        Task task = new Task();
+        task.setName("Sharded");
+        task.setPriority(Priority.LOW);
+        task.setTodo(todoService.readById(10));
+        task.setState(stateService.getByName("New"));
+        Task created = taskService.create(task);
+
+        assertTrue(created.getId() >= 1_000_000_000_000L);
+        List<TaskView> views = taskService.getViewsByTodoId(10);
+        assertEquals(before + 1, views.size());
+        assertEquals("Sharded", taskService.readById(created.getId()).getName());
+        assertEquals(Integer.valueOf(1), shardDirectory.getShard("shard-1").getJdbcTemplate()
+                .queryForObject("select count(*) from tasks where id = ?", Integer.class, created.getId()));
+        taskService.delete(created.getId());
+    }
+
+    @Test
+    @DisplayName("Writes to a bucket that is being moved are rejected")
+    public void writesToMovingBucketAreRejected() {
+        int bucket = shardDirectory.bucketOf(NICK);
+        shardDirectory.assign(bucket, "shard-0", true);
+        try {
+            ToDo todo = todoService.readById(10);
+            todo.setTitle("Rejected");
+            assertThrows(IllegalStateException.class, () -> todoService.update(todo));
+        } finally {
+            shardDirectory.assign(bucket, "shard-0", false);
+        }
+    }
+
+    @Test
+    @DisplayName("Background jobs leave the rows of a bucket that is being moved alone")
+    public void jobsSkipMovingBucket() {
+        int bucket = shardDirectory.bucketOf(NICK);
+        JdbcTemplate shard0 = shardDirectory.getShard("shard-0").getJdbcTemplate();
+        shard0.update("insert into recurring_tasks (id, name, priority, period_days, next_at, todo_id) " +
+                "values (960, 'Moving', 'LOW', 7, ?, 10)", Timestamp.valueOf(LocalDateTime.now().plusDays(1)));
+        shardDirectory.assign(bucket, "shard-0", true);
+        try {
+            assertEquals("mod(owner_id, " + shardDirectory.getBuckets() + ") in (" + bucket + ")",
+                    shardDirectory.movingPredicate("owner_id"));
+            taskMaterializer.materialize();
+            assertEquals(Integer.valueOf(0), shard0.queryForObject("select count(*) from tasks where recurrence_id = 960",
+                    Integer.class));
+        } finally {
+            shardDirectory.assign(bucket, "shard-0", false);
+            shard0.update("delete from recurring_tasks where id = 960");
+        }
+        assertNull(shardDirectory.movingPredicate("owner_id"));
+    }
+
+    @Test
+    @DisplayName("A sync reads the change log of every shard and keeps a watermark per shard")
+    public void syncReadsEveryShard() {
+        shardRebalancer.moveBucket(shardDirectory.bucketOf(NICK), "shard-1");
+        String since = watermark("shard-0") + "." + watermark("shard-1");
+        Task onShard0 = taskService.create(newTask(7));
+        Task onShard1 = taskService.create(newTask(10));
+        try {
+            SyncPage first = syncService.getChanges(MIKE, since, 1);
+            assertTrue(first.isHasMore());
+            SyncPage second = syncService.getChanges(MIKE, first.getNext(), 1);
+            List<Long> synced = Arrays.asList(first.getChanges().get(0).getEntityId(),
+                    second.getChanges().get(0).getEntityId());
+            assertEquals(Arrays.asList(onShard0.getId(), onShard1.getId()), synced);
+            SyncChange change = second.getChanges().get(0);
+            assertEquals("Sharded", change.getTask().getName(), "Current data comes from the owner's shard");
+            assertEquals(watermark("shard-0") + "." + watermark("shard-1"), second.getNext());
+            assertTrue(syncService.getChanges(MIKE, second.getNext(), 100).getChanges().isEmpty());
+        } finally {
+            taskService.delete(onShard0.getId());
+            taskService.delete(onShard1.getId());
+        }
+    }
+
+    private Task newTask(long todoId) {
+        Task task = new Task();
+        task.setName("Sharded");
+        task.setPriority(Priority.LOW);
+        task.setTodo(todoService.readById(todoId));
+        task.setState(stateService.getByName("New"));
+        return task;
+    }
+
+    private long watermark(String shard) {
+        return shardDirectory.getShard(shard).getJdbcTemplate().queryForObject(
+                "select coalesce(max(seq), 0) from change_log where recipient_id = ?", Long.class, MIKE);
+    }
+
+    private List<Long> ownedTodoIds(String shard) {
+        return shardDirectory.getShard(shard).getJdbcTemplate()
+                .queryForList("select id from todos where owner_id = ? order by id", Long.class, NICK);
+    }
+
+    private static List<Long> ids(List<TodoView> views) {
+        return views.stream().map(TodoView::getId).collect(Collectors.toList());
+    }
+}
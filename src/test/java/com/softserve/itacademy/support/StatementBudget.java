@@ -0,0 +1,66 @@
+package com.softserve.itacademy.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the JDBC statements Hibernate prepares between {@link #reset()} and
+ * {@link #assertAtMost(int, String)}. When a budget is exceeded the failure names the entities
+ * and collections that were fetched with separate selects and the queries that ran, which is
+ * usually enough to find the lazy load a template change introduced.
+ */
+public class StatementBudget {
+    private final Statistics statistics;
+
+    public StatementBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public long getCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void assertAtMost(int budget, String endpoint) {
+        long count = getCount();
+        if (count <= budget) {
+            return;
+        }
+        StringBuilder report = new StringBuilder()
+                .append(endpoint).append(" executed ").append(count)
+                .append(" statements, budget is ").append(budget).append('.');
+        for (String entity : statistics.getEntityNames()) {
+            EntityStatistics entityStatistics = statistics.getEntityStatistics(entity);
+            if (entityStatistics.getFetchCount() > 0) {
+                report.append("\n  entity ").append(entity).append(" fetched ")
+                        .append(entityStatistics.getFetchCount()).append(" time(s) by separate selects");
+            }
+        }
+        for (String role : statistics.getCollectionRoleNames()) {
+            CollectionStatistics collectionStatistics = statistics.getCollectionStatistics(role);
+            if (collectionStatistics.getFetchCount() > 0) {
+                report.append("\n  collection ").append(role).append(" fetched ")
+                        .append(collectionStatistics.getFetchCount()).append(" time(s)");
+            }
+        }
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            if (queryStatistics.getExecutionCount() > 0) {
+                report.append("\n  query executed ").append(queryStatistics.getExecutionCount())
+                        .append(" time(s): ").append(query);
+            }
+        }
+        fail(report.toString());
+    }
+}
@@ -0,0 +1,82 @@
+package com.softserve.itacademy.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {"tracing.sample-rate=1", "tracing.export-file=target/tracing-test.json"})
+public class TracingTest {
+    private static final Path EXPORT_FILE = Paths.get("target/tracing-test.json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("A sampled request should be exported as Zipkin spans for handler, services, repositories, SQL and view")
+    public void exportTraceTest() throws Exception {
+        Files.deleteIfExists(EXPORT_FILE);
+
+        mockMvc.perform(get("/todos/7/tasks")).andExpect(status().isOk());
+
+        JsonNode spans = awaitTrace();
+        Map<String, JsonNode> byName = new HashMap<>();
+        String traceId = spans.get(0).get("traceId").asText();
+        for (JsonNode span : spans) {
+            assertEquals(traceId, span.get("traceId").asText());
+            byName.putIfAbsent(span.get("name").asText(), span);
+        }
+        JsonNode root = byName.get("GET /todos/{id}/tasks");
+        assertNotNull(root, "root span named after the route");
+        assertEquals("SERVER", root.get("kind").asText());
+        assertEquals("200", root.get("tags").get("http.status_code").asText());
+
+        JsonNode handler = byName.get("ToDoController.read");
+        assertEquals(root.get("id"), handler.get("parentId"));
+        assertEquals(handler.get("id"), byName.get("ToDoServiceImpl.readViewById").get("parentId"));
+        assertEquals(byName.get("TaskServiceImpl.getViewsByTodoId").get("id"),
+                byName.get("TaskRepository.getViewsByTodoId").get("parentId"));
+        assertEquals(root.get("id"), byName.get("render todo-tasks").get("parentId"));
+        assertTrue(byName.containsKey("sql"));
+    }
+
+    private static JsonNode awaitTrace() throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (Files.exists(EXPORT_FILE)) {
+                List<String> lines = Files.readAllLines(EXPORT_FILE, StandardCharsets.UTF_8);
+                for (String line : lines) {
+                    JsonNode spans = new ObjectMapper().readTree(line);
+                    for (JsonNode span : spans) {
+                        if (span.get("name").asText().equals("GET /todos/{id}/tasks")) {
+                            return spans;
+                        }
+                    }
+                }
+            }
+            Thread.sleep(50);
+        }
+        return fail("no trace was exported");
+    }
+}
@@ -0,0 +1,71 @@
+package com.softserve.itacademy.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LexoRankTest {
+
+    @Test
+    @DisplayName("between() should always return a key strictly between its bounds")
+    public void betweenTest() {
+        String low = LexoRank.first();
+        String high = LexoRank.after(low);
+        for (int i = 0; i < 200; i++) {
+            String middle = LexoRank.between(low, high);
+            assertTrue(low.compareTo(middle) < 0, low + " < " + middle);
+            assertTrue(middle.compareTo(high) < 0, middle + " < " + high);
+            if (i % 2 == 0) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("between() without bounds should allow inserting before and after the key")
+    public void betweenOpenBoundsTest() {
+        String key = LexoRank.first();
+        String before = LexoRank.between(null, key);
+        String after = LexoRank.between(key, null);
+
+        assertTrue(before.compareTo(key) < 0);
+        assertTrue(key.compareTo(after) < 0);
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between(after, key));
+    }
+
+    @Test
+    @DisplayName("after() should produce ascending keys that grow slowly")
+    public void afterTest() {
+        String key = LexoRank.first();
+        for (int i = 0; i < 100; i++) {
+            String next = LexoRank.after(key);
+            assertTrue(key.compareTo(next) < 0, key + " < " + next);
+            key = next;
+        }
+        assertFalse(LexoRank.needsRebalance(key));
+    }
+
+    @Test
+    @DisplayName("evenlySpaced() should return short ascending keys that leave room for appends")
+    public void evenlySpacedTest() {
+        String[] keys = LexoRank.evenlySpaced(1000);
+        List<String> sorted = new ArrayList<>();
+        for (int i = 1; i < keys.length; i++) {
+            assertTrue(keys[i - 1].compareTo(keys[i]) < 0, keys[i - 1] + " < " + keys[i]);
+            assertFalse(keys[i].endsWith("0"));
+            sorted.add(LexoRank.between(keys[i - 1], keys[i]));
+        }
+        String last = keys[keys.length - 1];
+        for (int i = 0; i < 1000; i++) {
+            last = LexoRank.after(last);
+        }
+        assertFalse(LexoRank.needsRebalance(last));
+        assertEquals(keys.length - 1, sorted.size());
+    }
+}